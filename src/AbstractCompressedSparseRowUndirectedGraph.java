@@ -0,0 +1,263 @@
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe astratta per un grafo non orientato immutabile rappresentato in
+ * formato Compressed Sparse Row (CSR). Le sottoclassi stabiliscono dove sono
+ * memorizzati gli array della rappresentazione, ad esempio nello heap o in un
+ * file mappato in memoria.
+ *
+ * I nodi sono indicizzati da 0 a nodeCount() - 1. Gli archi incidenti al nodo
+ * di indice i occupano le posizioni da {@code getRowStart(i)} (compresa) a
+ * {@code getRowEnd(i)} (esclusa): in ogni posizione p ci sono l'indice del
+ * nodo adiacente, {@code getNeighborAt(p)}, e il peso dell'arco,
+ * {@code getWeightAt(p)}. Ogni arco tra due nodi distinti compare quindi due
+ * volte, una nella riga di ciascun estremo, mentre un cappio compare una volta
+ * sola. Le posizioni sono di tipo long per permettere rappresentazioni con più
+ * di 2^31 elementi.
+ *
+ * Gli oggetti GraphEdge<L> non sono memorizzati: vengono costruiti solo quando
+ * i metodi di {@code Graph<L>} li richiedono. Per questo modificare il peso di
+ * un arco restituito non ha effetto sul grafo. Tutte le operazioni di modifica
+ * lanciano {@code UnsupportedOperationException}.
+ *
+ * Gli algoritmi che conoscono questa classe, come {@code KruskalMSP<L>} e
+ * {@code UndirectedGraphConnectedComponentsComputer<L>}, ne scorrono
+ * direttamente le righe lavorando sugli indici dei nodi.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi
+ */
+public abstract class AbstractCompressedSparseRowUndirectedGraph<L> extends Graph<L> {
+
+    // Dizionario delle etichette: il nodo di indice i è in posizione i
+    protected final List<GraphNode<L>> nodes;
+
+    // Associazione di ogni nodo con il proprio indice
+    protected final Map<GraphNode<L>, Integer> nodesIndex;
+
+    /**
+     * Inizializza il dizionario dei nodi. La lista non viene copiata.
+     *
+     * @param nodes
+     *                  i nodi del grafo in ordine di indice
+     */
+    protected AbstractCompressedSparseRowUndirectedGraph(List<GraphNode<L>> nodes) {
+        this.nodes = nodes;
+        this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        for (int i = 0; i < nodes.size(); i++) nodesIndex.put(nodes.get(i), i);
+    }
+
+    /*
+     * Restituisce la rappresentazione CSR di un grafo, costruendola solo se il
+     * grafo non lo è già.
+     */
+    static <L> AbstractCompressedSparseRowUndirectedGraph<L> toCompressedSparseRow(Graph<L> g) {
+        if (g == null) throw new NullPointerException("Il grafo passato è null");
+        if (g instanceof AbstractCompressedSparseRowUndirectedGraph)
+            return (AbstractCompressedSparseRowUndirectedGraph<L>) g;
+        if (g instanceof AdjacencyMatrixUndirectedGraph) return ((AdjacencyMatrixUndirectedGraph<L>) g).freeze();
+        return new CompressedSparseRowUndirectedGraph<L>(g);
+    }
+
+    /**
+     * Restituisce la posizione in cui inizia la riga del nodo di indice i.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return la prima posizione della riga del nodo
+     */
+    public abstract long getRowStart(int i);
+
+    /**
+     * Restituisce la posizione successiva all'ultima della riga del nodo di
+     * indice i.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return la posizione successiva all'ultima della riga del nodo
+     */
+    public abstract long getRowEnd(int i);
+
+    /**
+     * Restituisce l'indice del nodo adiacente memorizzato in una certa
+     * posizione.
+     *
+     * @param p
+     *              una posizione compresa tra l'inizio e la fine di una riga
+     * @return l'indice del nodo adiacente
+     */
+    public abstract int getNeighborAt(long p);
+
+    /**
+     * Restituisce il peso dell'arco memorizzato in una certa posizione.
+     *
+     * @param p
+     *              una posizione compresa tra l'inizio e la fine di una riga
+     * @return il peso dell'arco, Double.NaN se l'arco non è pesato
+     */
+    public abstract double getWeightAt(long p);
+
+    @Override
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Il grafo CSR è immutabile");
+    }
+
+    @Override
+    public boolean isDirected() {
+        return false;
+    }
+
+    @Override
+    public Set<GraphNode<L>> getNodes() {
+        // Vista non modificabile perché il grafo è immutabile
+        return Collections.unmodifiableSet(nodesIndex.keySet());
+    }
+
+    @Override
+    public boolean addNode(GraphNode<L> node) {
+        throw new UnsupportedOperationException("Il grafo CSR è immutabile");
+    }
+
+    @Override
+    public boolean removeNode(GraphNode<L> node) {
+        throw new UnsupportedOperationException("Il grafo CSR è immutabile");
+    }
+
+    @Override
+    public boolean containsNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Tentativo di cercare un nodo null");
+        return nodesIndex.containsKey(node);
+    }
+
+    @Override
+    public GraphNode<L> getNodeOf(L label) {
+        if (label == null) throw new NullPointerException("Il parametro passato non può essere null");
+        // I nodi sono uguali se hanno la stessa etichetta, quindi uso un nodo
+        // temporaneo come chiave di ricerca
+        Integer index = nodesIndex.get(new GraphNode<L>(label));
+        if (index == null) return null;
+        return nodes.get(index);
+    }
+
+    @Override
+    public int getNodeIndexOf(L label) {
+        if (label == null) throw new NullPointerException("Il parametro passato non può essere null");
+        Integer index = nodesIndex.get(new GraphNode<L>(label));
+        if (index == null)
+            throw new IllegalArgumentException("La Label interessata non coincide con nessuno dei Nodi nel Grafo");
+        return index;
+    }
+
+    @Override
+    public GraphNode<L> getNodeAtIndex(int i) {
+        if (i < 0 || i >= nodes.size()) throw new IndexOutOfBoundsException("L'Indice passato non è valido");
+        return nodes.get(i);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node) {
+        int u = indexOf(node);
+        Set<GraphNode<L>> adjacentNodesOfNode = new HashSet<>();
+        for (long p = getRowStart(u); p < getRowEnd(u); p++) adjacentNodesOfNode.add(nodes.get(getNeighborAt(p)));
+        return adjacentNodesOfNode;
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdges() {
+        Set<GraphEdge<L>> graph_edges = new HashSet<>();
+        // Ogni arco compare nella riga di entrambi gli estremi: lo prendo solo
+        // dalla riga dell'estremo con indice minore (o uguale, per i cappi)
+        for (int u = 0; u < nodes.size(); u++) {
+            for (long p = getRowStart(u); p < getRowEnd(u); p++) {
+                if (getNeighborAt(p) >= u) graph_edges.add(edgeAt(u, p));
+            }
+        }
+        return graph_edges;
+    }
+
+    @Override
+    public boolean addEdge(GraphEdge<L> edge) {
+        throw new UnsupportedOperationException("Il grafo CSR è immutabile");
+    }
+
+    @Override
+    public boolean removeEdge(GraphEdge<L> edge) {
+        throw new UnsupportedOperationException("Il grafo CSR è immutabile");
+    }
+
+    @Override
+    public boolean containsEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("Il parametro passato non può essere null");
+        if (!this.containsNode(edge.getNode1()) || !this.containsNode(edge.getNode2()))
+            throw new IllegalArgumentException("almeno uno dei due nodi dell'arco non è presente");
+        // Un arco orientato non può essere uguale a nessun arco di questo grafo
+        if (edge.isDirected()) return false;
+        int u = nodesIndex.get(edge.getNode1());
+        int v = nodesIndex.get(edge.getNode2());
+        // Scorro la riga del primo nodo cercando il secondo
+        for (long p = getRowStart(u); p < getRowEnd(u); p++) {
+            if (getNeighborAt(p) == v) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node) {
+        int u = indexOf(node);
+        Set<GraphEdge<L>> node_edges = new HashSet<>();
+        for (long p = getRowStart(u); p < getRowEnd(u); p++) node_edges.add(edgeAt(u, p));
+        return node_edges;
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public int getDegreeOf(GraphNode<L> node) {
+        // La lunghezza della riga è esattamente il numero di archi incidenti
+        int u = indexOf(node);
+        return (int) (getRowEnd(u) - getRowStart(u));
+    }
+
+    /*
+     * Restituisce l'indice di un nodo controllando che non sia null e che sia
+     * presente nel grafo.
+     */
+    private int indexOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il parametro passato non può essere null");
+        Integer index = nodesIndex.get(node);
+        if (index == null) throw new IllegalArgumentException("Il nodo passato non è nel Grafo");
+        return index;
+    }
+
+    /*
+     * Costruisce l'oggetto GraphEdge corrispondente alla posizione p della riga
+     * del nodo u.
+     */
+    private GraphEdge<L> edgeAt(int u, long p) {
+        return new GraphEdge<L>(nodes.get(u), nodes.get(getNeighborAt(p)), false, getWeightAt(p));
+    }
+}
@@ -0,0 +1,120 @@
+import java.util.Set;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che calcola una foresta di copertura minima di un grafo non
+ * orientato, pesato e con pesi non negativi scegliendo tra
+ * {@code PrimMSP<L>} e {@code KruskalMSP<L>} in base alla densità del grafo,
+ * cioè al rapporto tra il numero di archi e il numero n(n - 1)/2 di coppie di
+ * nodi distinti.
+ *
+ * L'algoritmo di Kruskal richiede tempo O(m log m) per ordinare gli archi,
+ * quello di Prim tempo O(n^2) sulla matrice di adiacenza e O(m log n) con lo
+ * heap. Su un {@code AdjacencyMatrixUndirectedGraph<L>} viene quindi sempre
+ * usato Prim, perché anche solo elencare gli archi per Kruskal richiede di
+ * scorrere l'intera matrice. Sugli altri grafi viene usato Prim se la densità
+ * è almeno {@code DENSITY_THRESHOLD}, Kruskal altrimenti: sui grafi sparsi
+ * l'ordinamento di un array di indici costa meno della gestione dello heap.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class AdaptiveMSP<L> {
+
+    /**
+     * Densità a partire dalla quale su un grafo che non è una matrice di
+     * adiacenza viene usato l'algoritmo di Prim.
+     */
+    public static final double DENSITY_THRESHOLD = 0.1;
+
+    /*
+     * Algoritmi tra cui scegliere.
+     */
+    private final PrimMSP<L> prim;
+
+    private final KruskalMSP<L> kruskal;
+
+    /**
+     * Costruisce un calcolatore di una foresta di copertura minima che sceglie
+     * tra un {@code PrimMSP<L>} e un {@code KruskalMSP<L>} con le
+     * impostazioni predefinite.
+     */
+    public AdaptiveMSP() {
+        this(new PrimMSP<L>(), new KruskalMSP<L>());
+    }
+
+    /**
+     * Costruisce un calcolatore di una foresta di copertura minima che sceglie
+     * tra due calcolatori dati.
+     *
+     * @param prim
+     *                    il calcolatore da usare sui grafi densi
+     * @param kruskal
+     *                    il calcolatore da usare sui grafi sparsi
+     * @throws NullPointerException
+     *                                  se uno dei parametri è null
+     */
+    public AdaptiveMSP(PrimMSP<L> prim, KruskalMSP<L> kruskal) {
+        if (prim == null || kruskal == null) throw new NullPointerException("Il calcolatore passato è null");
+        this.prim = prim;
+        this.kruskal = kruskal;
+    }
+
+    /**
+     * Restituisce la densità di un grafo, cioè il rapporto tra il numero di
+     * archi e il numero di coppie di nodi distinti; 0 se il grafo ha meno di
+     * due nodi. Con i cappi può superare 1.
+     *
+     * @param g
+     *              un grafo non orientato
+     * @return la densità del grafo
+     * @throws NullPointerException
+     *                                  se il grafo g è null
+     */
+    public static double densityOf(Graph<?> g) {
+        if (g == null) throw new NullPointerException("Il grafo passato è null");
+        long n = g.nodeCount();
+        if (n < 2) return 0;
+        // Un grafo mappato può avere più di Integer.MAX_VALUE archi
+        long m = g instanceof MemoryMappedUndirectedGraph ? ((MemoryMappedUndirectedGraph<?>) g).getEdgeCountAsLong()
+                : g.edgeCount();
+        return m / (n * (n - 1) / 2.0);
+    }
+
+    /**
+     * Determina se su un grafo viene usato l'algoritmo di Prim.
+     *
+     * @param g
+     *              un grafo non orientato
+     * @return true se sul grafo viene usato l'algoritmo di Prim, false se
+     *         viene usato quello di Kruskal
+     * @throws NullPointerException
+     *                                  se il grafo g è null
+     */
+    public boolean usesPrim(Graph<L> g) {
+        if (g == null) throw new NullPointerException("Il grafo passato è null");
+        return g instanceof AdjacencyMatrixUndirectedGraph || densityOf(g) >= DENSITY_THRESHOLD;
+    }
+
+    /**
+     * Trova una foresta di copertura minima in un grafo non orientato e
+     * pesato, con pesi degli archi non negativi, con l'algoritmo più adatto
+     * alla sua densità.
+     *
+     * @param g
+     *              un grafo non orientato, pesato, con pesi non negativi
+     * @return l'insieme degli archi del grafo g che costituiscono la foresta
+     *         di copertura minima trovata
+     * @throws NullPointerException
+     *                                      se il grafo g è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo g è orientato, non
+     *                                      pesato o con pesi negativi
+     */
+    public Set<GraphEdge<L>> computeMSP(Graph<L> g) {
+        return usesPrim(g) ? prim.computeMSP(g) : kruskal.computeMSP(g);
+    }
+}
@@ -0,0 +1,66 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe AdaptiveMSP.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class AdaptiveMSPTest {
+
+    @Test
+    final void testChoice() {
+        AdaptiveMSP<Integer> alg = new AdaptiveMSP<Integer>();
+        // Cammino di 100 nodi: sparso
+        Graph<Integer> path = new AdjacencyListUndirectedGraph<Integer>();
+        for (int i = 0; i < 100; i++) path.addNode(new GraphNode<Integer>(i));
+        for (int i = 1; i < 100; i++)
+            path.addEdge(new GraphEdge<Integer>(new GraphNode<Integer>(i - 1), new GraphNode<Integer>(i), false, i % 7));
+        assertEquals(99 / (100 * 99 / 2.0), AdaptiveMSP.densityOf(path));
+        assertFalse(alg.usesPrim(path));
+        // Grafo completo su 20 nodi: denso
+        Graph<Integer> complete = new AdjacencyListUndirectedGraph<Integer>();
+        for (int i = 0; i < 20; i++) complete.addNode(new GraphNode<Integer>(i));
+        for (int i = 0; i < 20; i++)
+            for (int j = i + 1; j < 20; j++)
+                complete.addEdge(new GraphEdge<Integer>(new GraphNode<Integer>(i), new GraphNode<Integer>(j), false,
+                        (i * 31 + j * 17) % 13));
+        assertEquals(1.0, AdaptiveMSP.densityOf(complete));
+        assertTrue(alg.usesPrim(complete));
+        // Sulla matrice di adiacenza sempre Prim
+        Graph<Integer> matrix = new AdjacencyMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < 100; i++) matrix.addNode(new GraphNode<Integer>(i));
+        assertTrue(alg.usesPrim(matrix));
+        assertEquals(0.0, AdaptiveMSP.densityOf(new AdjacencyListUndirectedGraph<Integer>()));
+    }
+
+    @Test
+    final void testComputeMSP() {
+        AdaptiveMSP<Integer> alg = new AdaptiveMSP<Integer>();
+        for (int n : new int[] { 10, 200 }) {
+            Graph<Integer> gr = new AdjacencyListUndirectedGraph<Integer>();
+            for (int i = 0; i < n; i++) gr.addNode(new GraphNode<Integer>(i));
+            for (int i = 0; i < n; i++)
+                for (int j = i + 1; j < n; j += 1 + (i + j) % 5)
+                    gr.addEdge(new GraphEdge<Integer>(new GraphNode<Integer>(i), new GraphNode<Integer>(j), false,
+                            (i * 7 + j * 3) % 11));
+            Set<GraphEdge<Integer>> expected = new KruskalMSP<Integer>().computeMSP(gr);
+            Set<GraphEdge<Integer>> mst = alg.computeMSP(gr);
+            assertEquals(expected.size(), mst.size());
+            assertEquals(MSPTestUtils.totalWeight(expected), MSPTestUtils.totalWeight(mst));
+        }
+    }
+
+    @Test
+    final void exceptionsTest() {
+        assertThrows(NullPointerException.class, () -> new AdaptiveMSP<String>(null, new KruskalMSP<String>()));
+        assertThrows(NullPointerException.class, () -> new AdaptiveMSP<String>(new PrimMSP<String>(), null));
+        AdaptiveMSP<String> alg = new AdaptiveMSP<String>();
+        assertThrows(NullPointerException.class, () -> alg.computeMSP(null));
+        assertThrows(NullPointerException.class, () -> AdaptiveMSP.densityOf(null));
+    }
+}
@@ -0,0 +1,251 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che implementa un grafo non orientato tramite liste di adiacenza,
+ * adatta a grafi sparsi per i quali una matrice di adiacenza occuperebbe
+ * troppa memoria. Non sono accettate etichette dei nodi null e non sono
+ * accettate etichette duplicate nei nodi (che in quel caso sono lo stesso
+ * nodo).
+ *
+ * Come in {@code AdjacencyMatrixUndirectedGraph<L>}, i nodi sono indicizzati da
+ * 0 a nodeCount() - 1 seguendo l'ordine del loro inserimento e, quando un nodo
+ * viene rimosso, i nodi successivi scalano di una posizione.
+ *
+ * La lista di adiacenza di ogni nodo è rappresentata da una mappa che associa
+ * ad ogni nodo adiacente l'oggetto GraphEdge<L> che li collega. Lo stesso
+ * oggetto compare nella mappa di entrambi gli estremi (una volta sola nel caso
+ * di un cappio). La memoria occupata è quindi O(n + m) e le operazioni su un
+ * singolo arco costano tempo costante atteso, mentre quelle che elencano i
+ * vicini di un nodo costano O(grado del nodo).
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi
+ */
+public class AdjacencyListUndirectedGraph<L> extends Graph<L> {
+    /*
+     * Le seguenti variabili istanza sono protected al solo scopo di agevolare
+     * il JUnit testing
+     */
+
+    // Insieme dei nodi e associazione di ogni nodo con il proprio indice
+    protected Map<GraphNode<L>, Integer> nodesIndex;
+
+    // Nodi in ordine di indice, per risalire al nodo a partire dall'indice
+    protected ArrayList<GraphNode<L>> nodesList;
+
+    // Liste di adiacenza in ordine di indice: per ogni nodo associa ad ogni
+    // nodo adiacente l'arco che li collega
+    protected ArrayList<Map<GraphNode<L>, GraphEdge<L>>> adjacency;
+
+    // Numero di archi, aggiornato ad ogni inserimento e cancellazione
+    protected int edgeCount;
+
+    /**
+     * Crea un grafo vuoto.
+     */
+    public AdjacencyListUndirectedGraph() {
+        this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        this.nodesList = new ArrayList<GraphNode<L>>();
+        this.adjacency = new ArrayList<Map<GraphNode<L>, GraphEdge<L>>>();
+        this.edgeCount = 0;
+    }
+
+    @Override
+    public int nodeCount() {
+        return nodesList.size();
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public void clear() {
+        this.nodesIndex.clear();
+        this.nodesList.clear();
+        this.adjacency.clear();
+        this.edgeCount = 0;
+        fireCleared();
+    }
+
+    @Override
+    public boolean isDirected() {
+        // Questa classe implementa grafi non orientati
+        return false;
+    }
+
+    @Override
+    public Set<GraphNode<L>> getNodes() {
+        return nodesIndex.keySet();
+    }
+
+    @Override
+    public boolean addNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Tentativo di aggiungere un nodo null");
+        // Se il nodo è già presente non viene sovrascritto il suo indice
+        if (nodesIndex.putIfAbsent(node, nodesList.size()) != null) return false;
+        // Il nuovo nodo prende l'ultimo indice e una lista di adiacenza vuota
+        nodesList.add(node);
+        adjacency.add(new HashMap<GraphNode<L>, GraphEdge<L>>());
+        fireNodeAdded(node);
+        return true;
+    }
+
+    @Override
+    public boolean removeNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Tentativo di rimuovere un nodo null");
+        Integer nodeIndex = nodesIndex.get(node);
+        // Se il nodo non esiste non può essere rimosso
+        if (nodeIndex == null) return false;
+        // Tolgo il nodo dalle liste di adiacenza dei suoi vicini: costa solo
+        // O(grado del nodo) perché visito esclusivamente i nodi adiacenti
+        Map<GraphNode<L>, GraphEdge<L>> neighbours = adjacency.get(nodeIndex);
+        for (GraphNode<L> other : neighbours.keySet()) {
+            if (!other.equals(node)) adjacency.get(nodesIndex.get(other)).remove(node);
+        }
+        edgeCount -= neighbours.size();
+        // Tolgo il nodo e scalo di una posizione gli indici dei nodi successivi
+        nodesIndex.remove(node);
+        nodesList.remove(nodeIndex.intValue());
+        adjacency.remove(nodeIndex.intValue());
+        for (int i = nodeIndex; i < nodesList.size(); i++) nodesIndex.put(nodesList.get(i), i);
+        fireNodeRemoved(node);
+        return true;
+    }
+
+    @Override
+    public boolean containsNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Tentativo di cercare un nodo null");
+        return nodesIndex.containsKey(node);
+    }
+
+    @Override
+    public GraphNode<L> getNodeOf(L label) {
+        if (label == null) throw new NullPointerException("Il parametro passato non può essere null");
+        // I nodi sono uguali se hanno la stessa etichetta, quindi uso un nodo
+        // temporaneo come chiave di ricerca
+        Integer index = nodesIndex.get(new GraphNode<L>(label));
+        if (index == null) return null;
+        return nodesList.get(index);
+    }
+
+    @Override
+    public int getNodeIndexOf(L label) {
+        if (label == null) throw new NullPointerException("Il parametro passato non può essere null");
+        Integer index = nodesIndex.get(new GraphNode<L>(label));
+        if (index == null)
+            throw new IllegalArgumentException("La Label interessata non coincide con nessuno dei Nodi nel Grafo");
+        return index;
+    }
+
+    @Override
+    public GraphNode<L> getNodeAtIndex(int i) {
+        if (i < 0 || i >= nodesList.size()) throw new IndexOutOfBoundsException("L'Indice passato non è valido");
+        return nodesList.get(i);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node) {
+        return new HashSet<GraphNode<L>>(adjacencyOf(node).keySet());
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdges() {
+        Set<GraphEdge<L>> graph_edges = new HashSet<>();
+        // Ogni arco compare in due liste, ma il Set lo conserva una volta sola
+        for (Map<GraphNode<L>, GraphEdge<L>> neighbours : adjacency) graph_edges.addAll(neighbours.values());
+        return graph_edges;
+    }
+
+    @Override
+    public boolean addEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("Impossibile inserire un arco null");
+        if (edge.isDirected()) throw new IllegalArgumentException("Un arco Orientato non è aggiungibile");
+        Integer indexNode1 = nodesIndex.get(edge.getNode1());
+        Integer indexNode2 = nodesIndex.get(edge.getNode2());
+        if (indexNode1 == null || indexNode2 == null)
+            throw new IllegalArgumentException("almeno uno dei due nodi dell'arco non è presente");
+        // Se l'arco esiste già (in qualsiasi verso) non lo inserisco nuovamente
+        Map<GraphNode<L>, GraphEdge<L>> neighbours1 = adjacency.get(indexNode1);
+        if (neighbours1.containsKey(edge.getNode2())) return false;
+        // Aggiungo l'arco nella lista di entrambi gli estremi
+        neighbours1.put(edge.getNode2(), edge);
+        adjacency.get(indexNode2).put(edge.getNode1(), edge);
+        edgeCount++;
+        fireEdgeAdded(edge);
+        return true;
+    }
+
+    @Override
+    public boolean removeEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("Tentativo di rimuovere un arco null");
+        Integer indexNode1 = nodesIndex.get(edge.getNode1());
+        Integer indexNode2 = nodesIndex.get(edge.getNode2());
+        if (indexNode1 == null || indexNode2 == null)
+            throw new IllegalArgumentException("almeno uno dei due nodi dell'arco non è presente");
+        // Se l'arco esiste lo tolgo da entrambe le liste
+        GraphEdge<L> removed = adjacency.get(indexNode1).remove(edge.getNode2());
+        if (removed != null) {
+            adjacency.get(indexNode2).remove(edge.getNode1());
+            edgeCount--;
+            fireEdgeRemoved(removed);
+            return true;
+        }
+        // Se arrivo qui significa che l'arco da rimuovere non esisteva
+        return false;
+    }
+
+    @Override
+    public boolean containsEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("Il parametro passato non può essere null");
+        Integer indexNode1 = nodesIndex.get(edge.getNode1());
+        if (indexNode1 == null || !nodesIndex.containsKey(edge.getNode2()))
+            throw new IllegalArgumentException("almeno uno dei due nodi dell'arco non è presente");
+        // L'arco memorizzato deve essere uguale a quello passato (stessi nodi e
+        // stesso orientamento)
+        return edge.equals(adjacency.get(indexNode1).get(edge.getNode2()));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node) {
+        return new HashSet<GraphEdge<L>>(adjacencyOf(node).values());
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public int getDegreeOf(GraphNode<L> node) {
+        // La lista di adiacenza contiene esattamente un elemento per ogni arco
+        return adjacencyOf(node).size();
+    }
+
+    /*
+     * Restituisce la lista di adiacenza di un nodo controllando che non sia
+     * null e che sia presente nel grafo.
+     */
+    private Map<GraphNode<L>, GraphEdge<L>> adjacencyOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il parametro passato non può essere null");
+        Integer nodeIndex = nodesIndex.get(node);
+        if (nodeIndex == null) throw new IllegalArgumentException("Il nodo passato non è nel Grafo");
+        return adjacency.get(nodeIndex);
+    }
+}
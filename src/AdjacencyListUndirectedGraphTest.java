@@ -0,0 +1,43 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe AdjacencyListUndirectedGraph.
+ * I test comuni a tutti i grafi sono ereditati da GraphContractTest, qui
+ * restano quelli che verificano le liste di adiacenza.
+ */
+class AdjacencyListUndirectedGraphTest extends GraphContractTest {
+
+    @Override
+    protected Graph<String> newGraph() {
+        return new AdjacencyListUndirectedGraph<String>();
+    }
+
+    @Test
+    void testAdjacencyConsistentAfterNodeRemoval() {
+        AdjacencyListUndirectedGraph<String> graph = new AdjacencyListUndirectedGraph<>();
+        GraphNode<String> nodeA = new GraphNode<>("A");
+        GraphNode<String> nodeB = new GraphNode<>("B");
+        GraphNode<String> nodeC = new GraphNode<>("C");
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+        graph.addNode(nodeC);
+        graph.addEdge(new GraphEdge<>(nodeA, nodeB, false));
+        graph.addEdge(new GraphEdge<>(nodeB, nodeC, false));
+        graph.addEdge(new GraphEdge<>(nodeA, nodeC, false));
+        graph.addEdge(new GraphEdge<>(nodeB, nodeB, false));
+
+        // Rimuovi il nodo "B"
+        assertTrue(graph.removeNode(nodeB));
+
+        // Controlla che le liste di adiacenza siano allineate ai nodi e non
+        // contengano più riferimenti al nodo rimosso
+        assertEquals(graph.nodesList.size(), graph.adjacency.size());
+        assertEquals(1, graph.edgeCount());
+        assertEquals(1, graph.getDegreeOf(nodeA));
+        assertEquals(1, graph.getDegreeOf(nodeC));
+        assertFalse(graph.adjacency.get(graph.getNodeIndexOf("A")).containsKey(nodeB));
+        assertEquals(nodeC, graph.getNodeAtIndex(1));
+    }
+}
@@ -1,4 +1,6 @@
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -18,7 +20,11 @@ import java.util.Set;
  * 
  * Gli oggetti GraphNode<L>, cioè i nodi, sono memorizzati in una mappa che
  * associa ad ogni nodo l'indice assegnato in fase di inserimento. Il dominio
- * della mappa rappresenta quindi l'insieme dei nodi.
+ * della mappa rappresenta quindi l'insieme dei nodi. Poiché due nodi sono uguali
+ * se e solo se hanno la stessa etichetta, la stessa mappa permette di trovare
+ * in tempo costante l'indice di un'etichetta. Una lista parallela contiene i
+ * nodi in ordine di indice, così anche il passaggio da indice a nodo costa
+ * tempo costante.
  * 
  * Gli archi sono memorizzati nella matrice di adiacenza. A differenza della
  * rappresentazione standard con matrice di adiacenza, la posizione i,j della
@@ -28,14 +34,41 @@ import java.util.Set;
  * con lo stesso peso (se gli archi sono pesati) deve essere presente nella
  * posizione j, i della matrice.
  * 
- * Questa classe non supporta i metodi di cancellazione di nodi e archi, ma
- * supporta tutti i metodi che usano indici, utilizzando l'indice assegnato a
- * ogni nodo in fase di inserimento.
+ * Questa classe supporta tutti i metodi che usano indici, utilizzando l'indice
+ * assegnato a ogni nodo in fase di inserimento. Cosa succede agli indici
+ * quando un nodo viene cancellato dipende dalla modalità di cancellazione
+ * scelta alla costruzione (si veda {@code NodeRemovalMode}): nella modalità
+ * predefinita i nodi successivi scalano di una posizione, conservando l'ordine
+ * di inserimento, mentre nella modalità veloce l'ultimo nodo prende l'indice
+ * del nodo cancellato.
  * 
  * @author Luca Tesei
  *
  */
 public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
+
+    /**
+     * Modalità di cancellazione dei nodi, che stabilisce come vengono
+     * riassegnati gli indici dopo la cancellazione di un nodo.
+     */
+    public enum NodeRemovalMode {
+        /**
+         * I nodi con indice maggiore di quello cancellato scalano di una
+         * posizione, quindi gli indici continuano a seguire l'ordine di
+         * inserimento. Richiede di spostare una colonna in ogni riga della
+         * matrice, cioè tempo O(n^2).
+         */
+        SHIFT_INDEXES,
+
+        /**
+         * Il nodo con l'ultimo indice prende il posto del nodo cancellato,
+         * mentre tutti gli altri nodi conservano il proprio indice. L'ordine
+         * degli indici non segue più quello di inserimento, ma la
+         * cancellazione richiede tempo O(n).
+         */
+        SWAP_WITH_LAST
+    }
+
     /*
      * Le seguenti variabili istanza sono protected al solo scopo di agevolare
      * il JUnit testing
@@ -45,17 +78,59 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     // matrice di adiacenza
     protected Map<GraphNode<L>, Integer> nodesIndex;
 
+    // Nodi in ordine di indice: in posizione i c'è il nodo di indice i. È
+    // mantenuta allineata a nodesIndex da addNode, removeNode e clear
+    protected ArrayList<GraphNode<L>> nodesList;
+
     // Matrice di adiacenza, gli elementi sono null o oggetti della classe
     // GraphEdge<L>. L'uso di ArrayList permette alla matrice di aumentare di
     // dimensione gradualmente ad ogni inserimento di un nuovo nodo.
     protected ArrayList<ArrayList<GraphEdge<L>>> matrix;
 
+    // Numero di archi, aggiornato da addEdge, removeEdge e removeNode
+    protected int edgeCount;
+
+    // Grado di ogni nodo in ordine di indice (un cappio conta una volta sola,
+    // come in getEdgesOf). L'array può essere più lungo del numero di nodi: le
+    // posizioni oltre nodeCount() - 1 non sono significative
+    protected int[] degrees;
+
+    // Modalità di cancellazione dei nodi
+    private final NodeRemovalMode removalMode;
+
     /**
-     * Crea un grafo vuoto.
+     * Crea un grafo vuoto che cancella i nodi nella modalità
+     * {@code NodeRemovalMode.SHIFT_INDEXES}.
      */
     public AdjacencyMatrixUndirectedGraph() {
+        this(NodeRemovalMode.SHIFT_INDEXES);
+    }
+
+    /**
+     * Crea un grafo vuoto che cancella i nodi nella modalità indicata.
+     * 
+     * @param removalMode
+     *                        la modalità di cancellazione dei nodi
+     * @throws NullPointerException
+     *                                  se la modalità passata è null
+     */
+    public AdjacencyMatrixUndirectedGraph(NodeRemovalMode removalMode) {
+        if (removalMode == null) throw new NullPointerException("La modalità di cancellazione non può essere null");
+        this.removalMode = removalMode;
         this.matrix = new ArrayList<ArrayList<GraphEdge<L>>>();
         this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        this.nodesList = new ArrayList<GraphNode<L>>();
+        this.edgeCount = 0;
+        this.degrees = new int[16];
+    }
+
+    /**
+     * Restituisce la modalità di cancellazione dei nodi di questo grafo.
+     * 
+     * @return la modalità di cancellazione dei nodi
+     */
+    public NodeRemovalMode getNodeRemovalMode() {
+        return removalMode;
     }
 
     @Override
@@ -66,9 +141,9 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
 
     @Override
     public int edgeCount() {
-        // Se ho i nodi {s,u} entrambi hanno associato l'arco (s,u),
-        // ma in edgeCount viene contato una volta e non due.
-        return this.getEdges().size();
+        // Il contatore è aggiornato ad ogni modifica degli archi, quindi non serve
+        // scandire la matrice
+        return edgeCount;
     }
 
     @Override
@@ -76,6 +151,9 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         // Uso il metodo clear() della classe Map e della classe ArrayList
         this.nodesIndex.clear();
         this.matrix.clear();
+        this.nodesList.clear();
+        this.edgeCount = 0;
+        fireCleared();
     }
 
     @Override
@@ -104,6 +182,12 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
             for (int i = 0; i <= matrix.size(); i++) newRow.add(null);
             // Aggiungo la nuova riga della matrice
             matrix.add(newRow);
+            // Il nuovo nodo occupa l'ultimo indice e ha grado zero; se serve
+            // raddoppio l'array dei gradi
+            if (nodesList.size() == degrees.length) degrees = Arrays.copyOf(degrees, 2 * degrees.length);
+            degrees[nodesList.size()] = 0;
+            nodesList.add(node);
+            fireNodeAdded(node);
             // Inserimento riuscito
             return true;
         }
@@ -122,6 +206,20 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
 
         // Fase 1: Rimuovere gli archi e la riga e la colonna dalla matrice
 
+        // Aggiorno i contatori: ogni arco della riga sparisce e i nodi adiacenti
+        // perdono un grado
+        ArrayList<GraphEdge<L>> removedRow = matrix.get(nodeIndex);
+        for (int j = 0; j < removedRow.size(); j++) {
+            if (removedRow.get(j) != null) {
+                edgeCount--;
+                degrees[j]--;
+            }
+        }
+        if (removalMode == NodeRemovalMode.SWAP_WITH_LAST) {
+            removeBySwappingWithLast(node, nodeIndex);
+            fireNodeRemoved(node);
+            return true;
+        }
         // Rimuovo la riga corrispondente alla posizione del nodo nella matrice
         matrix.remove(nodeIndex.intValue());
         // Rimuovo la colonna corrispondente alla posizione del nodo nella matrice
@@ -131,16 +229,43 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         // Fase 2: Rimuovere il nodo dalla mappa <nodo : indice>
 
         nodesIndex.remove(node);
-        // Devo decrementare di 1 tutti gli indici successivi a quello rimosso
-        // Creo una nuova mappa temporanea, copia di nodesIndex, sulla quale itero e scorro le coppie di valori,
-        // ma nel frattempo sto modificando la mappa originale, la quale non lancia eccezione perchè in realtà
-        // sto iterando sulla sua copia
-        for (Map.Entry<GraphNode<L>, Integer> couple_key_value : new HashMap<>(nodesIndex).entrySet()) {
-            if (couple_key_value.getValue() > nodeIndex) nodesIndex.put(couple_key_value.getKey(), couple_key_value.getValue() - 1);
-        }
+        nodesList.remove(nodeIndex.intValue());
+        System.arraycopy(degrees, nodeIndex + 1, degrees, nodeIndex, nodesList.size() - nodeIndex);
+        // Devo decrementare di 1 tutti gli indici successivi a quello rimosso: i nodi
+        // interessati sono quelli che ora si trovano in nodesList da nodeIndex in poi
+        for (int i = nodeIndex; i < nodesList.size(); i++) nodesIndex.put(nodesList.get(i), i);
+        fireNodeRemoved(node);
         return true;
     }
 
+    /*
+     * Cancella dalla matrice il nodo di indice nodeIndex spostando al suo posto
+     * l'ultimo nodo. In ogni riga la colonna dell'ultimo nodo viene copiata in
+     * quella del nodo cancellato e poi tolta dalla fine della riga, cosa che
+     * non richiede di spostare altri elementi. Infine la riga dell'ultimo nodo
+     * prende il posto di quella del nodo cancellato. Il tempo è quindi O(n).
+     * I contatori degli archi sono già stati aggiornati dal chiamante.
+     */
+    private void removeBySwappingWithLast(GraphNode<L> node, int nodeIndex) {
+        int last = matrix.size() - 1;
+        if (nodeIndex != last) {
+            // Nella riga dell'ultimo nodo questo sovrascrive anche l'arco verso il
+            // nodo cancellato, che deve sparire, e sposta un eventuale cappio
+            for (ArrayList<GraphEdge<L>> row : matrix) row.set(nodeIndex, row.get(last));
+            matrix.set(nodeIndex, matrix.get(last));
+            // L'ultimo nodo prende indice e grado del posto liberato
+            GraphNode<L> lastNode = nodesList.get(last);
+            nodesList.set(nodeIndex, lastNode);
+            nodesIndex.put(lastNode, nodeIndex);
+            degrees[nodeIndex] = degrees[last];
+        }
+        // Tolgo l'ultima riga e l'ultima colonna
+        matrix.remove(last);
+        for (ArrayList<GraphEdge<L>> row : matrix) row.remove(last);
+        nodesList.remove(last);
+        nodesIndex.remove(node);
+    }
+
     @Override
     public boolean containsNode(GraphNode<L> node) {
         if (node == null) throw new NullPointerException("Tentativo di cercare un nodo null");
@@ -151,40 +276,32 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     @Override
     public GraphNode<L> getNodeOf(L label) {
         if (label == null) throw new NullPointerException("Il parametro passato non può essere null");
-        // Scorro le keys della mappa
-        for (GraphNode<L> node : nodesIndex.keySet()) {
-            // Se trovo tra le keys il nodo che ha l'etichetta uguale a quella che sto cercando lo ritorno
-            if (node.getLabel().equals(label)) return node;
-        }
-        // Se arrivo qui significa che non c'è nessun nodo che ha l'etichetta passata
-        return null;
+        // I nodi sono uguali se hanno la stessa etichetta, quindi un nodo temporaneo
+        // con l'etichetta cercata fa da chiave per la mappa
+        Integer nodeIndex = nodesIndex.get(new GraphNode<L>(label));
+        // Se non c'è nessun nodo che ha l'etichetta passata restituisco null
+        if (nodeIndex == null) return null;
+        // Restituisco il nodo memorizzato, non quello temporaneo
+        return nodesList.get(nodeIndex);
     }
 
     @Override
     public int getNodeIndexOf(L label) {
         if (label == null) throw new NullPointerException("Il parametro passato non può essere null");
-        // Scorro le keys della mappa
-        for (GraphNode<L> node : nodesIndex.keySet()) {
-            // Se trovo tra le keys il nodo che ha l'etichetta uguale a quella che sto cercando
-            // ritorno il value a lui associato
-            if (node.getLabel().equals(label)) return nodesIndex.get(node);
-        }
+        // Cerco l'indice usando un nodo temporaneo con l'etichetta passata come chiave
+        Integer nodeIndex = nodesIndex.get(new GraphNode<L>(label));
         // Lancio un'eccezione nel caso in cui la ricerca della Label non sia andata a buon fine
-        throw new IllegalArgumentException("La Label interessata non coincide con nessuno dei Nodi nel Grafo");
+        if (nodeIndex == null)
+            throw new IllegalArgumentException("La Label interessata non coincide con nessuno dei Nodi nel Grafo");
+        return nodeIndex;
     }
 
     @Override
     public GraphNode<L> getNodeAtIndex(int i) {
-        // Se l'Indice è valido
-        if (i >= 0 && i < nodeCount()) {
-            // Scorro l'insieme delle coppie chiave-valore della mappa
-            for (Map.Entry<GraphNode<L>, Integer> couple_key_value : nodesIndex.entrySet()) {
-                // Appena raggiungo l'indice giusto restituisco il suo nodo
-                if (couple_key_value.getValue() == i) return couple_key_value.getKey();
-            }
-        }
-        // Se l'indice passato non era valido lancio un'eccezione
-        throw new IndexOutOfBoundsException("L'Indice passato non è valido");
+        // Se l'indice passato non è valido lancio un'eccezione
+        if (i < 0 || i >= nodesList.size()) throw new IndexOutOfBoundsException("L'Indice passato non è valido");
+        // Il nodo di indice i è in posizione i della lista
+        return nodesList.get(i);
     }
 
     @Override
@@ -247,9 +364,40 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         // Aggiungo l'arco in entrambe le posizioni (il grafo non orientato è simmetrico)
         matrix.get(indexNode1).set(indexNode2, edge);
         matrix.get(indexNode2).set(indexNode1, edge);
+        // Aggiorno i contatori (un cappio aumenta il grado del nodo di uno solo)
+        edgeCount++;
+        degrees[indexNode1]++;
+        if (indexNode1 != indexNode2) degrees[indexNode2]++;
+        fireEdgeAdded(edge);
         return true;
     }
 
+    @Override
+    public int addEdges(Collection<GraphEdge<L>> edges) {
+        if (edges == null) throw new NullPointerException("La collezione di archi passata è null");
+        int added = 0;
+        for (GraphEdge<L> edge : edges) {
+            if (edge == null) throw new NullPointerException("Impossibile inserire un arco null");
+            if (edge.isDirected()) throw new IllegalArgumentException("Un arco Orientato non è aggiungibile");
+            // Una sola ricerca per nodo: l'indice serve sia come controllo di
+            // presenza sia per accedere alla matrice, senza passare da containsEdge
+            Integer indexNode1 = nodesIndex.get(edge.getNode1());
+            Integer indexNode2 = nodesIndex.get(edge.getNode2());
+            if (indexNode1 == null || indexNode2 == null)
+                throw new IllegalArgumentException("almeno uno dei due nodi dell'arco non è presente");
+            ArrayList<GraphEdge<L>> row1 = matrix.get(indexNode1);
+            if (row1.get(indexNode2) != null) continue;
+            row1.set(indexNode2, edge);
+            matrix.get(indexNode2).set(indexNode1, edge);
+            edgeCount++;
+            degrees[indexNode1]++;
+            if (!indexNode1.equals(indexNode2)) degrees[indexNode2]++;
+            added++;
+            fireEdgeAdded(edge);
+        }
+        return added;
+    }
+
     @Override
     public boolean removeEdge(GraphEdge<L> edge) {
         if (edge == null) throw new NullPointerException("Tentativo di rimuovere un arco null");
@@ -263,9 +411,14 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         int indexNode2 = nodesIndex.get(edge.getNode2());
         // Se l'arco esiste lo rimuovo dalla matrice ed essendo un grafo non orientato 
         // rimuovo anche l'arco simmetrico
-        if (matrix.get(indexNode1).get(indexNode2) != null) {
+        GraphEdge<L> removed = matrix.get(indexNode1).get(indexNode2);
+        if (removed != null) {
             matrix.get(indexNode1).set(indexNode2, null);
             matrix.get(indexNode2).set(indexNode1, null);
+            edgeCount--;
+            degrees[indexNode1]--;
+            if (indexNode1 != indexNode2) degrees[indexNode2]--;
+            fireEdgeRemoved(removed);
             return true;
         }
         // Se arrivo qui significa che l'arco da rimuovere non esisteva
@@ -309,4 +462,61 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         throw new UnsupportedOperationException(
                 "Operazione non supportata in un grafo non orientato");
     }
+
+    @Override
+    public int getDegreeOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il parametro passato non può essere null");
+        Integer nodeIndex = nodesIndex.get(node);
+        if (nodeIndex == null) throw new IllegalArgumentException("Nodo non presente nel Grafo");
+        // Il grado è mantenuto ad ogni modifica degli archi
+        return degrees[nodeIndex];
+    }
+
+    /**
+     * Restituisce una fotografia immutabile di questo grafo in formato
+     * Compressed Sparse Row. Gli indici dei nodi nella fotografia coincidono
+     * con quelli correnti di questo grafo. Le modifiche successive a questo
+     * grafo non hanno effetto sulla fotografia.
+     *
+     * La matrice viene scandita una sola volta, dopodiché gli algoritmi che
+     * lavorano sulla fotografia scorrono solo gli archi esistenti.
+     *
+     * @return la rappresentazione CSR di questo grafo
+     */
+    public CompressedSparseRowUndirectedGraph<L> freeze() {
+        int n = matrix.size();
+        // Il dizionario indice -> nodo è una copia della lista dei nodi
+        ArrayList<GraphNode<L>> nodes = new ArrayList<GraphNode<L>>(nodesList);
+        // Primo passaggio: conto gli archi di ogni riga e quelli sulla diagonale
+        // (che corrispondono ai cappi, da contare una volta sola)
+        int[] offsets = new int[n + 1];
+        int halfEdges = 0;
+        int loops = 0;
+        for (int i = 0; i < n; i++) {
+            ArrayList<GraphEdge<L>> row = matrix.get(i);
+            for (int j = 0; j < n; j++) {
+                if (row.get(j) != null) offsets[i + 1]++;
+            }
+            if (row.get(i) != null) loops++;
+            halfEdges += offsets[i + 1];
+            offsets[i + 1] += offsets[i];
+        }
+        // Secondo passaggio: copio indici dei vicini e pesi riga per riga
+        int[] neighbors = new int[halfEdges];
+        double[] weights = new double[halfEdges];
+        int p = 0;
+        for (int i = 0; i < n; i++) {
+            ArrayList<GraphEdge<L>> row = matrix.get(i);
+            for (int j = 0; j < n; j++) {
+                GraphEdge<L> arco = row.get(j);
+                if (arco != null) {
+                    neighbors[p] = j;
+                    weights[p++] = arco.getWeight();
+                }
+            }
+        }
+        // Ogni arco non cappio è stato contato due volte
+        return new CompressedSparseRowUndirectedGraph<L>(nodes, offsets, neighbors, weights,
+                (halfEdges - loops) / 2 + loops);
+    }
 }
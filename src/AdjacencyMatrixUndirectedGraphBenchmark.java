@@ -0,0 +1,61 @@
+import java.util.Random;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Programma di misura del caricamento di archi in un
+ * {@code AdjacencyMatrixUndirectedGraph<Integer>} seguendo il percorso tipico
+ * di un'importazione: per ogni arco si cercano i due nodi tramite etichetta con
+ * {@code getNodeOf} e si inserisce l'arco con {@code addEdge}.
+ *
+ * Il programma stampa il tempo medio per arco di ogni blocco di archi inseriti.
+ * Poiché ricerca e inserimento costano tempo costante, il tempo per arco deve
+ * restare stabile al crescere del numero di archi già presenti, cioè il tempo
+ * totale deve crescere linearmente con il numero di archi.
+ *
+ * Uso: {@code java AdjacencyMatrixUndirectedGraphBenchmark [archi]} (default
+ * 1000000).
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+public class AdjacencyMatrixUndirectedGraphBenchmark {
+
+    public static void main(String[] args) {
+        int edges = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        // Il doppio del minimo numero di nodi che può contenere tutti gli archi
+        // richiesti: la matrice resta piena al più per un quarto, così le
+        // coppie casuali già presenti sono poche fino alla fine
+        int nodes = 2 * (int) Math.ceil((1 + Math.sqrt(1 + 8.0 * edges)) / 2);
+        int block = Math.max(edges / 10, 1);
+
+        AdjacencyMatrixUndirectedGraph<Integer> g = new AdjacencyMatrixUndirectedGraph<Integer>();
+        long start = System.nanoTime();
+        for (int i = 0; i < nodes; i++) g.addNode(new GraphNode<Integer>(i));
+        System.out.printf("%d nodi inseriti in %.1f ms%n", nodes, (System.nanoTime() - start) / 1e6);
+
+        // Gli archi collegano coppie di nodi distinti scelte a caso; le coppie
+        // già presenti vengono scartate
+        Random random = new Random(42);
+        int inserted = 0;
+        long total = 0;
+        long blockStart = System.nanoTime();
+        while (inserted < edges) {
+            int u = random.nextInt(nodes);
+            int v = random.nextInt(nodes);
+            if (u == v) continue;
+            GraphNode<Integer> node1 = g.getNodeOf(u);
+            GraphNode<Integer> node2 = g.getNodeOf(v);
+            if (!g.addEdge(new GraphEdge<Integer>(node1, node2, false, random.nextDouble()))) continue;
+            inserted++;
+            if (inserted % block == 0 || inserted == edges) {
+                long now = System.nanoTime();
+                int blockEdges = inserted % block == 0 ? block : inserted % block;
+                total += now - blockStart;
+                System.out.printf("archi %8d: %6.1f ns/arco nel blocco, %8.1f ms totali%n", inserted,
+                        (double) (now - blockStart) / blockEdges, total / 1e6);
+                blockStart = System.nanoTime();
+            }
+        }
+    }
+}
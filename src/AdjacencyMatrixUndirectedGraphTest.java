@@ -1,7 +1,9 @@
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -521,4 +523,215 @@ class AdjacencyMatrixUndirectedGraphTest {
         // Prova a rimuovere un arco null
         assertThrows(NullPointerException.class, () -> graph.removeEdge(null));
     }
+
+    @Test
+    void testLookupsConsistentAfterNodeRemoval() {
+        AdjacencyMatrixUndirectedGraph<String> graph = new AdjacencyMatrixUndirectedGraph<>();
+        GraphNode<String> nodeA = new GraphNode<>("A");
+        GraphNode<String> nodeB = new GraphNode<>("B");
+        GraphNode<String> nodeC = new GraphNode<>("C");
+        nodeC.setColor(2);
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+        graph.addNode(nodeC);
+
+        assertTrue(graph.removeNode(nodeA));
+
+        // Etichetta, indice e nodo devono restare allineati
+        assertNull(graph.getNodeOf("A"));
+        assertThrows(IllegalArgumentException.class, () -> graph.getNodeIndexOf("A"));
+        assertEquals(nodeB, graph.getNodeAtIndex(0));
+        assertEquals(nodeC, graph.getNodeAtIndex(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> graph.getNodeAtIndex(2));
+        assertEquals(1, graph.getNodeIndexOf("C"));
+        // Viene restituito il nodo memorizzato, con i suoi attributi
+        assertEquals(2, graph.getNodeOf("C").getColor());
+        graph.clear();
+        assertThrows(IndexOutOfBoundsException.class, () -> graph.getNodeAtIndex(0));
+        assertNull(graph.getNodeOf("B"));
+    }
+
+    @Test
+    void testCountersFollowEdgeAndNodeChanges() {
+        AdjacencyMatrixUndirectedGraph<String> graph = new AdjacencyMatrixUndirectedGraph<>();
+        GraphNode<String> nodeA = new GraphNode<>("A");
+        GraphNode<String> nodeB = new GraphNode<>("B");
+        GraphNode<String> nodeC = new GraphNode<>("C");
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+        graph.addNode(nodeC);
+        graph.addEdge(new GraphEdge<>(nodeA, nodeB, false));
+        graph.addEdge(new GraphEdge<>(nodeB, nodeC, false));
+        graph.addEdge(new GraphEdge<>(nodeC, nodeC, false));
+        // Un arco già presente non cambia i contatori
+        assertFalse(graph.addEdge(new GraphEdge<>(nodeB, nodeA, false)));
+        assertEquals(3, graph.edgeCount());
+        assertEquals(6, graph.size());
+        assertEquals(1, graph.getDegreeOf(nodeA));
+        assertEquals(2, graph.getDegreeOf(nodeB));
+        assertEquals(2, graph.getDegreeOf(nodeC));
+
+        assertTrue(graph.removeEdge(new GraphEdge<>(nodeA, nodeB, false)));
+        assertFalse(graph.removeEdge(new GraphEdge<>(nodeA, nodeB, false)));
+        assertEquals(2, graph.edgeCount());
+        assertEquals(0, graph.getDegreeOf(nodeA));
+        assertEquals(1, graph.getDegreeOf(nodeB));
+
+        // Rimuovendo B spariscono i suoi archi e C scala all'indice 1
+        graph.addEdge(new GraphEdge<>(nodeA, nodeB, false));
+        assertTrue(graph.removeNode(nodeB));
+        assertEquals(1, graph.edgeCount());
+        assertEquals(0, graph.getDegreeOf(nodeA));
+        assertEquals(1, graph.getDegreeOf(nodeC));
+        assertEquals(graph.getEdges().size(), graph.edgeCount());
+        assertThrows(IllegalArgumentException.class, () -> graph.getDegreeOf(nodeB));
+        assertThrows(NullPointerException.class, () -> graph.getDegreeOf(null));
+
+        graph.clear();
+        assertEquals(0, graph.edgeCount());
+        graph.addNode(nodeA);
+        assertEquals(0, graph.getDegreeOf(nodeA));
+    }
+
+    @Test
+    void testDegreesAfterManyNodes() {
+        AdjacencyMatrixUndirectedGraph<Integer> graph = new AdjacencyMatrixUndirectedGraph<>();
+        // Più nodi della capacità iniziale dell'array dei gradi
+        for (int i = 0; i < 40; i++) graph.addNode(new GraphNode<>(i));
+        for (int i = 1; i < 40; i++)
+            graph.addEdge(new GraphEdge<>(graph.getNodeOf(0), graph.getNodeOf(i), false));
+        assertEquals(39, graph.getDegreeOf(graph.getNodeOf(0)));
+        for (int i = 1; i < 40; i++) assertEquals(1, graph.getDegreeOf(graph.getNodeOf(i)));
+        assertTrue(graph.removeNode(graph.getNodeOf(0)));
+        for (int i = 1; i < 40; i++) assertEquals(0, graph.getDegreeOf(graph.getNodeOf(i)));
+        assertEquals(0, graph.edgeCount());
+    }
+
+    @Test
+    void testSwapWithLastRemoval() {
+        AdjacencyMatrixUndirectedGraph<String> graph = new AdjacencyMatrixUndirectedGraph<>(
+                AdjacencyMatrixUndirectedGraph.NodeRemovalMode.SWAP_WITH_LAST);
+        assertEquals(AdjacencyMatrixUndirectedGraph.NodeRemovalMode.SWAP_WITH_LAST, graph.getNodeRemovalMode());
+        GraphNode<String> nodeA = new GraphNode<>("A");
+        GraphNode<String> nodeB = new GraphNode<>("B");
+        GraphNode<String> nodeC = new GraphNode<>("C");
+        GraphNode<String> nodeD = new GraphNode<>("D");
+        graph.addNode(nodeA);
+        graph.addNode(nodeB);
+        graph.addNode(nodeC);
+        graph.addNode(nodeD);
+        graph.addEdge(new GraphEdge<>(nodeA, nodeB, false, 1));
+        graph.addEdge(new GraphEdge<>(nodeB, nodeD, false, 2));
+        graph.addEdge(new GraphEdge<>(nodeC, nodeD, false, 3));
+        graph.addEdge(new GraphEdge<>(nodeD, nodeD, false, 4));
+
+        // Rimuovo B: D (ultimo) prende l'indice 1, A e C restano dove sono
+        assertTrue(graph.removeNode(nodeB));
+        assertEquals(0, graph.getNodeIndexOf("A"));
+        assertEquals(1, graph.getNodeIndexOf("D"));
+        assertEquals(2, graph.getNodeIndexOf("C"));
+        assertEquals(nodeD, graph.getNodeAtIndex(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> graph.getNodeAtIndex(3));
+
+        // Archi e contatori sono coerenti con la nuova disposizione
+        Set<GraphEdge<String>> expected = new HashSet<>();
+        expected.add(new GraphEdge<>(nodeC, nodeD, false));
+        expected.add(new GraphEdge<>(nodeD, nodeD, false));
+        assertEquals(expected, graph.getEdges());
+        assertEquals(2, graph.edgeCount());
+        assertEquals(0, graph.getDegreeOf(nodeA));
+        assertEquals(2, graph.getDegreeOf(nodeD));
+        assertEquals(1, graph.getDegreeOf(nodeC));
+        assertTrue(graph.containsEdge(new GraphEdge<>(nodeD, nodeC, false)));
+        int size = graph.matrix.size();
+        assertEquals(3, size);
+        for (ArrayList<GraphEdge<String>> row : graph.matrix) assertEquals(size, row.size());
+
+        // Rimozione dell'ultimo nodo
+        assertTrue(graph.removeNode(nodeC));
+        assertEquals(1, graph.edgeCount());
+        assertEquals(1, graph.getDegreeOf(nodeD));
+        assertFalse(graph.removeNode(nodeC));
+        assertThrows(NullPointerException.class, () -> new AdjacencyMatrixUndirectedGraph<String>(null));
+    }
+
+    @Test
+    void testAddEdges() {
+        AdjacencyMatrixUndirectedGraph<String> graph = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addNode(c);
+        graph.addEdge(new GraphEdge<String>(a, b, false, 1));
+        ArrayList<GraphEdge<String>> edges = new ArrayList<GraphEdge<String>>();
+        edges.add(new GraphEdge<String>(b, a, false, 2));
+        edges.add(new GraphEdge<String>(b, c, false, 3));
+        edges.add(new GraphEdge<String>(c, c, false, 4));
+        edges.add(new GraphEdge<String>(c, b, false, 5));
+        // Solo b-c e il cappio su c sono nuovi
+        assertEquals(2, graph.addEdges(edges));
+        assertEquals(3, graph.edgeCount());
+        assertEquals(1, graph.getDegreeOf(a));
+        assertEquals(2, graph.getDegreeOf(b));
+        assertEquals(2, graph.getDegreeOf(c));
+        assertEquals(graph.matrix.get(1).get(2), graph.matrix.get(2).get(1));
+        assertThrows(NullPointerException.class, () -> graph.addEdges(null));
+        ArrayList<GraphEdge<String>> invalid = new ArrayList<GraphEdge<String>>();
+        invalid.add(new GraphEdge<String>(a, new GraphNode<String>("z"), false));
+        assertThrows(IllegalArgumentException.class, () -> graph.addEdges(invalid));
+        invalid.set(0, new GraphEdge<String>(a, c, true));
+        assertThrows(IllegalArgumentException.class, () -> graph.addEdges(invalid));
+    }
+
+    @Test
+    void testGraphListener() {
+        AdjacencyMatrixUndirectedGraph<String> graph = new AdjacencyMatrixUndirectedGraph<String>();
+        List<String> events = new ArrayList<String>();
+        GraphListener<String> listener = new GraphListener<String>() {
+            @Override
+            public void nodeAdded(Graph<String> g, GraphNode<String> node) {
+                events.add("+" + node.getLabel());
+            }
+
+            @Override
+            public void nodeRemoved(Graph<String> g, GraphNode<String> node) {
+                events.add("-" + node.getLabel());
+            }
+
+            @Override
+            public void edgeAdded(Graph<String> g, GraphEdge<String> edge) {
+                events.add("+" + edge.getNode1().getLabel() + edge.getNode2().getLabel());
+            }
+
+            @Override
+            public void edgeRemoved(Graph<String> g, GraphEdge<String> edge) {
+                events.add("-" + edge.getNode1().getLabel() + edge.getNode2().getLabel());
+            }
+
+            @Override
+            public void cleared(Graph<String> g) {
+                events.add("clear");
+            }
+        };
+        graph.addGraphListener(listener);
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        graph.addNode(a);
+        graph.addNode(b);
+        // Le operazioni che non modificano il grafo non generano avvisi
+        graph.addNode(a);
+        graph.addEdge(new GraphEdge<String>(a, b, false, 1));
+        graph.addEdge(new GraphEdge<String>(b, a, false, 1));
+        graph.removeEdge(new GraphEdge<String>(a, b, false));
+        graph.removeEdge(new GraphEdge<String>(a, b, false));
+        graph.addEdge(new GraphEdge<String>(a, b, false, 1));
+        graph.removeNode(b);
+        graph.clear();
+        assertEquals(Arrays.asList("+a", "+b", "+ab", "-ab", "+ab", "-b", "clear"), events);
+        assertTrue(graph.removeGraphListener(listener));
+        graph.addNode(a);
+        assertEquals(7, events.size());
+    }
 }
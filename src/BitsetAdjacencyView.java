@@ -0,0 +1,215 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Vista in sola lettura della relazione di adiacenza di un grafo non orientato
+ * rappresentata come matrice di bit. La riga del nodo di indice i è una
+ * sequenza di {@code wordsPerRow} long in cui il bit j vale 1 se e solo se i
+ * nodi i e j sono adiacenti. Le righe sono memorizzate una dopo l'altra in un
+ * unico array.
+ *
+ * Con questa rappresentazione l'insieme dei vicini comuni a due nodi si ottiene
+ * con un AND parola per parola delle due righe e la sua dimensione con
+ * {@code Long.bitCount}, cioè 64 nodi alla volta.
+ *
+ * I cappi vengono ignorati, quindi un nodo non è mai adiacente a se stesso in
+ * questa vista. La vista è una fotografia: le modifiche successive al grafo non
+ * hanno effetto su di essa.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi del grafo
+ */
+public class BitsetAdjacencyView<L> {
+
+    // Dimensione massima di un array che tutte le JVM riescono ad allocare
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    // Nodi in ordine di indice
+    private final List<GraphNode<L>> nodes;
+
+    // Associazione di ogni nodo con il proprio indice
+    private final Map<GraphNode<L>, Integer> nodesIndex;
+
+    // Numero di long che compongono una riga
+    private final int wordsPerRow;
+
+    // Righe della matrice di bit, una dopo l'altra
+    private final long[] rows;
+
+    /**
+     * Costruisce la vista a bit di un grafo non orientato. Se il grafo è un
+     * {@code AdjacencyMatrixUndirectedGraph<L>} gli indici dei nodi coincidono
+     * con quelli del grafo e la matrice viene letta direttamente; altrimenti i
+     * nodi sono indicizzati nell'ordine di {@code g.getNodes()}.
+     *
+     * @param g
+     *              il grafo di cui costruire la vista
+     * @throws NullPointerException
+     *                                      se il grafo passato è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo passato è orientato o
+     *                                      ha troppi nodi perché la matrice di
+     *                                      bit stia in un array
+     */
+    public BitsetAdjacencyView(Graph<L> g) {
+        if (g == null) throw new NullPointerException("Il grafo passato è null");
+        if (g.isDirected()) throw new IllegalArgumentException("Il grafo passato è orientato");
+        int n = g.nodeCount();
+        this.wordsPerRow = (n + 63) >>> 6;
+        // Calcolo la dimensione in long perché n * wordsPerRow supera
+        // Integer.MAX_VALUE già con circa 370000 nodi. Se la dimensione sta in
+        // un int ci stanno anche gli offset i * wordsPerRow usati dai metodi
+        long size = (long) n * wordsPerRow;
+        if (size > MAX_ARRAY_SIZE)
+            throw new IllegalArgumentException("Il grafo ha troppi nodi per la vista a bit: " + n);
+        this.nodes = new ArrayList<GraphNode<L>>(n);
+        this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        this.rows = new long[(int) size];
+        if (g instanceof AdjacencyMatrixUndirectedGraph) {
+            // Leggo la matrice riga per riga senza passare per gli insiemi di archi
+            AdjacencyMatrixUndirectedGraph<L> matrixGraph = (AdjacencyMatrixUndirectedGraph<L>) g;
+            for (int i = 0; i < n; i++) addNode(matrixGraph.nodesList.get(i));
+            for (int i = 0; i < n; i++) {
+                List<GraphEdge<L>> row = matrixGraph.matrix.get(i);
+                for (int j = 0; j < n; j++) {
+                    if (i != j && row.get(j) != null) set(i, j);
+                }
+            }
+        } else {
+            for (GraphNode<L> node : g.getNodes()) addNode(node);
+            for (GraphEdge<L> edge : g.getEdges()) {
+                int i = nodesIndex.get(edge.getNode1());
+                int j = nodesIndex.get(edge.getNode2());
+                if (i != j) {
+                    set(i, j);
+                    set(j, i);
+                }
+            }
+        }
+    }
+
+    private void addNode(GraphNode<L> node) {
+        nodesIndex.put(node, nodes.size());
+        nodes.add(node);
+    }
+
+    private void set(int i, int j) {
+        rows[i * wordsPerRow + (j >>> 6)] |= 1L << j;
+    }
+
+    /**
+     * Restituisce il numero di nodi della vista.
+     *
+     * @return il numero di nodi
+     */
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * Restituisce il nodo di un certo indice.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return il nodo di indice i
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non corrisponde a
+     *                                       nessun nodo
+     */
+    public GraphNode<L> getNodeAtIndex(int i) {
+        return nodes.get(i);
+    }
+
+    /**
+     * Restituisce l'indice di un nodo nella vista.
+     *
+     * @param node
+     *                 il nodo
+     * @return l'indice del nodo
+     * @throws NullPointerException
+     *                                      se il nodo passato è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo non fa parte del grafo
+     */
+    public int getNodeIndexOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il parametro passato non può essere null");
+        Integer index = nodesIndex.get(node);
+        if (index == null) throw new IllegalArgumentException("Il nodo passato non è nel Grafo");
+        return index;
+    }
+
+    /**
+     * Determina se due nodi distinti sono adiacenti.
+     *
+     * @param i
+     *              l'indice del primo nodo
+     * @param j
+     *              l'indice del secondo nodo
+     * @return true se i nodi sono collegati da un arco, false altrimenti o se
+     *         i e j coincidono
+     */
+    public boolean isAdjacent(int i, int j) {
+        return (rows[i * wordsPerRow + (j >>> 6)] & (1L << j)) != 0;
+    }
+
+    /**
+     * Restituisce il numero di nodi adiacenti a un nodo, cappi esclusi.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return il numero di vicini del nodo
+     */
+    public int degree(int i) {
+        int count = 0;
+        int base = i * wordsPerRow;
+        for (int w = 0; w < wordsPerRow; w++) count += Long.bitCount(rows[base + w]);
+        return count;
+    }
+
+    /**
+     * Restituisce il numero di nodi adiacenti sia a un nodo che a un altro,
+     * confrontando le due righe 64 bit alla volta.
+     *
+     * @param i
+     *              l'indice del primo nodo
+     * @param j
+     *              l'indice del secondo nodo
+     * @return il numero di vicini comuni ai due nodi
+     */
+    public int commonNeighbors(int i, int j) {
+        int count = 0;
+        int baseI = i * wordsPerRow;
+        int baseJ = j * wordsPerRow;
+        for (int w = 0; w < wordsPerRow; w++) count += Long.bitCount(rows[baseI + w] & rows[baseJ + w]);
+        return count;
+    }
+
+    /**
+     * Restituisce una parola di 64 bit della riga di un nodo. Il bit k della
+     * parola w corrisponde al nodo di indice 64 * w + k.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @param w
+     *              l'indice della parola nella riga
+     * @return la parola richiesta
+     */
+    public long getWord(int i, int w) {
+        return rows[i * wordsPerRow + w];
+    }
+
+    /**
+     * Restituisce il numero di parole di 64 bit di ogni riga.
+     *
+     * @return il numero di parole per riga
+     */
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+}
@@ -0,0 +1,187 @@
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che implementa l'algoritmo di Borůvka per trovare una foresta di
+ * copertura minima di un grafo non orientato, pesato e con pesi non negativi,
+ * distribuendo il lavoro di ogni fase sui thread di un {@code ForkJoinPool}.
+ *
+ * L'algoritmo procede per fasi. In ogni fase, per ogni componente della
+ * foresta costruita finora, viene scelto l'arco più leggero che esce dalla
+ * componente; tutti gli archi scelti vengono aggiunti alla foresta e le
+ * componenti che collegano vengono unite. Ogni fase almeno dimezza il numero
+ * di componenti che hanno ancora archi uscenti, quindi le fasi sono al più
+ * log(n). Gli archi i cui estremi sono finiti nella stessa componente vengono
+ * scartati alla fase successiva.
+ *
+ * Le componenti sono in una {@code ConcurrentIntDisjointSets} sugli indici dei
+ * nodi e l'arco più leggero di ogni componente viene aggiornato con
+ * operazioni compare-and-set, senza lock. A parità di peso viene scelto
+ * l'arco di indice minore: con questo ordine totale la foresta di copertura
+ * minima è unica, quindi il risultato non dipende dal numero di thread né
+ * dall'ordine in cui eseguono.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class BoruvkaMSP<L> {
+
+    // Numero di elementi sotto il quale un compito non viene più diviso
+    private static final int SEQUENTIAL_THRESHOLD = 1024;
+
+    /*
+     * Pool di thread su cui vengono distribuiti archi e componenti.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Costruisce un calcolatore di una foresta di copertura minima che usa il
+     * pool comune di fork/join.
+     */
+    public BoruvkaMSP() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Costruisce un calcolatore di una foresta di copertura minima che usa un
+     * certo pool di fork/join.
+     *
+     * @param pool
+     *                 il pool su cui distribuire il calcolo
+     * @throws NullPointerException
+     *                                  se il pool passato è null
+     */
+    public BoruvkaMSP(ForkJoinPool pool) {
+        if (pool == null) throw new NullPointerException("Il pool passato è null");
+        this.pool = pool;
+    }
+
+    /**
+     * Utilizza l'algoritmo di Borůvka per trovare una foresta di copertura
+     * minima in un grafo non orientato e pesato, con pesi degli archi non
+     * negativi. Se il grafo è connesso il risultato è un albero di copertura
+     * minimo. La foresta restituita non è radicata, quindi è rappresentata
+     * semplicemente con un sottoinsieme degli archi del grafo.
+     *
+     * @param g
+     *              un grafo non orientato, pesato, con pesi non negativi
+     * @return l'insieme degli archi del grafo g che costituiscono la foresta
+     *         di copertura minima trovata
+     * @throws NullPointerException
+     *                                      se il grafo g è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo g è orientato, non
+     *                                      pesato o con pesi negativi
+     */
+    public Set<GraphEdge<L>> computeMSP(Graph<L> g) {
+        if (g == null) throw new NullPointerException("Il grafo passato è null");
+        if (g.isDirected()) throw new IllegalArgumentException("Il grafo passato è orientato");
+        IndexedEdgeList<L> edges = IndexedEdgeList.of(g);
+        int n = edges.nodeCount;
+        int[] sources = edges.sources;
+        int[] targets = edges.targets;
+        double[] weights = edges.weights;
+        ConcurrentIntDisjointSets forest = new ConcurrentIntDisjointSets(n);
+        // Arco più leggero uscente da ogni componente, -1 se non ce n'è
+        AtomicIntegerArray lightest = new AtomicIntegerArray(n);
+        for (int u = 0; u < n; u++) lightest.set(u, -1);
+        boolean[] inForest = new boolean[edges.edgeCount];
+
+        // Archi che possono ancora collegare componenti distinte
+        int[] live = edges.identityOrder();
+        int liveCount = live.length;
+        boolean[] alive = new boolean[liveCount];
+        while (liveCount > 0) {
+            int[] current = live;
+            // Scelta dell'arco più leggero uscente da ogni componente
+            forEach(liveCount, i -> {
+                int e = current[i];
+                int r1 = forest.findSet(sources[e]);
+                int r2 = forest.findSet(targets[e]);
+                alive[i] = r1 != r2;
+                if (alive[i]) {
+                    offer(lightest, r1, e, weights);
+                    offer(lightest, r2, e, weights);
+                }
+            });
+            // Tolgo gli archi interni a una componente
+            int k = 0;
+            for (int i = 0; i < liveCount; i++) if (alive[i]) live[k++] = live[i];
+            liveCount = k;
+            // Aggiungo gli archi scelti unendo le componenti. Un arco scelto
+            // da entrambe le sue componenti unisce solo la prima volta, quindi
+            // ogni arco viene segnato da un solo thread
+            forEach(n, r -> {
+                int e = lightest.get(r);
+                if (e < 0) return;
+                lightest.set(r, -1);
+                if (forest.union(sources[e], targets[e])) inForest[e] = true;
+            });
+        }
+
+        Set<GraphEdge<L>> result = new HashSet<>();
+        for (int e = 0; e < inForest.length; e++) if (inForest[e]) result.add(edges.edgeAt(e));
+        return result;
+    }
+
+    /*
+     * Propone l'arco e come arco più leggero uscente dalla componente con
+     * rappresentante r, sostituendo quello attuale se e è più leggero o, a
+     * parità di peso, ha indice minore.
+     */
+    private static void offer(AtomicIntegerArray lightest, int r, int e, double[] weights) {
+        while (true) {
+            int current = lightest.get(r);
+            if (current >= 0 && (weights[current] < weights[e] || (weights[current] == weights[e] && current < e)))
+                return;
+            if (lightest.compareAndSet(r, current, e)) return;
+        }
+    }
+
+    /*
+     * Esegue un'azione per ogni intero da 0 a n - 1 distribuendo gli interi
+     * sui thread del pool.
+     */
+    private void forEach(int n, IntConsumer action) {
+        pool.invoke(new RangeTask(action, 0, n));
+    }
+
+    /*
+     * Compito fork/join che esegue un'azione sugli interi nell'intervallo
+     * [from, to), dividendolo a metà finché è più grande della soglia.
+     */
+    private static class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IntConsumer action;
+
+        private final int from;
+
+        private final int to;
+
+        RangeTask(IntConsumer action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RangeTask(action, from, middle), new RangeTask(action, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) action.accept(i);
+        }
+    }
+}
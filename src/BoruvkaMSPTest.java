@@ -0,0 +1,131 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe BoruvkaMSP.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class BoruvkaMSPTest {
+
+    @Test
+    final void testComputeMSP() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        GraphNode<String> f = new GraphNode<String>("f");
+        gr.addNode(f);
+        GraphNode<String> g = new GraphNode<String>("g");
+        gr.addNode(g);
+        GraphNode<String> h = new GraphNode<String>("h");
+        gr.addNode(h);
+        GraphNode<String> i = new GraphNode<String>("i");
+        gr.addNode(i);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 4));
+        gr.addEdge(new GraphEdge<String>(a, h, false, 8.5));
+        gr.addEdge(new GraphEdge<String>(b, h, false, 11));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 8));
+        gr.addEdge(new GraphEdge<String>(c, i, false, 2));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 7));
+        gr.addEdge(new GraphEdge<String>(c, f, false, 4));
+        gr.addEdge(new GraphEdge<String>(d, f, false, 14));
+        gr.addEdge(new GraphEdge<String>(d, e, false, 9));
+        gr.addEdge(new GraphEdge<String>(e, f, false, 10));
+        gr.addEdge(new GraphEdge<String>(f, g, false, 2));
+        gr.addEdge(new GraphEdge<String>(g, i, false, 6));
+        gr.addEdge(new GraphEdge<String>(g, h, false, 1));
+        gr.addEdge(new GraphEdge<String>(h, i, false, 7));
+        BoruvkaMSP<String> alg = new BoruvkaMSP<String>();
+        Set<GraphEdge<String>> result = new HashSet<GraphEdge<String>>();
+        result.add(new GraphEdge<String>(a, b, false, 4));
+        result.add(new GraphEdge<String>(b, c, false, 8));
+        result.add(new GraphEdge<String>(g, h, false, 1));
+        result.add(new GraphEdge<String>(c, i, false, 2));
+        result.add(new GraphEdge<String>(c, f, false, 4));
+        result.add(new GraphEdge<String>(c, d, false, 7));
+        result.add(new GraphEdge<String>(d, e, false, 9));
+        result.add(new GraphEdge<String>(f, g, false, 2));
+        assertEquals(result, alg.computeMSP(gr));
+        // Stesso risultato sulla fotografia CSR
+        assertEquals(result, alg.computeMSP(new CompressedSparseRowUndirectedGraph<String>(gr)));
+    }
+
+    @Test
+    final void testDisconnectedGraph() {
+        Graph<String> gr = new AdjacencyListUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 3));
+        gr.addEdge(new GraphEdge<String>(c, d, false, 1));
+        gr.addEdge(new GraphEdge<String>(d, d, false, 0));
+        Set<GraphEdge<String>> result = new HashSet<GraphEdge<String>>();
+        result.add(new GraphEdge<String>(a, b, false, 3));
+        result.add(new GraphEdge<String>(c, d, false, 1));
+        assertEquals(result, new BoruvkaMSP<String>().computeMSP(gr));
+        assertTrue(new BoruvkaMSP<String>().computeMSP(new AdjacencyListUndirectedGraph<String>()).isEmpty());
+    }
+
+    @Test
+    final void testSameWeightAsKruskal() {
+        Graph<Integer> gr = MSPTestUtils.randomGraph(2000, 30000, 100, 3);
+        Set<GraphEdge<Integer>> mst = new BoruvkaMSP<Integer>().computeMSP(gr);
+        assertEquals(gr.nodeCount() - 1, mst.size());
+        assertEquals(MSPTestUtils.totalWeight(new KruskalMSP<Integer>().computeMSP(gr)), MSPTestUtils.totalWeight(mst));
+        assertTrue(gr.getEdges().containsAll(mst));
+    }
+
+    @Test
+    final void testDeterministicTieBreaking() {
+        // Molti archi con lo stesso peso: la foresta non deve dipendere dai
+        // thread
+        Graph<Integer> gr = MSPTestUtils.randomGraph(3000, 40000, 3, 11);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Set<GraphEdge<Integer>> expected;
+        try {
+            expected = new BoruvkaMSP<Integer>(single).computeMSP(gr);
+            BoruvkaMSP<Integer> alg = new BoruvkaMSP<Integer>(pool);
+            for (int run = 0; run < 5; run++) assertEquals(expected, alg.computeMSP(gr));
+        } finally {
+            single.shutdown();
+            pool.shutdown();
+        }
+        assertEquals(MSPTestUtils.totalWeight(new KruskalMSP<Integer>().computeMSP(gr)), MSPTestUtils.totalWeight(expected));
+    }
+
+    @Test
+    final void exceptionsTest() {
+        assertThrows(NullPointerException.class, () -> new BoruvkaMSP<String>(null));
+        BoruvkaMSP<String> alg = new BoruvkaMSP<String>();
+        assertThrows(NullPointerException.class, () -> alg.computeMSP(null));
+        Graph<String> x = new AdjacencyMatrixUndirectedGraph<>();
+        GraphNode<String> a = new GraphNode<>("a");
+        x.addNode(a);
+        GraphNode<String> b = new GraphNode<>("b");
+        x.addNode(b);
+        x.addEdge(new GraphEdge<>(a, b, false, -2));
+        assertThrows(IllegalArgumentException.class, () -> alg.computeMSP(x));
+    }
+}
@@ -0,0 +1,130 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che implementa un grafo non orientato immutabile rappresentato in
+ * formato Compressed Sparse Row (CSR) con array nello heap. È pensata come
+ * "fotografia" in sola lettura di un altro grafo, da usare quando su di esso
+ * vengono eseguiti molti algoritmi senza modificarlo.
+ *
+ * Gli archi incidenti al nodo di indice i occupano le posizioni da
+ * {@code offsets[i]} (compresa) a {@code offsets[i + 1]} (esclusa) degli array
+ * {@code neighbors}, che contiene l'indice del nodo adiacente, e
+ * {@code weights}, che contiene il peso dell'arco. Si veda
+ * {@code AbstractCompressedSparseRowUndirectedGraph<L>} per il significato
+ * della rappresentazione e per le operazioni di {@code Graph<L>}.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi
+ */
+public class CompressedSparseRowUndirectedGraph<L> extends AbstractCompressedSparseRowUndirectedGraph<L> {
+
+    // Inizio della riga di ogni nodo negli array neighbors e weights, con una
+    // posizione in più in fondo che segna la fine dell'ultima riga
+    protected final int[] offsets;
+
+    // Indici dei nodi adiacenti, riga per riga
+    protected final int[] neighbors;
+
+    // Pesi degli archi, nella stessa posizione del corrispondente vicino
+    protected final double[] weights;
+
+    // Numero di archi (ogni arco contato una sola volta)
+    protected final int edgeCount;
+
+    /**
+     * Costruisce la rappresentazione CSR di un grafo non orientato qualsiasi.
+     * Gli indici dei nodi seguono l'ordine di iterazione di
+     * {@code g.getNodes()}.
+     *
+     * @param g
+     *              il grafo da rappresentare
+     * @throws NullPointerException
+     *                                      se il grafo passato è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo passato è orientato
+     */
+    public CompressedSparseRowUndirectedGraph(Graph<L> g) {
+        super(nodesOf(g));
+        Set<GraphEdge<L>> edges = g.getEdges();
+        this.edgeCount = edges.size();
+        // Primo passaggio: conto gli elementi di ogni riga
+        int n = nodes.size();
+        this.offsets = new int[n + 1];
+        for (GraphEdge<L> edge : edges) {
+            int u = nodesIndex.get(edge.getNode1());
+            int v = nodesIndex.get(edge.getNode2());
+            offsets[u + 1]++;
+            if (u != v) offsets[v + 1]++;
+        }
+        for (int i = 0; i < n; i++) offsets[i + 1] += offsets[i];
+        // Secondo passaggio: riempio le righe usando un cursore per riga
+        this.neighbors = new int[offsets[n]];
+        this.weights = new double[offsets[n]];
+        int[] cursor = new int[n];
+        System.arraycopy(offsets, 0, cursor, 0, n);
+        for (GraphEdge<L> edge : edges) {
+            int u = nodesIndex.get(edge.getNode1());
+            int v = nodesIndex.get(edge.getNode2());
+            neighbors[cursor[u]] = v;
+            weights[cursor[u]++] = edge.getWeight();
+            if (u != v) {
+                neighbors[cursor[v]] = u;
+                weights[cursor[v]++] = edge.getWeight();
+            }
+        }
+    }
+
+    /*
+     * Costruttore usato da chi ha già calcolato gli array CSR, ad esempio
+     * AdjacencyMatrixUndirectedGraph.freeze(). Gli array non vengono copiati.
+     */
+    CompressedSparseRowUndirectedGraph(List<GraphNode<L>> nodes, int[] offsets, int[] neighbors,
+            double[] weights, int edgeCount) {
+        super(nodes);
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.weights = weights;
+        this.edgeCount = edgeCount;
+    }
+
+    /*
+     * Controlla il grafo passato al costruttore e ne restituisce i nodi
+     * nell'ordine di iterazione.
+     */
+    private static <L> List<GraphNode<L>> nodesOf(Graph<L> g) {
+        if (g == null) throw new NullPointerException("Il grafo passato è null");
+        if (g.isDirected()) throw new IllegalArgumentException("Il grafo passato è orientato");
+        return new ArrayList<GraphNode<L>>(g.getNodes());
+    }
+
+    @Override
+    public long getRowStart(int i) {
+        return offsets[i];
+    }
+
+    @Override
+    public long getRowEnd(int i) {
+        return offsets[i + 1];
+    }
+
+    @Override
+    public int getNeighborAt(long p) {
+        return neighbors[(int) p];
+    }
+
+    @Override
+    public double getWeightAt(long p) {
+        return weights[(int) p];
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+}
@@ -0,0 +1,138 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe CompressedSparseRowUndirectedGraph.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class CompressedSparseRowUndirectedGraphTest {
+
+    // Costruisce il grafo di esempio del Cormen et al. usato anche nei test di Kruskal
+    private AdjacencyMatrixUndirectedGraph<String> buildGraph() {
+        AdjacencyMatrixUndirectedGraph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        String[] labels = { "a", "b", "c", "d", "e", "f", "g", "h", "i" };
+        for (String label : labels) gr.addNode(new GraphNode<String>(label));
+        addEdge(gr, "a", "b", 4);
+        addEdge(gr, "a", "h", 8.5);
+        addEdge(gr, "b", "h", 11);
+        addEdge(gr, "b", "c", 8);
+        addEdge(gr, "c", "i", 2);
+        addEdge(gr, "c", "d", 7);
+        addEdge(gr, "c", "f", 4);
+        addEdge(gr, "d", "f", 14);
+        addEdge(gr, "d", "e", 9);
+        addEdge(gr, "e", "f", 10);
+        addEdge(gr, "f", "g", 2);
+        addEdge(gr, "g", "i", 6);
+        addEdge(gr, "g", "h", 1);
+        addEdge(gr, "h", "i", 7);
+        return gr;
+    }
+
+    private void addEdge(Graph<String> gr, String l1, String l2, double w) {
+        gr.addEdge(new GraphEdge<String>(gr.getNodeOf(l1), gr.getNodeOf(l2), false, w));
+    }
+
+    @Test
+    final void testFreezeKeepsNodesEdgesAndIndexes() {
+        AdjacencyMatrixUndirectedGraph<String> gr = buildGraph();
+        CompressedSparseRowUndirectedGraph<String> csr = gr.freeze();
+        assertEquals(gr.nodeCount(), csr.nodeCount());
+        assertEquals(gr.edgeCount(), csr.edgeCount());
+        assertEquals(gr.getNodes(), csr.getNodes());
+        assertEquals(gr.getEdges(), csr.getEdges());
+        for (GraphNode<String> node : gr.getNodes()) {
+            assertEquals(gr.getNodeIndexOf(node.getLabel()), csr.getNodeIndexOf(node.getLabel()));
+            assertEquals(gr.getEdgesOf(node), csr.getEdgesOf(node));
+            assertEquals(gr.getAdjacentNodesOf(node), csr.getAdjacentNodesOf(node));
+            assertEquals(gr.getDegreeOf(node), csr.getDegreeOf(node));
+        }
+        // I pesi sono conservati
+        for (GraphEdge<String> edge : csr.getEdges()) {
+            for (GraphEdge<String> original : gr.getEdges())
+                if (original.equals(edge)) assertEquals(original.getWeight(), edge.getWeight());
+        }
+    }
+
+    @Test
+    final void testSelfLoopAndSnapshotIndependence() {
+        AdjacencyMatrixUndirectedGraph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(a);
+        gr.addNode(b);
+        gr.addEdge(new GraphEdge<String>(a, a, false, 1));
+        gr.addEdge(new GraphEdge<String>(a, b, false, 2));
+        CompressedSparseRowUndirectedGraph<String> csr = gr.freeze();
+        assertEquals(2, csr.edgeCount());
+        assertTrue(csr.containsEdge(new GraphEdge<String>(a, a, false)));
+        assertTrue(csr.containsEdge(new GraphEdge<String>(b, a, false)));
+        // La fotografia non risente delle modifiche successive al grafo
+        gr.removeEdge(new GraphEdge<String>(a, b, false));
+        assertTrue(csr.containsEdge(new GraphEdge<String>(a, b, false)));
+    }
+
+    @Test
+    final void testGenericConstructor() {
+        AdjacencyMatrixUndirectedGraph<String> gr = buildGraph();
+        CompressedSparseRowUndirectedGraph<String> csr = new CompressedSparseRowUndirectedGraph<String>(gr);
+        assertEquals(gr.getEdges(), csr.getEdges());
+        assertEquals("c", csr.getNodeOf("c").getLabel());
+        assertNull(csr.getNodeOf("z"));
+        assertThrows(IllegalArgumentException.class, () -> csr.getNodeIndexOf("z"));
+        assertThrows(IndexOutOfBoundsException.class, () -> csr.getNodeAtIndex(9));
+        assertThrows(NullPointerException.class, () -> new CompressedSparseRowUndirectedGraph<String>(null));
+    }
+
+    @Test
+    final void testImmutability() {
+        CompressedSparseRowUndirectedGraph<String> csr = buildGraph().freeze();
+        GraphNode<String> z = new GraphNode<String>("z");
+        assertThrows(UnsupportedOperationException.class, () -> csr.addNode(z));
+        assertThrows(UnsupportedOperationException.class, () -> csr.removeNode(csr.getNodeOf("a")));
+        assertThrows(UnsupportedOperationException.class,
+                () -> csr.addEdge(new GraphEdge<String>(csr.getNodeOf("a"), csr.getNodeOf("e"), false)));
+        assertThrows(UnsupportedOperationException.class, () -> csr.clear());
+        assertThrows(UnsupportedOperationException.class, () -> csr.getNodes().add(z));
+    }
+
+    @Test
+    final void testAlgorithmsOnSnapshot() {
+        AdjacencyMatrixUndirectedGraph<String> gr = buildGraph();
+        CompressedSparseRowUndirectedGraph<String> csr = gr.freeze();
+        KruskalMSP<String> alg = new KruskalMSP<String>();
+        Set<GraphEdge<String>> result = alg.computeMSP(csr);
+        assertEquals(alg.computeMSP(gr), result);
+        double total = 0;
+        for (GraphEdge<String> edge : result) total += edge.getWeight();
+        assertEquals(37.0, total);
+
+        // Due componenti: il grafo di esempio e un nodo isolato
+        gr.addNode(new GraphNode<String>("z"));
+        UndirectedGraphConnectedComponentsComputer<String> cc = new UndirectedGraphConnectedComponentsComputer<String>();
+        Set<Set<GraphNode<String>>> components = cc.computeConnectedComponents(gr.freeze());
+        assertEquals(cc.computeConnectedComponents(gr), components);
+        assertEquals(2, components.size());
+        Set<GraphNode<String>> isolated = new HashSet<GraphNode<String>>();
+        isolated.add(new GraphNode<String>("z"));
+        assertTrue(components.contains(isolated));
+    }
+
+    @Test
+    final void testKruskalOnSnapshotRejectsInvalidWeights() {
+        AdjacencyMatrixUndirectedGraph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(a);
+        gr.addNode(b);
+        gr.addEdge(new GraphEdge<String>(a, b, false));
+        KruskalMSP<String> alg = new KruskalMSP<String>();
+        assertThrows(IllegalArgumentException.class, () -> alg.computeMSP(gr.freeze()));
+    }
+}
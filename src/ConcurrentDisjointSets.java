@@ -0,0 +1,184 @@
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Implementazione dell'interfaccia {@code DisjointSets<E>} che può essere
+ * usata da più thread contemporaneamente. Le operazioni {@code makeSet},
+ * {@code findSet} e {@code union} non usano lock: la foresta è una
+ * {@code ConcurrentIntDisjointSets} sugli indici degli elementi, mentre
+ * l'associazione tra elementi e indici è in una {@code ConcurrentHashMap} e in
+ * un {@code AtomicReferenceArray}.
+ *
+ * Il numero massimo di elementi è fissato alla costruzione. Ogni chiamata di
+ * {@code makeSet} consuma un indice, anche quando fallisce perché un altro
+ * thread ha inserito lo stesso elemento.
+ *
+ * Il rappresentante di ogni insieme è l'elemento inserito per primo tra
+ * quelli dell'insieme. I metodi che scorrono tutti gli elementi
+ * ({@code getCurrentRepresentatives} e
+ * {@code getCurrentElementsOfSetContaining}) e {@code clear} vanno chiamati
+ * quando nessun altro thread sta modificando gli insiemi.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <E>
+ *                il tipo degli elementi degli insiemi disgiunti
+ */
+public class ConcurrentDisjointSets<E> implements DisjointSets<E> {
+
+    /*
+     * Associazione di ogni elemento con il proprio indice nella foresta.
+     */
+    private final ConcurrentHashMap<E, Integer> indexes;
+
+    /*
+     * Elementi in ordine di indice; null per gli indici non (ancora) usati.
+     */
+    private final AtomicReferenceArray<E> elements;
+
+    /*
+     * Primo indice non ancora assegnato.
+     */
+    private final AtomicInteger nextIndex;
+
+    /*
+     * Foresta sugli indici degli elementi.
+     */
+    private final ConcurrentIntDisjointSets forest;
+
+    /**
+     * Costruisce una collezione vuota di insiemi disgiunti che può contenere
+     * al più un certo numero di elementi.
+     *
+     * @param capacity
+     *                     il numero massimo di elementi
+     * @throws IllegalArgumentException
+     *                                      se la capacità è negativa
+     */
+    public ConcurrentDisjointSets(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("La capacità non può essere negativa");
+        this.indexes = new ConcurrentHashMap<E, Integer>();
+        this.elements = new AtomicReferenceArray<E>(capacity);
+        this.nextIndex = new AtomicInteger();
+        this.forest = new ConcurrentIntDisjointSets(capacity);
+    }
+
+    /**
+     * Restituisce il numero massimo di elementi.
+     *
+     * @return il numero massimo di elementi
+     */
+    public int getCapacity() {
+        return elements.length();
+    }
+
+    @Override
+    public boolean isPresent(E e) {
+        if (e == null) throw new NullPointerException("La label passata non può essere null");
+        return indexes.containsKey(e);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException
+     *                                   se la capacità è esaurita
+     */
+    @Override
+    public void makeSet(E e) {
+        if (e == null) throw new NullPointerException("La label passata non può essere null");
+        if (indexes.containsKey(e)) throw new IllegalArgumentException("Il parametro è già presente");
+        int index = nextIndex.getAndIncrement();
+        if (index >= elements.length()) {
+            // Riporto il contatore al limite per evitare che superi Integer.MAX_VALUE
+            nextIndex.set(elements.length());
+            throw new IllegalStateException("Capacità esaurita");
+        }
+        // L'elemento va scritto prima di renderlo visibile nella mappa
+        elements.set(index, e);
+        if (indexes.putIfAbsent(e, index) != null) {
+            elements.set(index, null);
+            throw new IllegalArgumentException("Il parametro è già presente");
+        }
+    }
+
+    @Override
+    public E findSet(E e) {
+        Integer index = indexOf(e);
+        if (index == null) return null;
+        return elements.get(forest.findSet(index));
+    }
+
+    @Override
+    public void union(E e1, E e2) {
+        Integer i1 = indexOf(e1);
+        Integer i2 = indexOf(e2);
+        if (i1 == null || i2 == null)
+            throw new IllegalArgumentException("Almeno uno dei parametri non è nella Foresta");
+        forest.union(i1, i2);
+    }
+
+    /**
+     * Determina se due elementi sono nello stesso insieme.
+     *
+     * @param e1
+     *               il primo elemento
+     * @param e2
+     *               il secondo elemento
+     * @return true se i due elementi sono nello stesso insieme
+     * @throws NullPointerException
+     *                                      se almeno uno dei due elementi è
+     *                                      null
+     * @throws IllegalArgumentException
+     *                                      se almeno uno dei due elementi non
+     *                                      è presente
+     */
+    public boolean isSameSet(E e1, E e2) {
+        Integer i1 = indexOf(e1);
+        Integer i2 = indexOf(e2);
+        if (i1 == null || i2 == null)
+            throw new IllegalArgumentException("Almeno uno dei parametri non è nella Foresta");
+        return forest.isSameSet(i1, i2);
+    }
+
+    @Override
+    public Set<E> getCurrentRepresentatives() {
+        Set<E> representatives = new HashSet<E>();
+        int used = Math.min(nextIndex.get(), elements.length());
+        for (int i = 0; i < used; i++) {
+            if (elements.get(i) != null && forest.findSet(i) == i) representatives.add(elements.get(i));
+        }
+        return representatives;
+    }
+
+    @Override
+    public Set<E> getCurrentElementsOfSetContaining(E e) {
+        Integer index = indexOf(e);
+        if (index == null) throw new IllegalArgumentException("Il parametro non è nella Foresta");
+        int representative = forest.findSet(index);
+        Set<E> elementsInSet = new HashSet<E>();
+        int used = Math.min(nextIndex.get(), elements.length());
+        for (int i = 0; i < used; i++) {
+            if (elements.get(i) != null && forest.findSet(i) == representative) elementsInSet.add(elements.get(i));
+        }
+        return elementsInSet;
+    }
+
+    @Override
+    public void clear() {
+        indexes.clear();
+        for (int i = 0; i < elements.length(); i++) elements.set(i, null);
+        forest.clear();
+        nextIndex.set(0);
+    }
+
+    private Integer indexOf(E e) {
+        if (e == null) throw new NullPointerException("La label passata non può essere null");
+        return indexes.get(e);
+    }
+}
@@ -0,0 +1,88 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe ConcurrentDisjointSets.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class ConcurrentDisjointSetsTest {
+
+    @Test
+    final void testSequentialBehaviour() {
+        ConcurrentDisjointSets<String> ds = new ConcurrentDisjointSets<String>(4);
+        assertEquals(4, ds.getCapacity());
+        assertThrows(NullPointerException.class, () -> ds.isPresent(null));
+        assertThrows(NullPointerException.class, () -> ds.makeSet(null));
+        ds.makeSet("a");
+        ds.makeSet("b");
+        ds.makeSet("c");
+        assertTrue(ds.isPresent("a"));
+        assertFalse(ds.isPresent("z"));
+        assertNull(ds.findSet("z"));
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet("a"));
+        assertThrows(IllegalArgumentException.class, () -> ds.union("a", "z"));
+        assertEquals("b", ds.findSet("b"));
+        // Il rappresentante è l'elemento inserito per primo
+        ds.union("c", "b");
+        assertEquals("b", ds.findSet("c"));
+        assertTrue(ds.isSameSet("b", "c"));
+        assertFalse(ds.isSameSet("a", "c"));
+        Set<String> representatives = new HashSet<String>();
+        representatives.add("a");
+        representatives.add("b");
+        assertEquals(representatives, ds.getCurrentRepresentatives());
+        Set<String> set = new HashSet<String>();
+        set.add("b");
+        set.add("c");
+        assertEquals(set, ds.getCurrentElementsOfSetContaining("c"));
+        assertThrows(IllegalArgumentException.class, () -> ds.getCurrentElementsOfSetContaining("z"));
+        ds.makeSet("d");
+        assertThrows(IllegalStateException.class, () -> ds.makeSet("e"));
+        ds.clear();
+        assertFalse(ds.isPresent("a"));
+        assertTrue(ds.getCurrentRepresentatives().isEmpty());
+        ds.makeSet("e");
+        assertEquals("e", ds.findSet("e"));
+    }
+
+    @Test
+    final void testConcurrentMakeSetAndUnion() throws Exception {
+        int threads = 8;
+        int perThread = 2000;
+        ConcurrentDisjointSets<Integer> ds = new ConcurrentDisjointSets<Integer>(threads * perThread);
+        // I rappresentanti attesi esistono prima che i thread partano
+        for (int e = 0; e < 10; e++) ds.makeSet(e);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // Ogni thread inserisce i propri elementi e li unisce per resto modulo 10
+            List<Future<?>> results = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                int from = t * perThread;
+                results.add(executor.submit(() -> {
+                    for (int e = Math.max(from, 10); e < from + perThread; e++) ds.makeSet(e);
+                    for (int e = from; e < from + perThread; e++) {
+                        if (e % 10 != e) ds.union(e, e % 10);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) result.get();
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(10, ds.getCurrentRepresentatives().size());
+        for (int e = 0; e < threads * perThread; e++) assertTrue(ds.isSameSet(e, e % 10));
+        assertEquals(threads * perThread / 10, ds.getCurrentElementsOfSetContaining(3).size());
+    }
+}
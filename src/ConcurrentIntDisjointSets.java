@@ -0,0 +1,167 @@
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Foresta di insiemi disgiunti sugli interi da 0 a size() - 1 che può essere
+ * usata da più thread contemporaneamente senza sincronizzazione esterna e
+ * senza lock. È la controparte concorrente di {@code IntForestDisjointSets}.
+ *
+ * I padri degli elementi sono in un {@code AtomicIntegerArray}. L'unione
+ * collega la radice con indice maggiore sotto quella con indice minore con una
+ * sola operazione compare-and-set, che fallisce (e viene ritentata) se nel
+ * frattempo un altro thread ha modificato la stessa radice. Poiché un elemento
+ * punta sempre a un elemento di indice non maggiore, la foresta non può
+ * contenere cicli e il rappresentante di ogni insieme è il suo elemento di
+ * indice minimo, indipendentemente dall'ordine delle unioni.
+ *
+ * La ricerca usa il dimezzamento del cammino: ogni elemento visitato viene
+ * fatto puntare al nonno con un compare-and-set. Se il compare-and-set
+ * fallisce vuol dire che un altro thread ha già accorciato il cammino, quindi
+ * il fallimento viene ignorato.
+ *
+ * Il numero di elementi è fissato alla costruzione.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+public class ConcurrentIntDisjointSets {
+
+    /*
+     * Padre di ogni elemento nella foresta (uguale all'elemento stesso per le
+     * radici). La variabile è protected unicamente per permettere i test
+     * JUnit.
+     */
+    protected final AtomicIntegerArray parent;
+
+    /**
+     * Costruisce una foresta con n insiemi singoletto, uno per ogni intero da
+     * 0 a n - 1.
+     *
+     * @param n
+     *              il numero di elementi
+     * @throws IllegalArgumentException
+     *                                      se n è negativo
+     */
+    public ConcurrentIntDisjointSets(int n) {
+        if (n < 0) throw new IllegalArgumentException("Il numero di elementi non può essere negativo");
+        this.parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) parent.set(i, i);
+    }
+
+    /**
+     * Restituisce il numero di elementi.
+     *
+     * @return il numero di elementi
+     */
+    public int size() {
+        return parent.length();
+    }
+
+    /**
+     * Restituisce il rappresentante dell'insieme in cui si trova l'elemento
+     * passato, dimezzando il cammino percorso. Se altri thread stanno unendo
+     * insiemi il risultato è il rappresentante in un istante durante la
+     * chiamata.
+     *
+     * @param e
+     *              l'elemento di cui cercare l'insieme
+     * @return il rappresentante dell'insieme di e
+     * @throws IndexOutOfBoundsException
+     *                                       se e non è compreso tra 0 e
+     *                                       size() - 1
+     */
+    public int findSet(int e) {
+        checkElement(e);
+        int p = parent.get(e);
+        while (p != e) {
+            int grandparent = parent.get(p);
+            // Dimezzamento del cammino: un fallimento non va ritentato
+            if (p != grandparent) parent.compareAndSet(e, p, grandparent);
+            e = grandparent;
+            p = parent.get(e);
+        }
+        return e;
+    }
+
+    /**
+     * Unisce gli insiemi dei due elementi passati. Il rappresentante
+     * dell'unione è il minore tra i due rappresentanti.
+     *
+     * @param e1
+     *               un elemento del primo insieme
+     * @param e2
+     *               un elemento del secondo insieme
+     * @return true se questa chiamata ha unito due insiemi distinti, false se
+     *         gli elementi erano già nello stesso insieme
+     * @throws IndexOutOfBoundsException
+     *                                       se almeno uno dei due elementi non
+     *                                       è compreso tra 0 e size() - 1
+     */
+    public boolean union(int e1, int e2) {
+        int r1 = findSet(e1);
+        int r2 = findSet(e2);
+        while (r1 != r2) {
+            // Collego sempre la radice maggiore sotto la minore
+            int high = Math.max(r1, r2);
+            int low = Math.min(r1, r2);
+            if (parent.compareAndSet(high, high, low)) return true;
+            // Un altro thread ha appeso high altrove: riparto dalle radici attuali
+            r1 = findSet(high);
+            r2 = findSet(low);
+        }
+        return false;
+    }
+
+    /**
+     * Determina se due elementi sono nello stesso insieme. Il risultato è
+     * corretto anche se altri thread stanno unendo insiemi: se la risposta è
+     * false, in un istante durante la chiamata i due elementi erano in insiemi
+     * distinti.
+     *
+     * @param e1
+     *               il primo elemento
+     * @param e2
+     *               il secondo elemento
+     * @return true se i due elementi sono nello stesso insieme
+     * @throws IndexOutOfBoundsException
+     *                                       se almeno uno dei due elementi non
+     *                                       è compreso tra 0 e size() - 1
+     */
+    public boolean isSameSet(int e1, int e2) {
+        while (true) {
+            int r1 = findSet(e1);
+            int r2 = findSet(e2);
+            if (r1 == r2) return true;
+            // Se r1 è ancora una radice i due insiemi erano distinti quando r2
+            // è stato trovato
+            if (parent.get(r1) == r1) return false;
+        }
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti, contando le radici in tempo
+     * O(size()). Il risultato è esatto solo se nessun thread sta unendo
+     * insiemi durante la chiamata.
+     *
+     * @return il numero di insiemi disgiunti
+     */
+    public int getNumberOfSets() {
+        int count = 0;
+        for (int i = 0; i < parent.length(); i++) if (parent.get(i) == i) count++;
+        return count;
+    }
+
+    /**
+     * Riporta tutti gli elementi a insiemi singoletto. Non deve essere
+     * chiamato mentre altri thread usano la foresta.
+     */
+    public void clear() {
+        for (int i = 0; i < parent.length(); i++) parent.set(i, i);
+    }
+
+    private void checkElement(int e) {
+        if (e < 0 || e >= parent.length())
+            throw new IndexOutOfBoundsException("Elemento non presente nella Foresta: " + e);
+    }
+}
@@ -0,0 +1,96 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe ConcurrentIntDisjointSets.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class ConcurrentIntDisjointSetsTest {
+
+    @Test
+    final void testSingletonsAndExceptions() {
+        ConcurrentIntDisjointSets ds = new ConcurrentIntDisjointSets(4);
+        assertEquals(4, ds.size());
+        assertEquals(4, ds.getNumberOfSets());
+        for (int i = 0; i < 4; i++) assertEquals(i, ds.findSet(i));
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.findSet(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.union(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentIntDisjointSets(-1));
+        assertEquals(0, new ConcurrentIntDisjointSets(0).getNumberOfSets());
+    }
+
+    @Test
+    final void testIndexOrderedLinkingAndPathHalving() {
+        ConcurrentIntDisjointSets ds = new ConcurrentIntDisjointSets(5);
+        // Il rappresentante è sempre l'indice minimo, qualunque sia l'ordine
+        assertTrue(ds.union(3, 4));
+        assertEquals(3, ds.findSet(4));
+        assertTrue(ds.union(4, 2));
+        assertTrue(ds.union(2, 1));
+        assertTrue(ds.union(0, 1));
+        assertFalse(ds.union(4, 0));
+        for (int i = 0; i < 5; i++) assertEquals(0, ds.findSet(i));
+        assertEquals(1, ds.getNumberOfSets());
+        // Catena 4 -> 3 -> 2 -> 1 -> 0: una ricerca da 4 fa puntare 4 al nonno
+        ds.clear();
+        for (int i = 4; i > 0; i--) ds.parent.set(i, i - 1);
+        assertEquals(0, ds.findSet(4));
+        assertEquals(2, ds.parent.get(4));
+        assertEquals(0, ds.parent.get(2));
+        assertTrue(ds.isSameSet(1, 4));
+        ds.clear();
+        assertFalse(ds.isSameSet(1, 4));
+    }
+
+    @Test
+    final void testConcurrentUnionsMatchSequentialResult() throws Exception {
+        int n = 20000;
+        int threads = 8;
+        int unionsPerThread = 4000;
+        ConcurrentIntDisjointSets ds = new ConcurrentIntDisjointSets(n);
+        IntForestDisjointSets expected = new IntForestDisjointSets(n);
+        int[][] pairs = new int[threads * unionsPerThread][2];
+        Random random = new Random(13);
+        for (int[] pair : pairs) {
+            pair[0] = random.nextInt(n);
+            pair[1] = random.nextInt(n);
+            expected.union(pair[0], pair[1]);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+            for (int t = 0; t < threads; t++) {
+                int from = t * unionsPerThread;
+                results.add(executor.submit(() -> {
+                    int linked = 0;
+                    for (int k = from; k < from + unionsPerThread; k++) {
+                        if (ds.union(pairs[k][0], pairs[k][1])) linked++;
+                        ds.findSet(pairs[k][0]);
+                    }
+                    return linked;
+                }));
+            }
+            // Ogni unione riuscita riduce di uno il numero di insiemi
+            int linked = 0;
+            for (Future<Integer> result : results) linked += result.get();
+            assertEquals(n - expected.getNumberOfSets(), linked);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(expected.getNumberOfSets(), ds.getNumberOfSets());
+        for (int i = 0; i < n; i++) {
+            int j = (int) ((i * 7919L) % n);
+            assertEquals(expected.findSet(i) == expected.findSet(j), ds.isSameSet(i, j));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+import java.util.HashMap;
+import java.util.Map;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che tiene aggiornate le componenti connesse di un grafo non orientato
+ * sia quando vengono aggiunti sia quando vengono rimossi nodi e archi.
+ *
+ * A differenza di {@code IncrementalConnectedComponentsTracker<L>}, che dopo
+ * ogni rimozione deve ricostruire gli insiemi disgiunti dall'intero grafo,
+ * questo tracciatore segue il grafo con una {@code DynamicConnectivity}: le
+ * domande richiedono tempo O(log n) e ogni modifica del grafo tempo
+ * O(log^2 n) ammortizzato. I cappi non influiscono sulla connessione e
+ * vengono ignorati.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class DynamicConnectedComponentsTracker<L> implements GraphListener<L> {
+
+    /*
+     * Grafo seguito, null dopo detach.
+     */
+    private Graph<L> graph;
+
+    /*
+     * Vertice di ogni nodo del grafo nella DynamicConnectivity.
+     */
+    private final Map<GraphNode<L>, Integer> vertexOf;
+
+    private final DynamicConnectivity connectivity;
+
+    /**
+     * Costruisce un tracciatore delle componenti connesse di un grafo non
+     * orientato e lo registra come ascoltatore del grafo.
+     *
+     * @param g
+     *              un grafo non orientato
+     * @throws NullPointerException
+     *                                      se il grafo g è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo g è orientato
+     */
+    public DynamicConnectedComponentsTracker(Graph<L> g) {
+        if (g == null) throw new NullPointerException("Il grafo passato è null");
+        if (g.isDirected()) throw new IllegalArgumentException("Il grafo passato è orientato");
+        this.graph = g;
+        this.vertexOf = new HashMap<GraphNode<L>, Integer>();
+        this.connectivity = new DynamicConnectivity();
+        for (GraphNode<L> node : g.getNodes()) nodeAdded(g, node);
+        for (GraphEdge<L> edge : g.getEdges()) edgeAdded(g, edge);
+        g.addGraphListener(this);
+    }
+
+    @Override
+    public void nodeAdded(Graph<L> g, GraphNode<L> node) {
+        vertexOf.put(node, connectivity.addVertex());
+    }
+
+    @Override
+    public void nodeRemoved(Graph<L> g, GraphNode<L> node) {
+        // Gli archi del nodo vengono rimossi insieme al vertice
+        connectivity.removeVertex(vertexOf.remove(node));
+    }
+
+    @Override
+    public void edgeAdded(Graph<L> g, GraphEdge<L> edge) {
+        int u = vertexOf.get(edge.getNode1());
+        int v = vertexOf.get(edge.getNode2());
+        if (u != v) connectivity.addEdge(u, v);
+    }
+
+    @Override
+    public void edgeRemoved(Graph<L> g, GraphEdge<L> edge) {
+        int u = vertexOf.get(edge.getNode1());
+        int v = vertexOf.get(edge.getNode2());
+        if (u != v) connectivity.removeEdge(u, v);
+    }
+
+    @Override
+    public void cleared(Graph<L> g) {
+        vertexOf.clear();
+        connectivity.clear();
+    }
+
+    /**
+     * Restituisce il numero di componenti connesse del grafo.
+     *
+     * @return il numero di componenti connesse
+     * @throws IllegalStateException
+     *                                   se il tracciatore è stato staccato dal
+     *                                   grafo
+     */
+    public int getNumberOfComponents() {
+        checkAttached();
+        return connectivity.getNumberOfComponents();
+    }
+
+    /**
+     * Determina se due nodi del grafo sono nella stessa componente connessa.
+     *
+     * @param node1
+     *                  il primo nodo
+     * @param node2
+     *                  il secondo nodo
+     * @return true se i due nodi sono collegati da un cammino
+     * @throws NullPointerException
+     *                                      se uno dei due nodi è null
+     * @throws IllegalArgumentException
+     *                                      se uno dei due nodi non è nel grafo
+     * @throws IllegalStateException
+     *                                      se il tracciatore è stato staccato
+     *                                      dal grafo
+     */
+    public boolean areConnected(GraphNode<L> node1, GraphNode<L> node2) {
+        return connectivity.connected(vertexOf(node1), vertexOf(node2));
+    }
+
+    /**
+     * Restituisce il numero di nodi della componente connessa di un nodo.
+     *
+     * @param node
+     *                 il nodo
+     * @return il numero di nodi della sua componente
+     * @throws NullPointerException
+     *                                      se il nodo è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo non è nel grafo
+     * @throws IllegalStateException
+     *                                      se il tracciatore è stato staccato
+     *                                      dal grafo
+     */
+    public int getComponentSize(GraphNode<L> node) {
+        return connectivity.getComponentSize(vertexOf(node));
+    }
+
+    /**
+     * Toglie il tracciatore dagli ascoltatori del grafo. Dopo la chiamata le
+     * domande sulle componenti lanciano IllegalStateException.
+     */
+    public void detach() {
+        if (graph == null) return;
+        graph.removeGraphListener(this);
+        graph = null;
+        cleared(null);
+    }
+
+    private int vertexOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il nodo passato è null");
+        checkAttached();
+        Integer v = vertexOf.get(node);
+        if (v == null) throw new IllegalArgumentException("Il nodo passato non è nel grafo");
+        return v;
+    }
+
+    private void checkAttached() {
+        if (graph == null) throw new IllegalStateException("Il tracciatore è stato staccato dal grafo");
+    }
+}
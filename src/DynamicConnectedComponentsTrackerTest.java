@@ -0,0 +1,89 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe DynamicConnectedComponentsTracker.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class DynamicConnectedComponentsTrackerTest {
+
+    @Test
+    final void testMutations() {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        g.addNode(a);
+        g.addNode(b);
+        GraphEdge<String> ab = new GraphEdge<String>(a, b, false, 1);
+        g.addEdge(ab);
+        DynamicConnectedComponentsTracker<String> tracker = new DynamicConnectedComponentsTracker<String>(g);
+        assertEquals(1, tracker.getNumberOfComponents());
+        g.addNode(c);
+        g.addEdge(new GraphEdge<String>(c, c, false, 2));
+        assertEquals(2, tracker.getNumberOfComponents());
+        g.addEdge(new GraphEdge<String>(b, c, false, 3));
+        g.addEdge(new GraphEdge<String>(a, c, false, 4));
+        assertEquals(3, tracker.getComponentSize(a));
+        g.removeEdge(ab);
+        assertTrue(tracker.areConnected(a, b));
+        g.removeNode(c);
+        assertFalse(tracker.areConnected(a, b));
+        assertEquals(2, tracker.getNumberOfComponents());
+        assertThrows(IllegalArgumentException.class, () -> tracker.areConnected(a, c));
+        g.clear();
+        assertEquals(0, tracker.getNumberOfComponents());
+        tracker.detach();
+        assertThrows(IllegalStateException.class, () -> tracker.getNumberOfComponents());
+        assertThrows(NullPointerException.class, () -> new DynamicConnectedComponentsTracker<String>(null));
+    }
+
+    @Test
+    final void testAgreesWithComputer() {
+        Random random = new Random(3);
+        AdjacencyMatrixUndirectedGraph<Integer> g = new AdjacencyMatrixUndirectedGraph<Integer>();
+        DynamicConnectedComponentsTracker<Integer> tracker = new DynamicConnectedComponentsTracker<Integer>(g);
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        List<GraphEdge<Integer>> edges = new ArrayList<GraphEdge<Integer>>();
+        for (int step = 0; step < 2000; step++) {
+            int op = random.nextInt(20);
+            if (op < 2 || nodes.size() < 2) {
+                GraphNode<Integer> node = new GraphNode<Integer>(step);
+                g.addNode(node);
+                nodes.add(node);
+            } else if (op < 11) {
+                GraphEdge<Integer> edge = new GraphEdge<Integer>(nodes.get(random.nextInt(nodes.size())),
+                        nodes.get(random.nextInt(nodes.size())), false, 1);
+                if (g.addEdge(edge)) edges.add(edge);
+            } else if (op < 19 && !edges.isEmpty()) {
+                g.removeEdge(edges.remove(random.nextInt(edges.size())));
+            } else {
+                GraphNode<Integer> node = nodes.remove(random.nextInt(nodes.size()));
+                g.removeNode(node);
+                edges.removeIf(e -> e.getNode1().equals(node) || e.getNode2().equals(node));
+            }
+            if (step % 20 == 0) {
+                int expected = new UndirectedGraphConnectedComponentsComputer<Integer>().computeConnectedComponents(g)
+                        .size();
+                assertEquals(expected, tracker.getNumberOfComponents());
+                if (nodes.size() >= 2) {
+                    GraphNode<Integer> u = nodes.get(random.nextInt(nodes.size()));
+                    GraphNode<Integer> v = nodes.get(random.nextInt(nodes.size()));
+                    boolean together = false;
+                    for (Set<GraphNode<Integer>> component : new UndirectedGraphConnectedComponentsComputer<Integer>()
+                            .computeConnectedComponents(g))
+                        if (component.contains(u)) together = component.contains(v);
+                    assertEquals(together, tracker.areConnected(u, v));
+                }
+            }
+        }
+    }
+}
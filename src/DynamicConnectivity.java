@@ -0,0 +1,760 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Grafo non orientato dinamico sui vertici interi che risponde alle domande di
+ * connessione mentre vengono inseriti e rimossi archi, con l'algoritmo di
+ * Holm, de Lichtenberg e Thorup ("Poly-logarithmic deterministic
+ * fully-dynamic algorithms for connectivity, minimum spanning tree, 2-edge,
+ * and biconnectivity", 2001): domande in tempo O(log n), inserimenti e
+ * rimozioni in tempo O(log^2 n) ammortizzato.
+ *
+ * Ogni arco ha un livello, inizialmente 0, che può solo crescere. Per ogni
+ * livello i si mantiene una foresta F_i con gli archi dell'albero di livello
+ * almeno i, così F_0 è una foresta di copertura del grafo; gli altri archi si
+ * dicono di riserva. Quando viene rimosso un arco dell'albero di livello l si
+ * cerca un arco di riserva che ricolleghi i due alberi, partendo dal livello
+ * l e scendendo: a ogni livello gli archi dell'albero più piccolo dei due, e
+ * gli archi di riserva esaminati senza successo, salgono di un livello. Dato
+ * che un albero di F_i ha al più n / 2^i vertici, ogni arco sale al più log n
+ * volte.
+ *
+ * Ogni foresta F_i è rappresentata con gli Euler tour trees: il giro di Eulero
+ * di ogni albero, con un nodo per ogni vertice e uno per ogni verso di ogni
+ * arco, è una sequenza memorizzata in un treap con chiavi implicite. Ogni nodo
+ * del treap conosce il numero di vertici del proprio sottoalbero e se questo
+ * contiene archi dell'albero di livello i o vertici con archi di riserva di
+ * livello i, in modo da trovarli scendendo dalla radice. Gli archi di riserva
+ * di ogni vertice a ogni livello sono in liste doppiamente concatenate.
+ *
+ * Come in {@code LinkCutTree} tutti i dati sono in array di tipi primitivi,
+ * raddoppiati quando sono pieni. Gli indici dei vertici rimossi vengono
+ * riusati dai vertici aggiunti in seguito.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+public class DynamicConnectivity {
+
+    /*
+     * Bit di flags e aggregate: nodo di un vertice, vertice con archi di
+     * riserva al livello del treap, verso di un arco dell'albero il cui
+     * livello è quello del treap (solo il primo dei due versi).
+     */
+    private static final byte VERTEX = 1;
+
+    private static final byte NON_TREE = 2;
+
+    private static final byte TREE_EDGE = 4;
+
+    /*
+     * Nodi dei treap di tutti i livelli: figli e padre (-1 se assenti),
+     * priorità, numero di nodi e di nodi di vertici nel sottoalbero, vertice o
+     * arco rappresentato, bit del nodo e OR dei bit del sottoalbero.
+     */
+    private int[] left;
+
+    private int[] right;
+
+    private int[] parent;
+
+    private int[] priority;
+
+    private int[] count;
+
+    private int[] vertexCount;
+
+    private int[] item;
+
+    private byte[] flags;
+
+    private byte[] aggregate;
+
+    // Nodi usati e primo nodo libero (i nodi liberi sono collegati da right)
+    private int nodes;
+
+    private int freeNode;
+
+    /*
+     * Per ogni livello: nodo di ogni vertice e primo estremo della lista degli
+     * archi di riserva di ogni vertice (-1 se vuota).
+     */
+    private int[][] vertexNode;
+
+    private int[][] nonTreeHead;
+
+    // Numero di livelli creati
+    private int levels;
+
+    /*
+     * Vertici: primo estremo della lista degli archi incidenti, vertici
+     * presenti e indici liberi.
+     */
+    private int[] incidentHead;
+
+    private boolean[] alive;
+
+    private int vertexLimit;
+
+    private int[] freeVertices;
+
+    private int freeVertexCount;
+
+    /*
+     * Archi. L'arco e ha gli estremi 2e e 2e + 1: ends[2e + k] è il vertice
+     * dell'estremo, nonTreeNext/Prev e incidentNext/Prev collegano l'estremo
+     * nelle liste del suo vertice e arc[i][2e + k] è il nodo del treap di
+     * livello i del verso che parte dall'estremo (-1 se l'arco non è in F_i).
+     */
+    private int[] ends;
+
+    private int[] level;
+
+    private boolean[] tree;
+
+    private int[] nonTreeNext;
+
+    private int[] nonTreePrev;
+
+    private int[] incidentNext;
+
+    private int[] incidentPrev;
+
+    private int[][] arc;
+
+    private int edgeLimit;
+
+    private int[] freeEdges;
+
+    private int freeEdgeCount;
+
+    // Indice di ogni arco, con chiave data dai due estremi
+    private final Map<Long, Integer> edgeIndex;
+
+    private int vertexTotal;
+
+    private int componentCount;
+
+    private final Random random;
+
+    /**
+     * Costruisce un grafo dinamico senza vertici.
+     */
+    public DynamicConnectivity() {
+        this.edgeIndex = new HashMap<Long, Integer>();
+        this.random = new Random();
+        init();
+    }
+
+    /**
+     * Restituisce il numero di vertici.
+     *
+     * @return il numero di vertici
+     */
+    public int size() {
+        return vertexTotal;
+    }
+
+    /**
+     * Restituisce il numero di archi.
+     *
+     * @return il numero di archi
+     */
+    public int edgeCount() {
+        return edgeIndex.size();
+    }
+
+    /**
+     * Restituisce il numero di componenti connesse.
+     *
+     * @return il numero di componenti connesse
+     */
+    public int getNumberOfComponents() {
+        return componentCount;
+    }
+
+    /**
+     * Aggiunge un vertice isolato. Il suo indice è quello di un vertice rimosso
+     * in precedenza, se ce n'è uno, altrimenti il primo intero non ancora
+     * usato.
+     *
+     * @return l'indice del nuovo vertice
+     */
+    public int addVertex() {
+        int v;
+        if (freeVertexCount > 0) {
+            v = freeVertices[--freeVertexCount];
+        } else {
+            if (vertexLimit == alive.length) growVertices();
+            v = vertexLimit++;
+            for (int i = 0; i < levels; i++) vertexNode[i][v] = newNode(v, VERTEX);
+        }
+        alive[v] = true;
+        vertexTotal++;
+        componentCount++;
+        return v;
+    }
+
+    /**
+     * Rimuove un vertice insieme a tutti i suoi archi.
+     *
+     * @param v
+     *              il vertice
+     * @throws IndexOutOfBoundsException
+     *                                       se il vertice non è presente
+     */
+    public void removeVertex(int v) {
+        checkVertex(v);
+        while (incidentHead[v] >= 0) {
+            int e = incidentHead[v] >> 1;
+            deleteEdge(e);
+        }
+        alive[v] = false;
+        if (freeVertexCount == freeVertices.length)
+            freeVertices = Arrays.copyOf(freeVertices, 2 * freeVertices.length);
+        freeVertices[freeVertexCount++] = v;
+        vertexTotal--;
+        componentCount--;
+    }
+
+    /**
+     * Determina se due vertici sono collegati da un cammino.
+     *
+     * @param u
+     *              il primo vertice
+     * @param v
+     *              il secondo vertice
+     * @return true se i due vertici sono nella stessa componente connessa
+     * @throws IndexOutOfBoundsException
+     *                                       se uno dei due vertici non è
+     *                                       presente
+     */
+    public boolean connected(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        return u == v || root(vertexNode[0][u]) == root(vertexNode[0][v]);
+    }
+
+    /**
+     * Restituisce il numero di vertici della componente connessa di un
+     * vertice.
+     *
+     * @param v
+     *              il vertice
+     * @return il numero di vertici della sua componente
+     * @throws IndexOutOfBoundsException
+     *                                       se il vertice non è presente
+     */
+    public int getComponentSize(int v) {
+        checkVertex(v);
+        return vertexCount[root(vertexNode[0][v])];
+    }
+
+    /**
+     * Determina se c'è un arco tra due vertici.
+     *
+     * @param u
+     *              il primo vertice
+     * @param v
+     *              il secondo vertice
+     * @return true se l'arco è presente
+     * @throws IndexOutOfBoundsException
+     *                                       se uno dei due vertici non è
+     *                                       presente
+     */
+    public boolean containsEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        return edgeIndex.containsKey(key(u, v));
+    }
+
+    /**
+     * Aggiunge un arco tra due vertici distinti.
+     *
+     * @param u
+     *              il primo vertice
+     * @param v
+     *              il secondo vertice
+     * @return true se l'arco è stato aggiunto, false se era già presente
+     * @throws IndexOutOfBoundsException
+     *                                       se uno dei due vertici non è
+     *                                       presente
+     * @throws IllegalArgumentException
+     *                                       se u e v sono uguali
+     */
+    public boolean addEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        if (u == v) throw new IllegalArgumentException("Un cappio non è aggiungibile");
+        Long k = key(u, v);
+        if (edgeIndex.containsKey(k)) return false;
+        int e;
+        if (freeEdgeCount > 0) {
+            e = freeEdges[--freeEdgeCount];
+        } else {
+            if (edgeLimit == level.length) growEdges();
+            e = edgeLimit++;
+        }
+        edgeIndex.put(k, e);
+        ends[2 * e] = u;
+        ends[2 * e + 1] = v;
+        level[e] = 0;
+        for (int end = 2 * e; end <= 2 * e + 1; end++) {
+            int w = ends[end];
+            incidentPrev[end] = -1;
+            incidentNext[end] = incidentHead[w];
+            if (incidentHead[w] >= 0) incidentPrev[incidentHead[w]] = end;
+            incidentHead[w] = end;
+        }
+        if (root(vertexNode[0][u]) == root(vertexNode[0][v])) {
+            tree[e] = false;
+            addNonTree(e, 0);
+        } else {
+            tree[e] = true;
+            link(0, e);
+            componentCount--;
+        }
+        return true;
+    }
+
+    /**
+     * Rimuove l'arco tra due vertici.
+     *
+     * @param u
+     *              il primo vertice
+     * @param v
+     *              il secondo vertice
+     * @return true se l'arco è stato rimosso, false se non era presente
+     * @throws IndexOutOfBoundsException
+     *                                       se uno dei due vertici non è
+     *                                       presente
+     */
+    public boolean removeEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        Integer e = edgeIndex.get(key(u, v));
+        if (e == null) return false;
+        deleteEdge(e);
+        return true;
+    }
+
+    /**
+     * Rimuove tutti i vertici e tutti gli archi.
+     */
+    public void clear() {
+        edgeIndex.clear();
+        init();
+    }
+
+    /*
+     * Rimuove l'arco e e, se era un arco dell'albero, cerca un arco di riserva
+     * che lo sostituisca.
+     */
+    private void deleteEdge(int e) {
+        edgeIndex.remove(key(ends[2 * e], ends[2 * e + 1]));
+        for (int end = 2 * e; end <= 2 * e + 1; end++) {
+            if (incidentPrev[end] >= 0) incidentNext[incidentPrev[end]] = incidentNext[end];
+            else incidentHead[ends[end]] = incidentNext[end];
+            if (incidentNext[end] >= 0) incidentPrev[incidentNext[end]] = incidentPrev[end];
+        }
+        if (tree[e]) {
+            for (int i = level[e]; i >= 0; i--) cut(i, e);
+            tree[e] = false;
+            if (!replace(ends[2 * e], ends[2 * e + 1], level[e])) componentCount++;
+        } else {
+            removeNonTree(e);
+        }
+        if (freeEdgeCount == freeEdges.length) freeEdges = Arrays.copyOf(freeEdges, 2 * freeEdges.length);
+        freeEdges[freeEdgeCount++] = e;
+    }
+
+    /*
+     * Cerca, dal livello l in giù, un arco di riserva che ricolleghi gli alberi
+     * di u e v, appena separati. Restituisce true se lo trova.
+     */
+    private boolean replace(int u, int v, int l) {
+        for (int i = l; i >= 0; i--) {
+            int ru = root(vertexNode[i][u]);
+            int rv = root(vertexNode[i][v]);
+            int small = vertexCount[ru] <= vertexCount[rv] ? ru : rv;
+            // Gli archi dell'albero di livello i dell'albero più piccolo
+            // salgono al livello i + 1: i loro alberi in F_i + 1 restano di
+            // dimensione al più metà di quella consentita al livello i
+            int x;
+            while ((x = find(small, TREE_EDGE)) >= 0) {
+                int f = item[x];
+                ensureLevel(i + 1);
+                setFlag(x, TREE_EDGE, false);
+                level[f] = i + 1;
+                link(i + 1, f);
+            }
+            // Gli archi di riserva di livello i che partono dall'albero più
+            // piccolo: il primo che arriva nell'altro albero lo ricollega,
+            // quelli che restano dentro salgono al livello i + 1
+            while ((x = find(small, NON_TREE)) >= 0) {
+                int end = nonTreeHead[i][item[x]];
+                int f = end >> 1;
+                removeNonTree(f);
+                if (root(vertexNode[i][ends[end ^ 1]]) != small) {
+                    tree[f] = true;
+                    for (int j = i; j >= 0; j--) link(j, f);
+                    return true;
+                }
+                ensureLevel(i + 1);
+                level[f] = i + 1;
+                addNonTree(f, i + 1);
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Inserisce l'arco e in F_i unendo i giri di Eulero dei suoi estremi:
+     * giro di u a partire da u, verso u-v, giro di v a partire da v, verso
+     * v-u.
+     */
+    private void link(int i, int e) {
+        int a = reroot(vertexNode[i][ends[2 * e]]);
+        int b = reroot(vertexNode[i][ends[2 * e + 1]]);
+        int forward = newNode(e, level[e] == i ? TREE_EDGE : 0);
+        int backward = newNode(e, (byte) 0);
+        arc[i][2 * e] = forward;
+        arc[i][2 * e + 1] = backward;
+        merge(merge(merge(a, forward), b), backward);
+    }
+
+    /*
+     * Toglie l'arco e da F_i: il giro X a Y b Z, dove a e b sono i due versi
+     * dell'arco, si divide nei giri Y e Z X.
+     */
+    private void cut(int i, int e) {
+        int a = arc[i][2 * e];
+        int b = arc[i][2 * e + 1];
+        if (position(a) > position(b)) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+        int x = splitBefore(a);
+        splitAfter(a);
+        int z = splitAfter(b);
+        splitBefore(b);
+        merge(z, x);
+        freeNode(a);
+        freeNode(b);
+        arc[i][2 * e] = -1;
+        arc[i][2 * e + 1] = -1;
+    }
+
+    // Ruota il giro che contiene x perché inizi da x; restituisce la radice
+    private int reroot(int x) {
+        int before = splitBefore(x);
+        return merge(root(x), before);
+    }
+
+    /*
+     * Inserisce l'arco e nelle liste degli archi di riserva di livello i dei
+     * suoi estremi.
+     */
+    private void addNonTree(int e, int i) {
+        for (int end = 2 * e; end <= 2 * e + 1; end++) {
+            int w = ends[end];
+            int head = nonTreeHead[i][w];
+            nonTreePrev[end] = -1;
+            nonTreeNext[end] = head;
+            if (head >= 0) nonTreePrev[head] = end;
+            else setFlag(vertexNode[i][w], NON_TREE, true);
+            nonTreeHead[i][w] = end;
+        }
+    }
+
+    // Toglie l'arco di riserva e dalle liste del suo livello
+    private void removeNonTree(int e) {
+        int i = level[e];
+        for (int end = 2 * e; end <= 2 * e + 1; end++) {
+            int w = ends[end];
+            if (nonTreePrev[end] >= 0) nonTreeNext[nonTreePrev[end]] = nonTreeNext[end];
+            else nonTreeHead[i][w] = nonTreeNext[end];
+            if (nonTreeNext[end] >= 0) nonTreePrev[nonTreeNext[end]] = nonTreePrev[end];
+            if (nonTreeHead[i][w] < 0) setFlag(vertexNode[i][w], NON_TREE, false);
+        }
+    }
+
+    // Crea i livelli fino a i compreso
+    private void ensureLevel(int i) {
+        while (levels <= i) {
+            if (levels == vertexNode.length) {
+                vertexNode = Arrays.copyOf(vertexNode, 2 * levels);
+                nonTreeHead = Arrays.copyOf(nonTreeHead, 2 * levels);
+                arc = Arrays.copyOf(arc, 2 * levels);
+            }
+            int[] vertices = new int[alive.length];
+            for (int v = 0; v < vertexLimit; v++) vertices[v] = newNode(v, VERTEX);
+            int[] heads = new int[alive.length];
+            Arrays.fill(heads, -1);
+            int[] arcs = new int[2 * level.length];
+            Arrays.fill(arcs, -1);
+            vertexNode[levels] = vertices;
+            nonTreeHead[levels] = heads;
+            arc[levels] = arcs;
+            levels++;
+        }
+    }
+
+    // Treap con chiavi implicite
+
+    private int newNode(int value, byte bits) {
+        int x;
+        if (freeNode >= 0) {
+            x = freeNode;
+            freeNode = right[x];
+        } else {
+            if (nodes == left.length) {
+                int c = 2 * nodes;
+                left = Arrays.copyOf(left, c);
+                right = Arrays.copyOf(right, c);
+                parent = Arrays.copyOf(parent, c);
+                priority = Arrays.copyOf(priority, c);
+                count = Arrays.copyOf(count, c);
+                vertexCount = Arrays.copyOf(vertexCount, c);
+                item = Arrays.copyOf(item, c);
+                flags = Arrays.copyOf(flags, c);
+                aggregate = Arrays.copyOf(aggregate, c);
+            }
+            x = nodes++;
+        }
+        left[x] = -1;
+        right[x] = -1;
+        parent[x] = -1;
+        priority[x] = random.nextInt();
+        item[x] = value;
+        flags[x] = bits;
+        update(x);
+        return x;
+    }
+
+    private void freeNode(int x) {
+        right[x] = freeNode;
+        freeNode = x;
+    }
+
+    // Ricalcola i dati del sottoalbero di x dai figli
+    private void update(int x) {
+        int l = left[x];
+        int r = right[x];
+        int c = 1;
+        int vc = flags[x] & VERTEX;
+        int a = flags[x] & (NON_TREE | TREE_EDGE);
+        if (l >= 0) {
+            c += count[l];
+            vc += vertexCount[l];
+            a |= aggregate[l];
+        }
+        if (r >= 0) {
+            c += count[r];
+            vc += vertexCount[r];
+            a |= aggregate[r];
+        }
+        count[x] = c;
+        vertexCount[x] = vc;
+        aggregate[x] = (byte) a;
+    }
+
+    private void setFlag(int x, byte bit, boolean on) {
+        flags[x] = (byte) (on ? flags[x] | bit : flags[x] & ~bit);
+        for (int y = x; y >= 0; y = parent[y]) update(y);
+    }
+
+    private int root(int x) {
+        while (parent[x] >= 0) x = parent[x];
+        return x;
+    }
+
+    // Numero di nodi che precedono x nella sua sequenza
+    private int position(int x) {
+        int p = left[x] >= 0 ? count[left[x]] : 0;
+        for (int y = x; parent[y] >= 0; y = parent[y]) {
+            int q = parent[y];
+            if (right[q] == y) p += 1 + (left[q] >= 0 ? count[left[q]] : 0);
+        }
+        return p;
+    }
+
+    // Primo nodo con un certo bit nel treap di radice r, -1 se non c'è
+    private int find(int r, byte bit) {
+        if ((aggregate[r] & bit) == 0) return -1;
+        int x = r;
+        while (true) {
+            int l = left[x];
+            if (l >= 0 && (aggregate[l] & bit) != 0) x = l;
+            else if ((flags[x] & bit) != 0) return x;
+            else x = right[x];
+        }
+    }
+
+    // Concatena le sequenze di radici a e b; restituisce la nuova radice
+    private int merge(int a, int b) {
+        if (a < 0) return b;
+        if (b < 0) return a;
+        if (priority[a] > priority[b]) {
+            int r = merge(right[a], b);
+            right[a] = r;
+            parent[r] = a;
+            update(a);
+            return a;
+        }
+        int l = merge(a, left[b]);
+        left[b] = l;
+        parent[l] = b;
+        update(b);
+        return b;
+    }
+
+    /*
+     * Divide la sequenza di x subito prima di x, risalendo da x alla radice;
+     * restituisce la radice della parte che precede x (-1 se è vuota).
+     */
+    private int splitBefore(int x) {
+        int l = left[x];
+        int r = x;
+        if (l >= 0) {
+            parent[l] = -1;
+            left[x] = -1;
+            update(x);
+        }
+        int child = x;
+        int p = parent[x];
+        parent[x] = -1;
+        while (p >= 0) {
+            int next = parent[p];
+            parent[p] = -1;
+            if (right[p] == child) {
+                right[p] = l;
+                if (l >= 0) parent[l] = p;
+                l = p;
+            } else {
+                left[p] = r;
+                parent[r] = p;
+                r = p;
+            }
+            update(p);
+            child = p;
+            p = next;
+        }
+        return l;
+    }
+
+    /*
+     * Divide la sequenza di x subito dopo x; restituisce la radice della parte
+     * che segue x (-1 se è vuota).
+     */
+    private int splitAfter(int x) {
+        int r = right[x];
+        int l = x;
+        if (r >= 0) {
+            parent[r] = -1;
+            right[x] = -1;
+            update(x);
+        }
+        int child = x;
+        int p = parent[x];
+        parent[x] = -1;
+        while (p >= 0) {
+            int next = parent[p];
+            parent[p] = -1;
+            if (left[p] == child) {
+                left[p] = r;
+                if (r >= 0) parent[r] = p;
+                r = p;
+            } else {
+                right[p] = l;
+                parent[l] = p;
+                l = p;
+            }
+            update(p);
+            child = p;
+            p = next;
+        }
+        return r;
+    }
+
+    private void growVertices() {
+        int c = 2 * alive.length;
+        alive = Arrays.copyOf(alive, c);
+        incidentHead = Arrays.copyOf(incidentHead, c);
+        Arrays.fill(incidentHead, c / 2, c, -1);
+        for (int i = 0; i < levels; i++) {
+            vertexNode[i] = Arrays.copyOf(vertexNode[i], c);
+            nonTreeHead[i] = Arrays.copyOf(nonTreeHead[i], c);
+            Arrays.fill(nonTreeHead[i], c / 2, c, -1);
+        }
+    }
+
+    private void growEdges() {
+        int c = 2 * level.length;
+        ends = Arrays.copyOf(ends, 2 * c);
+        level = Arrays.copyOf(level, c);
+        tree = Arrays.copyOf(tree, c);
+        nonTreeNext = Arrays.copyOf(nonTreeNext, 2 * c);
+        nonTreePrev = Arrays.copyOf(nonTreePrev, 2 * c);
+        incidentNext = Arrays.copyOf(incidentNext, 2 * c);
+        incidentPrev = Arrays.copyOf(incidentPrev, 2 * c);
+        for (int i = 0; i < levels; i++) {
+            int old = arc[i].length;
+            arc[i] = Arrays.copyOf(arc[i], 2 * c);
+            Arrays.fill(arc[i], old, 2 * c, -1);
+        }
+    }
+
+    // Riporta tutte le strutture allo stato iniziale, con il solo livello 0
+    private void init() {
+        int c = 16;
+        left = new int[c];
+        right = new int[c];
+        parent = new int[c];
+        priority = new int[c];
+        count = new int[c];
+        vertexCount = new int[c];
+        item = new int[c];
+        flags = new byte[c];
+        aggregate = new byte[c];
+        nodes = 0;
+        freeNode = -1;
+        alive = new boolean[c];
+        incidentHead = new int[c];
+        Arrays.fill(incidentHead, -1);
+        vertexLimit = 0;
+        freeVertices = new int[c];
+        freeVertexCount = 0;
+        ends = new int[2 * c];
+        level = new int[c];
+        tree = new boolean[c];
+        nonTreeNext = new int[2 * c];
+        nonTreePrev = new int[2 * c];
+        incidentNext = new int[2 * c];
+        incidentPrev = new int[2 * c];
+        edgeLimit = 0;
+        freeEdges = new int[c];
+        freeEdgeCount = 0;
+        vertexNode = new int[4][];
+        nonTreeHead = new int[4][];
+        arc = new int[4][];
+        levels = 0;
+        ensureLevel(0);
+        vertexTotal = 0;
+        componentCount = 0;
+    }
+
+    private static Long key(int u, int v) {
+        return u < v ? ((long) u << 32) | v : ((long) v << 32) | u;
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= vertexLimit || !alive[v])
+            throw new IndexOutOfBoundsException("Vertice non presente: " + v);
+    }
+}
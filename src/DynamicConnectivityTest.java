@@ -0,0 +1,139 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe DynamicConnectivity.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class DynamicConnectivityTest {
+
+    @Test
+    final void testTreeEdgeReplacement() {
+        DynamicConnectivity dc = new DynamicConnectivity();
+        for (int i = 0; i < 4; i++) assertEquals(i, dc.addVertex());
+        assertEquals(4, dc.getNumberOfComponents());
+        // Ciclo 0-1-2-3-0
+        assertTrue(dc.addEdge(0, 1));
+        assertTrue(dc.addEdge(1, 2));
+        assertTrue(dc.addEdge(2, 3));
+        assertTrue(dc.addEdge(3, 0));
+        assertFalse(dc.addEdge(1, 0));
+        assertEquals(1, dc.getNumberOfComponents());
+        assertEquals(4, dc.edgeCount());
+        // Qualunque arco del ciclo tolto viene sostituito dagli altri
+        assertTrue(dc.removeEdge(1, 2));
+        assertFalse(dc.removeEdge(1, 2));
+        assertEquals(1, dc.getNumberOfComponents());
+        assertTrue(dc.connected(1, 2));
+        assertTrue(dc.removeEdge(0, 3));
+        assertEquals(2, dc.getNumberOfComponents());
+        assertFalse(dc.connected(0, 3));
+        assertTrue(dc.connected(2, 3));
+        assertEquals(2, dc.getComponentSize(0));
+        assertFalse(dc.containsEdge(0, 3));
+        assertTrue(dc.containsEdge(3, 2));
+    }
+
+    @Test
+    final void testRemoveVertex() {
+        DynamicConnectivity dc = new DynamicConnectivity();
+        for (int i = 0; i < 5; i++) dc.addVertex();
+        // Stella di centro 0
+        for (int i = 1; i < 5; i++) dc.addEdge(0, i);
+        dc.addEdge(1, 2);
+        assertEquals(1, dc.getNumberOfComponents());
+        dc.removeVertex(0);
+        assertEquals(4, dc.size());
+        assertEquals(1, dc.edgeCount());
+        assertEquals(3, dc.getNumberOfComponents());
+        assertTrue(dc.connected(1, 2));
+        assertFalse(dc.connected(2, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> dc.connected(0, 1));
+        // L'indice del vertice rimosso viene riusato
+        assertEquals(0, dc.addVertex());
+        assertEquals(1, dc.getComponentSize(0));
+        dc.clear();
+        assertEquals(0, dc.size());
+        assertEquals(0, dc.getNumberOfComponents());
+        assertEquals(0, dc.addVertex());
+    }
+
+    @Test
+    final void testRandomOperations() {
+        Random random = new Random(11);
+        int n = 60;
+        DynamicConnectivity dc = new DynamicConnectivity();
+        for (int i = 0; i < n; i++) dc.addVertex();
+        boolean[][] adjacent = new boolean[n][n];
+        List<int[]> edges = new ArrayList<int[]>();
+        for (int step = 0; step < 20000; step++) {
+            // Si alternano fasi di inserimenti e fasi di rimozioni, così gli
+            // archi salgono di livello
+            boolean insert = (step / 500) % 2 == 0 ? random.nextInt(4) > 0 : random.nextInt(4) == 0;
+            if (insert || edges.isEmpty()) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                if (u == v) continue;
+                assertEquals(!adjacent[u][v], dc.addEdge(u, v));
+                if (!adjacent[u][v]) edges.add(new int[] { u, v });
+                adjacent[u][v] = adjacent[v][u] = true;
+            } else {
+                int[] e = edges.remove(random.nextInt(edges.size()));
+                assertTrue(dc.removeEdge(e[1], e[0]));
+                adjacent[e[0]][e[1]] = adjacent[e[1]][e[0]] = false;
+            }
+            if (step % 50 == 0) {
+                int[] component = components(adjacent);
+                int count = 0;
+                for (int u = 0; u < n; u++) if (component[u] == u) count++;
+                assertEquals(count, dc.getNumberOfComponents());
+                for (int k = 0; k < 20; k++) {
+                    int u = random.nextInt(n);
+                    int v = random.nextInt(n);
+                    assertEquals(component[u] == component[v], dc.connected(u, v));
+                }
+            }
+        }
+    }
+
+    @Test
+    final void testExceptions() {
+        DynamicConnectivity dc = new DynamicConnectivity();
+        dc.addVertex();
+        assertThrows(IndexOutOfBoundsException.class, () -> dc.addEdge(0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> dc.removeVertex(-1));
+        assertThrows(IllegalArgumentException.class, () -> dc.addEdge(0, 0));
+    }
+
+    // Componente di ogni vertice, identificata dal suo vertice più piccolo
+    private static int[] components(boolean[][] adjacent) {
+        int n = adjacent.length;
+        int[] component = new int[n];
+        Arrays.fill(component, -1);
+        int[] stack = new int[n];
+        for (int s = 0; s < n; s++) {
+            if (component[s] >= 0) continue;
+            int top = 0;
+            stack[top++] = s;
+            component[s] = s;
+            while (top > 0) {
+                int u = stack[--top];
+                for (int v = 0; v < n; v++) {
+                    if (adjacent[u][v] && component[v] < 0) {
+                        component[v] = s;
+                        stack[top++] = v;
+                    }
+                }
+            }
+        }
+        return component;
+    }
+}
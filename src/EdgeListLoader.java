@@ -0,0 +1,535 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongFunction;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che carica in un grafo non orientato gli archi letti da un file di
+ * testo in cui ogni riga ha la forma {@code u v [peso]}. Gli identificatori u
+ * e v sono interi non negativi e il peso, facoltativo, è un numero decimale; i
+ * campi sono separati da spazi, tabulazioni, virgole o punti e virgola e gli
+ * eventuali campi successivi vengono ignorati. Le righe vuote e quelle che
+ * iniziano con '#' o '%' sono commenti.
+ *
+ * Il file viene letto a blocchi con un {@code FileChannel} in un
+ * {@code ByteBuffer} diretto e i numeri vengono convertiti direttamente dai
+ * byte, senza costruire stringhe. Gli archi ripetuti nel file, in qualsiasi
+ * verso, vengono scartati con un insieme di long prima di costruire qualsiasi
+ * oggetto. I nodi e gli archi nuovi vengono accumulati e inseriti nel grafo a
+ * gruppi, gli archi con {@code Graph.addEdges}.
+ *
+ * L'etichetta di ogni nodo si ottiene dal suo identificatore con una funzione
+ * passata al costruttore. Se il grafo contiene già un nodo con quell'etichetta
+ * viene usato quel nodo.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi
+ */
+public class EdgeListLoader<L> {
+
+    /**
+     * Numero predefinito di archi inseriti nel grafo in un solo gruppo.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1 << 16;
+
+    // Dimensione del buffer di lettura: nessuna riga può essere più lunga
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    // Potenze di 10 rappresentabili esattamente come double
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    /*
+     * Funzione che costruisce l'etichetta di un nodo dal suo identificatore.
+     */
+    private final LongFunction<? extends L> labelOf;
+
+    /*
+     * Numero di archi inseriti nel grafo in un solo gruppo.
+     */
+    private final int batchSize;
+
+    /**
+     * Crea un caricatore che inserisce gli archi a gruppi di
+     * {@code DEFAULT_BATCH_SIZE}.
+     *
+     * @param labelOf
+     *                    la funzione che costruisce l'etichetta di un nodo dal
+     *                    suo identificatore
+     * @throws NullPointerException
+     *                                  se la funzione passata è null
+     */
+    public EdgeListLoader(LongFunction<? extends L> labelOf) {
+        this(labelOf, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Crea un caricatore che inserisce gli archi a gruppi di una certa
+     * dimensione.
+     *
+     * @param labelOf
+     *                      la funzione che costruisce l'etichetta di un nodo
+     *                      dal suo identificatore
+     * @param batchSize
+     *                      il numero di archi inseriti in un solo gruppo
+     * @throws NullPointerException
+     *                                      se la funzione passata è null
+     * @throws IllegalArgumentException
+     *                                      se la dimensione dei gruppi non è
+     *                                      positiva
+     */
+    public EdgeListLoader(LongFunction<? extends L> labelOf, int batchSize) {
+        if (labelOf == null) throw new NullPointerException("La funzione delle etichette è null");
+        if (batchSize <= 0) throw new IllegalArgumentException("La dimensione dei gruppi deve essere positiva");
+        this.labelOf = labelOf;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Legge un file di archi e li aggiunge a un grafo non orientato. Se il file
+     * non è corretto il grafo può contenere già i nodi e gli archi dei gruppi
+     * inseriti prima dell'errore.
+     *
+     * @param file
+     *                   il file da leggere
+     * @param target
+     *                   il grafo in cui inserire nodi e archi
+     * @return il resoconto del caricamento
+     * @throws IOException
+     *                                      se si verifica un errore di lettura
+     *                                      o una riga non è nel formato atteso
+     * @throws NullPointerException
+     *                                      se uno dei parametri è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo passato è orientato
+     */
+    public Report load(Path file, Graph<L> target) throws IOException {
+        if (file == null || target == null) throw new NullPointerException("Parametro null");
+        if (target.isDirected()) throw new IllegalArgumentException("Il grafo passato è orientato");
+        long start = System.nanoTime();
+        Parser parser = new Parser(target);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            boolean endOfFile = false;
+            while (!endOfFile) {
+                endOfFile = channel.read(buffer) < 0;
+                buffer.flip();
+                // Analizzo tutte le righe complete presenti nel buffer
+                int lineStart = 0;
+                int limit = buffer.limit();
+                for (int i = 0; i < limit; i++) {
+                    if (buffer.get(i) == '\n') {
+                        parser.parseLine(buffer, lineStart, i);
+                        lineStart = i + 1;
+                    }
+                }
+                if (endOfFile) {
+                    // L'ultima riga può non terminare con un a capo
+                    if (lineStart < limit) parser.parseLine(buffer, lineStart, limit);
+                } else {
+                    // La riga incompleta viene spostata all'inizio del buffer
+                    buffer.position(lineStart);
+                    buffer.compact();
+                    if (!buffer.hasRemaining())
+                        throw new IOException("Riga " + (parser.lines + 1) + ": riga troppo lunga");
+                }
+            }
+        }
+        parser.flush();
+        return new Report(parser.lines, parser.edgesRead, parser.edgesAdded, parser.nodesCreated,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Resoconto di un caricamento.
+     */
+    public static final class Report {
+
+        private final long lines;
+
+        private final long edgesRead;
+
+        private final long edgesAdded;
+
+        private final long nodesCreated;
+
+        private final long elapsedNanos;
+
+        Report(long lines, long edgesRead, long edgesAdded, long nodesCreated, long elapsedNanos) {
+            this.lines = lines;
+            this.edgesRead = edgesRead;
+            this.edgesAdded = edgesAdded;
+            this.nodesCreated = nodesCreated;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return il numero di righe lette, commenti compresi
+         */
+        public long getLines() {
+            return lines;
+        }
+
+        /**
+         * @return il numero di archi letti dal file, ripetizioni comprese
+         */
+        public long getEdgesRead() {
+            return edgesRead;
+        }
+
+        /**
+         * @return il numero di archi effettivamente aggiunti al grafo
+         */
+        public long getEdgesAdded() {
+            return edgesAdded;
+        }
+
+        /**
+         * @return il numero di archi scartati perché ripetuti nel file o già
+         *         presenti nel grafo
+         */
+        public long getDuplicates() {
+            return edgesRead - edgesAdded;
+        }
+
+        /**
+         * @return il numero di nodi aggiunti al grafo
+         */
+        public long getNodesCreated() {
+            return nodesCreated;
+        }
+
+        /**
+         * @return la durata del caricamento in nanosecondi
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return il numero di archi letti al secondo
+         */
+        public double getEdgesPerSecond() {
+            return elapsedNanos == 0 ? 0 : edgesRead * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Report [lines=" + lines + ", edgesRead=" + edgesRead + ", edgesAdded=" + edgesAdded
+                    + ", nodesCreated=" + nodesCreated + ", edgesPerSecond=" + (long) getEdgesPerSecond() + "]";
+        }
+    }
+
+    /*
+     * Stato di un singolo caricamento: analizza le righe, assegna un indice
+     * locale a ogni identificatore e accumula i nodi e gli archi nuovi finché
+     * non vengono inseriti nel grafo.
+     */
+    private final class Parser {
+
+        private final Graph<L> target;
+
+        // Identificatore -> indice locale del nodo
+        private final LongIndexMap ids = new LongIndexMap();
+
+        // Nodi in ordine di indice locale
+        private final List<GraphNode<L>> nodes = new ArrayList<GraphNode<L>>();
+
+        // Archi già letti, come coppia di indici locali (minore, maggiore)
+        private final LongHashSet seen = new LongHashSet();
+
+        // Nodi creati e non ancora inseriti nel grafo
+        private final List<GraphNode<L>> pendingNodes = new ArrayList<GraphNode<L>>();
+
+        // Archi non ancora inseriti nel grafo
+        private final List<GraphEdge<L>> pendingEdges = new ArrayList<GraphEdge<L>>();
+
+        // Posizione corrente e fine della riga in analisi
+        private int position;
+
+        private int end;
+
+        long lines;
+
+        long edgesRead;
+
+        long edgesAdded;
+
+        long nodesCreated;
+
+        Parser(Graph<L> target) {
+            this.target = target;
+        }
+
+        /*
+         * Analizza la riga contenuta nel buffer tra from (compreso) e to
+         * (escluso).
+         */
+        void parseLine(ByteBuffer buffer, int from, int to) throws IOException {
+            lines++;
+            position = from;
+            end = to;
+            skipBlanks(buffer);
+            if (position == end || buffer.get(position) == '#' || buffer.get(position) == '%') return;
+            int u = indexOf(parseId(buffer));
+            skipSeparators(buffer);
+            int v = indexOf(parseId(buffer));
+            skipSeparators(buffer);
+            double weight = position == end ? Double.NaN : parseWeight(buffer);
+            edgesRead++;
+            long key = u <= v ? ((long) u << 32) | v : ((long) v << 32) | u;
+            if (!seen.add(key)) return;
+            pendingEdges.add(new GraphEdge<L>(nodes.get(u), nodes.get(v), false, weight));
+            if (pendingEdges.size() == batchSize) flush();
+        }
+
+        /*
+         * Inserisce nel grafo i nodi e gli archi accumulati.
+         */
+        void flush() {
+            for (GraphNode<L> node : pendingNodes) target.addNode(node);
+            pendingNodes.clear();
+            edgesAdded += target.addEdges(pendingEdges);
+            pendingEdges.clear();
+        }
+
+        /*
+         * Restituisce l'indice locale del nodo con un certo identificatore,
+         * creando il nodo se non è ancora stato incontrato.
+         */
+        private int indexOf(long id) {
+            int index = ids.get(id);
+            if (index >= 0) return index;
+            L label = labelOf.apply(id);
+            GraphNode<L> node = target.getNodeOf(label);
+            if (node == null) {
+                node = new GraphNode<L>(label);
+                pendingNodes.add(node);
+                nodesCreated++;
+            }
+            index = nodes.size();
+            nodes.add(node);
+            ids.put(id, index);
+            return index;
+        }
+
+        private long parseId(ByteBuffer buffer) throws IOException {
+            int start = position;
+            long value = 0;
+            while (position < end) {
+                int digit = buffer.get(position) - '0';
+                if (digit < 0 || digit > 9) break;
+                if (value > (Long.MAX_VALUE - digit) / 10) throw error("identificatore troppo grande");
+                value = value * 10 + digit;
+                position++;
+            }
+            if (position == start || (position < end && !isSeparator(buffer.get(position))))
+                throw error("identificatore non valido");
+            return value;
+        }
+
+        /*
+         * Converte il campo del peso. I casi comuni (mantissa minore di 2^53,
+         * cioè rappresentabile esattamente da un double, ed esponente
+         * decimale entro 22) vengono calcolati con una sola operazione tra
+         * double esatti, quindi il risultato è arrotondato correttamente; gli
+         * altri casi, come le mantisse di 16 o 17 cifre prodotte da
+         * Double.toString, NaN o Infinity, sono passati a Double.parseDouble.
+         */
+        private double parseWeight(ByteBuffer buffer) throws IOException {
+            int start = position;
+            while (position < end && !isSeparator(buffer.get(position))) position++;
+            int tokenEnd = position;
+            int p = start;
+            boolean negative = false;
+            if (buffer.get(p) == '-' || buffer.get(p) == '+') negative = buffer.get(p++) == '-';
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean fast = true;
+            boolean anyDigit = false;
+            boolean dot = false;
+            for (; p < tokenEnd; p++) {
+                byte b = buffer.get(p);
+                if (b >= '0' && b <= '9') {
+                    anyDigit = true;
+                    // Gli zeri iniziali non contano come cifre significative
+                    if (mantissa == 0 && b == '0') {
+                        if (dot) exponent--;
+                        continue;
+                    }
+                    if (digits == 18) {
+                        fast = false;
+                        break;
+                    }
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (dot) exponent--;
+                } else if (b == '.' && !dot) {
+                    dot = true;
+                } else {
+                    break;
+                }
+            }
+            if (fast && p < tokenEnd) {
+                byte b = buffer.get(p);
+                if (anyDigit && (b == 'e' || b == 'E') && p + 1 < tokenEnd) {
+                    p++;
+                    boolean negativeExponent = false;
+                    if (buffer.get(p) == '-' || buffer.get(p) == '+') negativeExponent = buffer.get(p++) == '-';
+                    int e = 0;
+                    int exponentStart = p;
+                    for (; p < tokenEnd && e < 1000; p++) {
+                        int digit = buffer.get(p) - '0';
+                        if (digit < 0 || digit > 9) break;
+                        e = e * 10 + digit;
+                    }
+                    if (p == exponentStart) fast = false;
+                    exponent += negativeExponent ? -e : e;
+                }
+                if (p < tokenEnd) fast = false;
+            }
+            if (fast && anyDigit && mantissa < 1L << 53 && Math.abs(exponent) <= 22) {
+                double value = mantissa;
+                value = exponent >= 0 ? value * POWERS_OF_TEN[exponent] : value / POWERS_OF_TEN[-exponent];
+                return negative ? -value : value;
+            }
+            // Caso raro: costruisco la stringa del solo campo del peso
+            byte[] bytes = new byte[tokenEnd - start];
+            for (int i = 0; i < bytes.length; i++) bytes[i] = buffer.get(start + i);
+            try {
+                return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                throw error("peso non valido");
+            }
+        }
+
+        private void skipBlanks(ByteBuffer buffer) {
+            while (position < end && isBlank(buffer.get(position))) position++;
+        }
+
+        private void skipSeparators(ByteBuffer buffer) {
+            while (position < end && isSeparator(buffer.get(position))) position++;
+        }
+
+        private boolean isBlank(byte b) {
+            return b == ' ' || b == '\t' || b == '\r';
+        }
+
+        private boolean isSeparator(byte b) {
+            return isBlank(b) || b == ',' || b == ';';
+        }
+
+        private IOException error(String message) {
+            return new IOException("Riga " + lines + ": " + message);
+        }
+    }
+
+    /*
+     * Tabella hash ad indirizzamento aperto che associa chiavi long non
+     * negative a indici int, senza oggetti per le singole associazioni.
+     */
+    private static final class LongIndexMap {
+
+        private long[] keys = newKeys(1 << 10);
+
+        private int[] values = new int[1 << 10];
+
+        private int size;
+
+        /*
+         * Restituisce l'indice associato alla chiave, -1 se non c'è.
+         */
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) return values[slot];
+                if (keys[slot] == -1) return -1;
+            }
+        }
+
+        /*
+         * Associa un indice a una chiave che non è presente.
+         */
+        void put(long key, int value) {
+            if (2 * (size + 1) > keys.length) grow();
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != -1) slot = (slot + 1) & mask;
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(2 * oldKeys.length);
+            values = new int[2 * oldKeys.length];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) if (oldKeys[i] != -1) put(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    /*
+     * Insieme di long non negativi con tabella hash ad indirizzamento aperto.
+     */
+    private static final class LongHashSet {
+
+        private long[] keys = newKeys(1 << 10);
+
+        private int size;
+
+        /*
+         * Aggiunge una chiave e restituisce false se era già presente.
+         */
+        boolean add(long key) {
+            if (2 * (size + 1) > keys.length) grow();
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) return false;
+                if (keys[slot] == -1) {
+                    keys[slot] = key;
+                    size++;
+                    return true;
+                }
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            keys = newKeys(2 * oldKeys.length);
+            size = 0;
+            for (long key : oldKeys) if (key != -1) add(key);
+        }
+    }
+
+    /*
+     * Crea l'array delle chiavi di una tabella hash, con -1 come posizione
+     * libera.
+     */
+    private static long[] newKeys(int capacity) {
+        long[] keys = new long[capacity];
+        Arrays.fill(keys, -1L);
+        return keys;
+    }
+
+    /*
+     * Mescola i bit di una chiave: gli identificatori consecutivi finirebbero
+     * altrimenti in posizioni consecutive della tabella.
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
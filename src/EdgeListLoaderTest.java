@@ -0,0 +1,167 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe EdgeListLoader.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class EdgeListLoaderTest {
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile("edges", ".txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private double weightOf(Graph<Long> g, long u, long v) {
+        for (GraphEdge<Long> edge : g.getEdgesOf(g.getNodeOf(u))) {
+            long a = edge.getNode1().getLabel();
+            long b = edge.getNode2().getLabel();
+            if ((a == u && b == v) || (a == v && b == u)) return edge.getWeight();
+        }
+        return fail("Arco non trovato");
+    }
+
+    @Test
+    final void testFormatsCommentsAndDuplicates() throws IOException {
+        Path file = write("# commento\n" + "% altro commento\n" + "\n" + "1 2 0.5\n" + "2,3,-1.25e2\r\n"
+                + "3;1;7\n" + "  4\t5\t+.75  campo-ignorato\n" + "2 1 9\n" + "5 5\n" + "6 7 1e-3\n"
+                + "7 8 123456789012345678901\n" + "8 9 NaN");
+        try {
+            Graph<Long> g = new AdjacencyMatrixUndirectedGraph<Long>();
+            EdgeListLoader.Report report = new EdgeListLoader<Long>(Long::valueOf, 2).load(file, g);
+            assertEquals(12, report.getLines());
+            assertEquals(9, report.getEdgesRead());
+            assertEquals(8, report.getEdgesAdded());
+            assertEquals(1, report.getDuplicates());
+            assertEquals(9, report.getNodesCreated());
+            assertEquals(9, g.nodeCount());
+            assertEquals(8, g.edgeCount());
+            // Il primo peso letto per una coppia vince sulle ripetizioni
+            assertEquals(0.5, weightOf(g, 1, 2));
+            assertEquals(-125.0, weightOf(g, 2, 3));
+            assertEquals(7.0, weightOf(g, 1, 3));
+            assertEquals(0.75, weightOf(g, 4, 5));
+            assertTrue(Double.isNaN(weightOf(g, 5, 5)));
+            assertEquals(1e-3, weightOf(g, 6, 7));
+            assertEquals(123456789012345678901.0, weightOf(g, 7, 8));
+            assertTrue(Double.isNaN(weightOf(g, 8, 9)));
+            assertTrue(report.getEdgesPerSecond() > 0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    final void testExistingNodesAndEdgesAreReused() throws IOException {
+        Graph<Integer> g = new AdjacencyListUndirectedGraph<Integer>();
+        GraphNode<Integer> one = new GraphNode<Integer>(1);
+        GraphNode<Integer> two = new GraphNode<Integer>(2);
+        g.addNode(one);
+        g.addNode(two);
+        g.addEdge(new GraphEdge<Integer>(one, two, false, 3));
+        Path file = write("1 2 4\n2 3 5\n");
+        try {
+            EdgeListLoader.Report report = new EdgeListLoader<Integer>(id -> (int) id).load(file, g);
+            assertEquals(1, report.getNodesCreated());
+            assertEquals(1, report.getEdgesAdded());
+            assertEquals(1, report.getDuplicates());
+            assertEquals(3, g.nodeCount());
+            assertEquals(2, g.edgeCount());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    final void testLargeFileAcrossBuffers() throws IOException {
+        // Più righe di quante ne stiano nel buffer, con pesi decimali casuali
+        Random random = new Random(5);
+        StringBuilder content = new StringBuilder();
+        Graph<Long> expected = new AdjacencyListUndirectedGraph<Long>();
+        for (long i = 0; i < 2000; i++) expected.addNode(new GraphNode<Long>(i));
+        for (int k = 0; k < 100000; k++) {
+            long u = random.nextInt(2000);
+            long v = random.nextInt(2000);
+            double w = random.nextInt(1000000) / 1000.0;
+            content.append(u).append(' ').append(v).append(' ').append(w).append('\n');
+            expected.addEdge(new GraphEdge<Long>(expected.getNodeOf(u), expected.getNodeOf(v), false, w));
+        }
+        Path file = write(content.toString());
+        try {
+            Graph<Long> g = new AdjacencyListUndirectedGraph<Long>();
+            EdgeListLoader.Report report = new EdgeListLoader<Long>(Long::valueOf).load(file, g);
+            assertEquals(100000, report.getEdgesRead());
+            assertEquals(expected.edgeCount(), report.getEdgesAdded());
+            assertEquals(expected.getEdges(), g.getEdges());
+            for (GraphEdge<Long> edge : expected.getEdges()) {
+                long u = edge.getNode1().getLabel();
+                long v = edge.getNode2().getLabel();
+                assertEquals(edge.getWeight(), weightOf(g, u, v));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    final void testWeightRoundTrip() throws IOException {
+        // Ogni peso scritto con Double.toString deve essere riletto come lo
+        // stesso double, anche con mantisse di 16 o 17 cifre
+        Random random = new Random(13);
+        int n = 20000;
+        double[] weights = new double[n];
+        weights[0] = 410.08081149220163;
+        weights[1] = 0.1 + 0.2;
+        weights[2] = 9007199254740993.0;
+        weights[3] = 1e-300;
+        for (int k = 4; k < n; k++) weights[k] = random.nextDouble() * Math.pow(10, random.nextInt(13) - 6);
+        StringBuilder content = new StringBuilder();
+        for (int k = 0; k < n; k++) content.append(k).append(' ').append(k + 1).append(' ').append(weights[k]).append('\n');
+        assertEquals("410.08081149220163", Double.toString(weights[0]));
+        Path file = write(content.toString());
+        try {
+            Graph<Long> g = new AdjacencyListUndirectedGraph<Long>();
+            new EdgeListLoader<Long>(Long::valueOf).load(file, g);
+            for (int k = 0; k < n; k++)
+                assertEquals(Double.doubleToLongBits(weights[k]), Double.doubleToLongBits(weightOf(g, k, k + 1)),
+                        "peso " + weights[k]);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    final void testInvalidInput() throws IOException {
+        EdgeListLoader<Long> loader = new EdgeListLoader<Long>(Long::valueOf);
+        assertThrows(NullPointerException.class, () -> new EdgeListLoader<Long>(null));
+        assertThrows(IllegalArgumentException.class, () -> new EdgeListLoader<Long>(Long::valueOf, 0));
+        for (String content : new String[] { "1\n", "1 x 2\n", "-1 2\n", "1 2 peso\n", "1a 2\n",
+                "99999999999999999999 1\n" }) {
+            Path file = write(content);
+            try {
+                IOException e = assertThrows(IOException.class,
+                        () -> loader.load(file, new AdjacencyListUndirectedGraph<Long>()));
+                assertTrue(e.getMessage().startsWith("Riga 1"));
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+        Path file = write("1 2\n");
+        try {
+            assertThrows(NullPointerException.class, () -> loader.load(file, null));
+            assertThrows(NullPointerException.class, () -> loader.load(null, new AdjacencyListUndirectedGraph<Long>()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 
 //ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
@@ -10,6 +11,22 @@ import java.util.Set;
  * foresta di alberi ognuno dei quali rappresenta un insieme disgiunto. Si
  * vedano le istruzioni o il libro di testo Cormen et al. (terza edizione)
  * Capitolo 21 Sezione 3.
+ *
+ * L'euristica usata da findSet per accorciare i cammini e la regola con cui
+ * union sceglie quale radice collegare sotto l'altra sono selezionabili alla
+ * costruzione (si veda Tarjan, van Leeuwen, "Worst-case Analysis of Set Union
+ * Algorithms", 1984). Il costruttore senza parametri usa la compressione del
+ * cammino e l'unione per rango, come nel libro di testo. Tutte le varianti di
+ * findSet sono iterative, quindi non c'è limite alla lunghezza dei cammini, e
+ * cercano nella mappa solo il nodo di partenza: il resto del cammino viene
+ * percorso seguendo i riferimenti ai padri.
+ *
+ * Gli elementi di ogni insieme sono inoltre collegati in una lista circolare,
+ * che union concatena in tempo O(1) scambiando i successori delle due radici:
+ * così gli elementi di un insieme si elencano in tempo proporzionale alla sua
+ * dimensione, senza scorrere tutta la foresta. I rappresentanti correnti e il
+ * loro numero sono mantenuti da makeSet, union e clear, quindi non serve
+ * cercare il rappresentante di ogni elemento per elencarli o contarli.
  * 
  * @author Luca Tesei (template), Luca Soricetti luca.soricetti@studenti.unicam.it (implementazione)
  *
@@ -18,6 +35,54 @@ import java.util.Set;
  */
 public class ForestDisjointSets<E> implements DisjointSets<E> {
 
+    /**
+     * Euristica con cui findSet accorcia il cammino percorso dall'elemento
+     * cercato fino alla radice.
+     */
+    public enum CompactionStrategy {
+        /**
+         * Compressione del cammino: tutti i nodi del cammino vengono fatti
+         * puntare alla radice. Richiede due passate sul cammino.
+         */
+        FULL_COMPRESSION,
+
+        /**
+         * Dimezzamento del cammino: un nodo sì e uno no del cammino viene
+         * fatto puntare al nonno. Richiede una sola passata.
+         */
+        PATH_HALVING,
+
+        /**
+         * Divisione del cammino: ogni nodo del cammino viene fatto puntare al
+         * nonno. Richiede una sola passata.
+         */
+        PATH_SPLITTING
+    }
+
+    /**
+     * Regola con cui union sceglie quale delle due radici diventa il
+     * rappresentante dell'unione.
+     */
+    public enum LinkingRule {
+        /**
+         * Unione per rango: il rappresentante è la radice con rango maggiore.
+         */
+        RANK,
+
+        /**
+         * Unione per dimensione: il rappresentante è la radice dell'albero con
+         * più elementi.
+         */
+        SIZE,
+
+        /**
+         * Unione per indice casuale: ogni elemento riceve un indice casuale
+         * quando viene inserito e il rappresentante è la radice con indice
+         * maggiore. Non richiede di aggiornare nulla dopo l'unione.
+         */
+        RANDOMIZED_INDEX
+    }
+
     /*
      * Mappa che associa ad ogni elemento inserito il corrispondente nodo di un
      * albero della foresta. La variabile è protected unicamente per permettere
@@ -48,9 +113,27 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
          */
         protected int rank;
 
+        /*
+         * Il numero di elementi del (sotto)albero di cui questo nodo è
+         * radice, aggiornato solo con la regola LinkingRule.SIZE.
+         */
+        protected int size;
+
+        /*
+         * L'indice casuale del nodo, assegnato solo con la regola
+         * LinkingRule.RANDOMIZED_INDEX.
+         */
+        protected int index;
+
+        /*
+         * Il nodo successivo nella lista circolare degli elementi dello stesso
+         * insieme.
+         */
+        protected Node<E> next;
+
         /**
-         * Costruisce un nodo radice con parent che punta a se stesso e rango
-         * zero.
+         * Costruisce un nodo radice con parent che punta a se stesso, rango
+         * zero, dimensione uno e che è l'unico elemento della sua lista.
          * 
          * @param item
          *                 l'elemento conservato in questo nodo
@@ -60,16 +143,76 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
             this.item = item;
             this.parent = this;
             this.rank = 0;
+            this.size = 1;
+            this.next = this;
         }
 
     }
 
+    /*
+     * Euristica di findSet e regola di union.
+     */
+    private final CompactionStrategy compactionStrategy;
+
+    private final LinkingRule linkingRule;
+
+    /*
+     * Generatore degli indici casuali, null se la regola non li usa.
+     */
+    private final Random random;
+
+    /*
+     * Rappresentanti degli insiemi correnti, cioè gli elementi delle radici.
+     */
+    private final Set<E> representatives;
+
     /**
      * Costruisce una foresta vuota di insiemi disgiunti rappresentati da
-     * alberi.
+     * alberi, con la compressione del cammino e l'unione per rango.
      */
     public ForestDisjointSets() {
+        this(CompactionStrategy.FULL_COMPRESSION, LinkingRule.RANK);
+    }
+
+    /**
+     * Costruisce una foresta vuota di insiemi disgiunti rappresentati da
+     * alberi, con una certa euristica di findSet e una certa regola di union.
+     *
+     * @param compactionStrategy
+     *                               l'euristica con cui findSet accorcia i
+     *                               cammini
+     * @param linkingRule
+     *                               la regola con cui union sceglie il
+     *                               rappresentante
+     * @throws NullPointerException
+     *                                  se uno dei parametri è null
+     */
+    public ForestDisjointSets(CompactionStrategy compactionStrategy, LinkingRule linkingRule) {
+        if (compactionStrategy == null || linkingRule == null)
+            throw new NullPointerException("La strategia passata è null");
         this.currentElements = new HashMap<E, Node<E>>();
+        this.representatives = new HashSet<E>();
+        this.compactionStrategy = compactionStrategy;
+        this.linkingRule = linkingRule;
+        this.random = linkingRule == LinkingRule.RANDOMIZED_INDEX ? new Random() : null;
+    }
+
+    /**
+     * Restituisce l'euristica con cui findSet accorcia i cammini.
+     *
+     * @return l'euristica di findSet
+     */
+    public CompactionStrategy getCompactionStrategy() {
+        return compactionStrategy;
+    }
+
+    /**
+     * Restituisce la regola con cui union sceglie il rappresentante.
+     *
+     * @return la regola di union
+     */
+    public LinkingRule getLinkingRule() {
+        return linkingRule;
     }
 
     @Override
@@ -91,65 +234,128 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
         // Il costruttore di Node<E> in automatico setta, alla creazione del nuovo nodo, 
         // node.parent = node e rank = 0
         Node<E> node = new Node<>(e);
+        if (random != null) node.index = random.nextInt();
         currentElements.put(e, node);
+        representatives.add(e);
     }
 
     /*
      * L'implementazione del find-set deve realizzare l'euristica
-     * "compressione del cammino". Si vedano le istruzioni o il libro di testo
-     * Cormen et al. (terza edizione) Capitolo 21 Sezione 3.
+     * "compressione del cammino" o, se scelte alla costruzione, il
+     * dimezzamento o la divisione del cammino. Si vedano le istruzioni o il
+     * libro di testo Cormen et al. (terza edizione) Capitolo 21 Sezione 3.
      */
     @Override
     public E findSet(E e) {
         // Nota Bene: il metodo isPresent lancia eccezione se e è null
         if (!isPresent(e)) throw new IllegalArgumentException("Il parametro non è nella Foresta");
+        return findRoot(currentElements.get(e)).item;
+    }
 
-        // Implementazione del metodo secondo lo pseudocodice nel Capitolo 21, Sezione 3 del libro di testo
-        Node<E> node = currentElements.get(e);
-        if (!node.equals(node.parent)) {
-            node.parent = currentElements.get(findSet(node.parent.item)); // Path compression
+    /*
+     * Restituisce la radice dell'albero di un nodo accorciando il cammino
+     * percorso secondo l'euristica scelta.
+     */
+    private Node<E> findRoot(Node<E> node) {
+        switch (compactionStrategy) {
+        case PATH_HALVING:
+            // Ogni nodo visitato punta al nonno e si prosegue dal nonno
+            while (node.parent != node) {
+                node.parent = node.parent.parent;
+                node = node.parent;
+            }
+            return node;
+        case PATH_SPLITTING:
+            // Ogni nodo visitato punta al nonno e si prosegue dal padre
+            while (node.parent != node) {
+                Node<E> parent = node.parent;
+                node.parent = parent.parent;
+                node = parent;
+            }
+            return node;
+        default:
+            // Prima passata: ricerca della radice
+            Node<E> root = node;
+            while (root.parent != root) root = root.parent;
+            // Seconda passata: tutti i nodi del cammino puntano alla radice
+            // (path compression)
+            while (node != root) {
+                Node<E> parent = node.parent;
+                node.parent = root;
+                node = parent;
+            }
+            return root;
         }
-        return node.parent.item;
     }
 
     /*
      * L'implementazione dell'unione deve realizzare l'euristica
-     * "unione per rango". Si vedano le istruzioni o il libro di testo Cormen et
-     * al. (terza edizione) Capitolo 21 Sezione 3. In particolare, il
-     * rappresentante dell'unione dovrà essere il rappresentante dell'insieme il
-     * cui corrispondente albero ha radice con rango più alto. Nel caso in cui
-     * il rango della radice dell'albero di cui fa parte e1 sia uguale al rango
-     * della radice dell'albero di cui fa parte e2 il rappresentante dell'unione
-     * sarà il rappresentante dell'insieme di cui fa parte e2.
+     * "unione per rango" o, se scelte alla costruzione, l'unione per
+     * dimensione o per indice casuale. Si vedano le istruzioni o il libro di
+     * testo Cormen et al. (terza edizione) Capitolo 21 Sezione 3. In
+     * particolare, il rappresentante dell'unione dovrà essere il
+     * rappresentante dell'insieme il cui corrispondente albero ha radice con
+     * rango (dimensione, indice) più alto. Nel caso in cui il rango della
+     * radice dell'albero di cui fa parte e1 sia uguale al rango della radice
+     * dell'albero di cui fa parte e2 il rappresentante dell'unione sarà il
+     * rappresentante dell'insieme di cui fa parte e2.
      */
     @Override
     public void union(E e1, E e2) {
         // Nota Bene: il metodo isPresent lancia eccezione se e è null
         if (!isPresent(e1) || !isPresent(e2)) throw new IllegalArgumentException("Almeno uno dei parametri non è nella Foresta");
         // Implementazione del metodo secondo lo pseudocodice nel Capitolo 21, Sezione 3 del libro di testo
-        Node<E> r1 = currentElements.get(findSet(e1));
-        Node<E> r2 = currentElements.get(findSet(e2));
+        Node<E> r1 = findRoot(currentElements.get(e1));
+        Node<E> r2 = findRoot(currentElements.get(e2));
         // Se e1 ed e2 appartengono già allo stesso Insieme non faccio nulla
-        if (r1.equals(r2)) return; 
-        // Se arrivo qui posso unire i due Insiemi
-        // Se r1 ha rank maggiore diventa lui il rappresentante del nuovo Insieme
-        if (r1.rank > r2.rank) r2.parent = r1;
-        else { // Se i due rank sono uguali, il rappresentante diventa il secondo, ovvero r2
-            r1.parent = r2;
-            if (r1.rank == r2.rank) r2.rank++;
+        if (r1 == r2) return;
+        // Se arrivo qui posso unire i due Insiemi: prima concateno le loro
+        // liste circolari scambiando i successori delle due radici
+        Node<E> next = r1.next;
+        r1.next = r2.next;
+        r2.next = next;
+        switch (linkingRule) {
+        case SIZE:
+            // La radice dell'albero più grande diventa il rappresentante
+            if (r1.size > r2.size) {
+                r2.parent = r1;
+                r1.size += r2.size;
+            } else {
+                r1.parent = r2;
+                r2.size += r1.size;
+            }
+            break;
+        case RANDOMIZED_INDEX:
+            // La radice con indice maggiore diventa il rappresentante
+            if (r1.index > r2.index) r2.parent = r1;
+            else r1.parent = r2;
+            break;
+        default:
+            // Se r1 ha rank maggiore diventa lui il rappresentante del nuovo Insieme
+            if (r1.rank > r2.rank) r2.parent = r1;
+            else { // Se i due rank sono uguali, il rappresentante diventa il secondo, ovvero r2
+                r1.parent = r2;
+                if (r1.rank == r2.rank) r2.rank++;
+            }
         }
+        // La radice finita sotto l'altra non è più un rappresentante
+        representatives.remove(r1.parent == r1 ? r2.item : r1.item);
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti correnti, in tempo O(1).
+     *
+     * @return il numero di insiemi disgiunti
+     */
+    public int getNumberOfSets() {
+        return representatives.size();
     }
 
     @Override
     public Set<E> getCurrentRepresentatives() {
-        Set<E> representatives = new HashSet<>();
-        // Scorro tutti gli item nella mappa e cerco il loro rappresentante di insieme
-        for (E item : currentElements.keySet()) {
-            // Se un rappresentante era già stato aggiunto non viene aggiunto nuovamente
-            // per le caratteristiche del metodo add dei Set
-            representatives.add(findSet(item));
-        }
-        return representatives;
+        // Copia dell'insieme mantenuto, in tempo proporzionale al numero di
+        // insiemi disgiunti
+        return new HashSet<>(representatives);
     }
 
     @Override
@@ -157,13 +363,13 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
         // Nota Bene: il metodo isPresent lancia eccezione se e è null
         if (!isPresent(e)) throw new IllegalArgumentException("Il parametro non è nella Foresta");
         Set<E> elementsInSet = new HashSet<>();
-        // Trovo il rappresentante dell'item passato come parametro
-        E representative = findSet(e);
-        // Scorro tutti gli item nella foresta e aggiungo tutti quelli che hanno lo stesso rappresentante
-        // (ovvero tutti quelli che appartengono allo stesso insieme)
-        for (E element : currentElements.keySet()) {
-            if (findSet(element).equals(representative)) elementsInSet.add(element);
-        }
+        // Percorro la lista circolare dell'insieme a partire dal nodo di e
+        Node<E> first = currentElements.get(e);
+        Node<E> node = first;
+        do {
+            elementsInSet.add(node.item);
+            node = node.next;
+        } while (node != first);
         return elementsInSet;
     }
 
@@ -171,5 +377,6 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
     public void clear() {
         // Sfrutto il metodo clear delle Mappe
         currentElements.clear();
+        representatives.clear();
     }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+import java.util.Random;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Programma di misura delle combinazioni di euristica di findSet e regola di
+ * union di {@code ForestDisjointSets<Integer>} sulle sequenze di operazioni
+ * tipiche del progetto:
+ * <ul>
+ * <li>kruskal: per ogni arco di un grafo casuale sparso si confrontano i
+ * rappresentanti dei due estremi e, se sono diversi, si uniscono gli insiemi,
+ * come in {@code KruskalMSP<L>};</li>
+ * <li>catena: si uniscono gli elementi consecutivi, {@code union(i, i + 1)},
+ * e poi si cerca il rappresentante di ogni elemento, come quando le
+ * componenti connesse di un cammino vengono costruite arco per arco;</li>
+ * <li>ricerche: dopo aver unito gli elementi in pochi insiemi grandi si
+ * cercano rappresentanti di elementi casuali.</li>
+ * </ul>
+ *
+ * Per ogni sequenza e combinazione il programma stampa il tempo medio per
+ * operazione della migliore di alcune ripetizioni, dopo un riscaldamento.
+ *
+ * Uso: {@code java ForestDisjointSetsBenchmark [elementi]} (default 1000000).
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+public class ForestDisjointSetsBenchmark {
+
+    // Numero di ripetizioni misurate per ogni combinazione
+    private static final int REPETITIONS = 3;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        // Archi del grafo casuale: quattro per nodo
+        Random random = new Random(42);
+        int[] sources = new int[4 * n];
+        int[] targets = new int[4 * n];
+        for (int e = 0; e < sources.length; e++) {
+            sources[e] = random.nextInt(n);
+            targets[e] = random.nextInt(n);
+        }
+        int[] queries = new int[4 * n];
+        for (int q = 0; q < queries.length; q++) queries[q] = random.nextInt(n);
+
+        // Riscaldamento su una parte dei dati
+        for (ForestDisjointSets.CompactionStrategy compaction : ForestDisjointSets.CompactionStrategy.values())
+            for (ForestDisjointSets.LinkingRule linking : ForestDisjointSets.LinkingRule.values())
+                run(compaction, linking, Math.min(n, 100000), sources, targets, queries);
+
+        System.out.printf("%-17s %-17s %12s %12s %12s%n", "findSet", "union", "kruskal", "catena", "ricerche");
+        for (ForestDisjointSets.CompactionStrategy compaction : ForestDisjointSets.CompactionStrategy.values()) {
+            for (ForestDisjointSets.LinkingRule linking : ForestDisjointSets.LinkingRule.values()) {
+                double[] best = { Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE };
+                for (int r = 0; r < REPETITIONS; r++) {
+                    double[] times = run(compaction, linking, n, sources, targets, queries);
+                    for (int i = 0; i < best.length; i++) best[i] = Math.min(best[i], times[i]);
+                }
+                System.out.printf("%-17s %-17s %9.1f ns %9.1f ns %9.1f ns%n", compaction, linking, best[0], best[1],
+                        best[2]);
+            }
+        }
+    }
+
+    /*
+     * Esegue le tre sequenze su n elementi e restituisce i nanosecondi medi
+     * per operazione di ognuna.
+     */
+    private static double[] run(ForestDisjointSets.CompactionStrategy compaction,
+            ForestDisjointSets.LinkingRule linking, int n, int[] sources, int[] targets, int[] queries) {
+        double[] times = new double[3];
+        Integer[] elements = new Integer[n];
+        for (int i = 0; i < n; i++) elements[i] = i;
+
+        // kruskal
+        ForestDisjointSets<Integer> ds = filled(compaction, linking, elements);
+        int m = Math.min(4 * n, sources.length);
+        long start = System.nanoTime();
+        for (int e = 0; e < m; e++) {
+            Integer u = elements[sources[e] % n];
+            Integer v = elements[targets[e] % n];
+            if (!ds.findSet(u).equals(ds.findSet(v))) ds.union(u, v);
+        }
+        times[0] = (double) (System.nanoTime() - start) / m;
+
+        // catena
+        ds = filled(compaction, linking, elements);
+        start = System.nanoTime();
+        for (int i = 0; i + 1 < n; i++) ds.union(elements[i], elements[i + 1]);
+        for (int i = 0; i < n; i++) ds.findSet(elements[i]);
+        times[1] = (double) (System.nanoTime() - start) / (2 * n);
+
+        // ricerche: 16 insiemi grandi, poi ricerche casuali
+        ds = filled(compaction, linking, elements);
+        for (int i = 16; i < n; i++) ds.union(elements[i], elements[i % 16]);
+        int q = Math.min(4 * n, queries.length);
+        start = System.nanoTime();
+        for (int k = 0; k < q; k++) ds.findSet(elements[queries[k] % n]);
+        times[2] = (double) (System.nanoTime() - start) / q;
+        return times;
+    }
+
+    private static ForestDisjointSets<Integer> filled(ForestDisjointSets.CompactionStrategy compaction,
+            ForestDisjointSets.LinkingRule linking, Integer[] elements) {
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<Integer>(compaction, linking);
+        for (Integer element : elements) ds.makeSet(element);
+        return ds;
+    }
+}
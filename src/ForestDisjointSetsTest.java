@@ -1,5 +1,9 @@
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -196,4 +200,148 @@ class ForestDisjointSetsTest {
         assertTrue(ds.getCurrentRepresentatives().isEmpty());
         assertTrue(ds.currentElements.isEmpty());
     }
-}
\ No newline at end of file
+
+    /**
+     * verifica che tutte le combinazioni di euristica e regola di unione
+     * producano gli stessi insiemi.
+     */
+    @Test
+    final void testStrategiesAgree() {
+        for (ForestDisjointSets.CompactionStrategy compaction : ForestDisjointSets.CompactionStrategy.values()) {
+            for (ForestDisjointSets.LinkingRule linking : ForestDisjointSets.LinkingRule.values()) {
+                ForestDisjointSets<Integer> ds = new ForestDisjointSets<>(compaction, linking);
+                assertEquals(compaction, ds.getCompactionStrategy());
+                assertEquals(linking, ds.getLinkingRule());
+                IntForestDisjointSets expected = new IntForestDisjointSets(2000);
+                for (int i = 0; i < 2000; i++) ds.makeSet(i);
+                Random random = new Random(compaction.ordinal() * 3 + linking.ordinal());
+                for (int k = 0; k < 1500; k++) {
+                    int a = random.nextInt(2000);
+                    int b = random.nextInt(2000);
+                    ds.union(a, b);
+                    expected.union(a, b);
+                }
+                assertEquals(expected.getNumberOfSets(), ds.getCurrentRepresentatives().size());
+                for (int k = 0; k < 5000; k++) {
+                    int a = random.nextInt(2000);
+                    int b = random.nextInt(2000);
+                    assertEquals(expected.findSet(a) == expected.findSet(b), ds.findSet(a).equals(ds.findSet(b)));
+                }
+                // Il rappresentante è sempre un elemento dell'insieme
+                for (int i = 0; i < 2000; i++) assertTrue(ds.getCurrentElementsOfSetContaining(i).contains(ds.findSet(i)));
+            }
+        }
+        assertThrows(NullPointerException.class,
+                () -> new ForestDisjointSets<Integer>(null, ForestDisjointSets.LinkingRule.RANK));
+        assertThrows(NullPointerException.class,
+                () -> new ForestDisjointSets<Integer>(ForestDisjointSets.CompactionStrategy.PATH_HALVING, null));
+    }
+
+    /**
+     * verifica l'unione per dimensione.
+     */
+    @Test
+    final void testUnionBySize() {
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<>(ForestDisjointSets.CompactionStrategy.FULL_COMPRESSION,
+                ForestDisjointSets.LinkingRule.SIZE);
+        for (int i = 1; i <= 4; i++) ds.makeSet(i);
+        ds.union(1, 2);
+        ds.union(2, 3);
+        // L'insieme {1, 2, 3} è più grande di {4}
+        ds.union(4, 1);
+        assertEquals(2, ds.findSet(4));
+        assertEquals(4, ds.currentElements.get(2).size);
+    }
+
+    /**
+     * verifica che findSet non sia ricorsivo e accorci i cammini secondo
+     * l'euristica scelta, su una catena molto lunga costruita a mano.
+     */
+    @Test
+    final void testLongChain() {
+        int n = 200000;
+        for (ForestDisjointSets.CompactionStrategy compaction : ForestDisjointSets.CompactionStrategy.values()) {
+            ForestDisjointSets<Integer> ds = new ForestDisjointSets<>(compaction, ForestDisjointSets.LinkingRule.RANK);
+            for (int i = 0; i < n; i++) ds.makeSet(i);
+            // Il padre di i è i + 1, la radice è n - 1
+            for (int i = 0; i < n - 1; i++) ds.currentElements.get(i).parent = ds.currentElements.get(i + 1);
+            assertEquals(n - 1, ds.findSet(0));
+            ForestDisjointSets.Node<Integer> node0 = ds.currentElements.get(0);
+            ForestDisjointSets.Node<Integer> node1 = ds.currentElements.get(1);
+            switch (compaction) {
+            case FULL_COMPRESSION:
+                for (int i = 0; i < n - 1; i++) assertEquals(n - 1, ds.currentElements.get(i).parent.item);
+                break;
+            case PATH_HALVING:
+                // I nodi pari puntano al nonno, quelli dispari non vengono toccati
+                assertEquals(2, node0.parent.item);
+                assertEquals(2, node1.parent.item);
+                assertEquals(4, ds.currentElements.get(2).parent.item);
+                break;
+            default:
+                // Tutti i nodi puntano al nonno
+                assertEquals(2, node0.parent.item);
+                assertEquals(3, node1.parent.item);
+                break;
+            }
+            for (int i = 0; i < n; i++) assertEquals(n - 1, ds.findSet(i));
+        }
+    }
+
+    /**
+     * verifica che l'elenco degli elementi di un insieme, fatto con le liste
+     * circolari, coincida con quello che si ottiene confrontando i
+     * rappresentanti.
+     */
+    @Test
+    final void testMemberLists() {
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<>();
+        int n = 1000;
+        for (int i = 0; i < n; i++) ds.makeSet(i);
+        Random random = new Random(9);
+        for (int k = 0; k < 800; k++) {
+            ds.union(random.nextInt(n), random.nextInt(n));
+            // Un'unione di elementi già insieme non deve rompere le liste
+            int a = random.nextInt(n);
+            ds.union(a, ds.findSet(a));
+        }
+        int total = 0;
+        for (Integer representative : ds.getCurrentRepresentatives()) {
+            Set<Integer> members = ds.getCurrentElementsOfSetContaining(representative);
+            for (Integer member : members) assertEquals(representative, ds.findSet(member));
+            total += members.size();
+        }
+        assertEquals(n, total);
+    }
+
+    /**
+     * verifica che i rappresentanti e il numero di insiemi mantenuti
+     * coincidano con quelli ottenuti cercando il rappresentante di ogni
+     * elemento.
+     */
+    @Test
+    final void testMaintainedRepresentatives() {
+        for (ForestDisjointSets.LinkingRule linking : ForestDisjointSets.LinkingRule.values()) {
+            ForestDisjointSets<Integer> ds = new ForestDisjointSets<>(
+                    ForestDisjointSets.CompactionStrategy.FULL_COMPRESSION, linking);
+            assertEquals(0, ds.getNumberOfSets());
+            int n = 500;
+            for (int i = 0; i < n; i++) ds.makeSet(i);
+            assertEquals(n, ds.getNumberOfSets());
+            Random random = new Random(linking.ordinal());
+            for (int k = 0; k < 400; k++) {
+                ds.union(random.nextInt(n), random.nextInt(n));
+                Set<Integer> expected = new HashSet<Integer>();
+                for (int i = 0; i < n; i++) expected.add(ds.findSet(i));
+                assertEquals(expected, ds.getCurrentRepresentatives());
+                assertEquals(expected.size(), ds.getNumberOfSets());
+            }
+            // L'insieme restituito è una copia
+            ds.getCurrentRepresentatives().clear();
+            assertTrue(ds.getNumberOfSets() > 0);
+            ds.clear();
+            assertEquals(0, ds.getNumberOfSets());
+            assertTrue(ds.getCurrentRepresentatives().isEmpty());
+        }
+    }
+}
@@ -1,3 +1,6 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -13,6 +16,11 @@ import java.util.Set;
  * Le etichette dei nodi sono obbligatorie ed uniche, cioè un nodo non può avere
  * etichetta nulla e due nodi con la stessa etichetta sono lo stesso nodo.
  * 
+ * Al grafo possono essere registrati degli ascoltatori
+ * ({@code GraphListener<L>}) che vengono avvisati dopo ogni modifica riuscita.
+ * Le sottoclassi modificabili devono chiamare i metodi {@code fire...}
+ * corrispondenti alla fine di ogni operazione che ha modificato il grafo.
+ * 
  * 
  * @author Luca Tesei
  * 
@@ -22,6 +30,12 @@ import java.util.Set;
  */
 public abstract class Graph<L> {
 
+    /*
+     * Ascoltatori registrati, null finché non ne viene registrato nessuno:
+     * così un grafo senza ascoltatori non paga nulla per gli avvisi.
+     */
+    private List<GraphListener<L>> listeners;
+
     /**
      * Restituisce il numero di nodi in questo grafo.
      * 
@@ -253,6 +267,31 @@ public abstract class Graph<L> {
      */
     public abstract boolean addEdge(GraphEdge<L> edge);
 
+    /**
+     * Aggiunge a questo grafo tutti gli archi di una collezione. Gli archi già
+     * presenti vengono ignorati. Le implementazioni possono ridefinire questo
+     * metodo per inserire molti archi con meno controlli ripetuti rispetto a
+     * chiamate successive di {@code addEdge}.
+     *
+     * @param edges
+     *                  gli archi da inserire
+     * @return il numero di archi effettivamente inseriti
+     * @throws NullPointerException
+     *                                      se la collezione o uno dei suoi
+     *                                      archi è nullo
+     * @throws IllegalArgumentException
+     *                                      se per uno degli archi
+     *                                      {@code addEdge} lancerebbe questa
+     *                                      eccezione; gli archi precedenti
+     *                                      possono essere già stati inseriti
+     */
+    public int addEdges(Collection<GraphEdge<L>> edges) {
+        if (edges == null) throw new NullPointerException("La collezione di archi passata è null");
+        int added = 0;
+        for (GraphEdge<L> edge : edges) if (this.addEdge(edge)) added++;
+        return added;
+    }
+
     /**
      * Rimuove un arco da questo grafo.
      * 
@@ -350,4 +389,87 @@ public abstract class Graph<L> {
                     + this.getIngoingEdgesOf(node).size();
     }
 
+    /**
+     * Registra un ascoltatore che verrà avvisato delle modifiche a questo
+     * grafo. Lo stesso ascoltatore registrato due volte viene avvisato due
+     * volte.
+     *
+     * @param listener
+     *                     l'ascoltatore da registrare
+     * @throws NullPointerException
+     *                                  se l'ascoltatore passato è null
+     */
+    public void addGraphListener(GraphListener<L> listener) {
+        if (listener == null) throw new NullPointerException("L'ascoltatore passato è null");
+        if (listeners == null) listeners = new ArrayList<GraphListener<L>>();
+        listeners.add(listener);
+    }
+
+    /**
+     * Toglie un ascoltatore registrato in precedenza.
+     *
+     * @param listener
+     *                     l'ascoltatore da togliere
+     * @return true se l'ascoltatore era registrato
+     * @throws NullPointerException
+     *                                  se l'ascoltatore passato è null
+     */
+    public boolean removeGraphListener(GraphListener<L> listener) {
+        if (listener == null) throw new NullPointerException("L'ascoltatore passato è null");
+        return listeners != null && listeners.remove(listener);
+    }
+
+    /**
+     * Avvisa gli ascoltatori che un nodo è stato aggiunto.
+     *
+     * @param node
+     *                 il nodo aggiunto
+     */
+    protected void fireNodeAdded(GraphNode<L> node) {
+        if (listeners == null) return;
+        for (GraphListener<L> listener : listeners) listener.nodeAdded(this, node);
+    }
+
+    /**
+     * Avvisa gli ascoltatori che un nodo è stato rimosso, insieme a tutti i
+     * suoi archi.
+     *
+     * @param node
+     *                 il nodo rimosso
+     */
+    protected void fireNodeRemoved(GraphNode<L> node) {
+        if (listeners == null) return;
+        for (GraphListener<L> listener : listeners) listener.nodeRemoved(this, node);
+    }
+
+    /**
+     * Avvisa gli ascoltatori che un arco è stato aggiunto.
+     *
+     * @param edge
+     *                 l'arco aggiunto
+     */
+    protected void fireEdgeAdded(GraphEdge<L> edge) {
+        if (listeners == null) return;
+        for (GraphListener<L> listener : listeners) listener.edgeAdded(this, edge);
+    }
+
+    /**
+     * Avvisa gli ascoltatori che un arco è stato rimosso.
+     *
+     * @param edge
+     *                 l'arco rimosso
+     */
+    protected void fireEdgeRemoved(GraphEdge<L> edge) {
+        if (listeners == null) return;
+        for (GraphListener<L> listener : listeners) listener.edgeRemoved(this, edge);
+    }
+
+    /**
+     * Avvisa gli ascoltatori che il grafo è stato svuotato.
+     */
+    protected void fireCleared() {
+        if (listeners == null) return;
+        for (GraphListener<L> listener : listeners) listener.cleared(this);
+    }
+
 }
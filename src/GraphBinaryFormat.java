@@ -0,0 +1,305 @@
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che scrive e legge grafi non orientati in un formato binario
+ * compatto e versionato. Il caricamento non analizza gli archi uno per uno: la
+ * parte CSR del file viene mappata in memoria e restituita come
+ * {@code MemoryMappedUndirectedGraph<L>}, quindi il tempo di avvio dipende solo
+ * dal numero di nodi.
+ *
+ * Il file, con tutti i valori little endian, è composto da:
+ * <ul>
+ * <li>un'intestazione di 40 byte: numero magico (int), versione (int), numero
+ * di nodi, numero di elementi delle righe CSR, numero di archi e dimensione in
+ * byte del dizionario (long);</li>
+ * <li>il dizionario delle etichette in ordine di indice: per ogni nodo la
+ * lunghezza (int) e i byte UTF-8 della sua etichetta codificata come
+ * stringa;</li>
+ * <li>gli inizi delle righe (n + 1 long), gli indici dei vicini (int) e i pesi
+ * (double).</li>
+ * </ul>
+ * Il dizionario e gli indici dei vicini sono seguiti da un riempimento fino a
+ * un multiplo di 8 byte, in modo che ogni sezione sia allineata. Un
+ * dizionario vuoto indica un file che contiene solo la struttura, come quelli
+ * scritti da {@code MemoryMappedUndirectedGraph.store}.
+ *
+ * Le etichette vengono convertite in stringhe e viceversa da due funzioni
+ * passate al costruttore; la conversione deve essere iniettiva.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi
+ */
+public class GraphBinaryFormat<L> {
+
+    /**
+     * Numero magico all'inizio del file: i caratteri "GRPH" in little endian.
+     */
+    public static final int MAGIC = 0x48505247;
+
+    /**
+     * Versione del formato scritta da questa classe.
+     */
+    public static final int VERSION = 1;
+
+    // Dimensione in byte dell'intestazione
+    static final int HEADER_SIZE = 2 * Integer.BYTES + 4 * Long.BYTES;
+
+    // Dimensione del buffer usato per scrivere il file
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    /*
+     * Funzione che trasforma un'etichetta nella stringa da scrivere nel
+     * dizionario.
+     */
+    private final Function<? super L, String> encoder;
+
+    /*
+     * Funzione che ricostruisce un'etichetta dalla stringa letta dal
+     * dizionario.
+     */
+    private final Function<String, ? extends L> decoder;
+
+    /**
+     * Crea un formato che converte le etichette con due funzioni l'una
+     * inversa dell'altra.
+     *
+     * @param encoder
+     *                    la funzione che trasforma un'etichetta in stringa
+     * @param decoder
+     *                    la funzione che ricostruisce un'etichetta da una
+     *                    stringa
+     * @throws NullPointerException
+     *                                  se una delle funzioni è null
+     */
+    public GraphBinaryFormat(Function<? super L, String> encoder, Function<String, ? extends L> decoder) {
+        if (encoder == null || decoder == null) throw new NullPointerException("Funzione di conversione null");
+        this.encoder = encoder;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Scrive un grafo non orientato in un file, creandolo o sovrascrivendolo.
+     * Un {@code AdjacencyMatrixUndirectedGraph<L>} viene prima congelato con
+     * {@code freeze()}, un grafo CSR viene scritto direttamente. L'indice di
+     * ogni nodo nel file è quello che il nodo ha nel grafo CSR scritto.
+     *
+     * @param g
+     *                 il grafo da scrivere
+     * @param file
+     *                 il file in cui scrivere
+     * @throws IOException
+     *                                      se si verifica un errore nella
+     *                                      scrittura del file
+     * @throws NullPointerException
+     *                                      se uno dei parametri è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo passato è orientato
+     */
+    public void write(Graph<L> g, Path file) throws IOException {
+        write(AbstractCompressedSparseRowUndirectedGraph.toCompressedSparseRow(g), file, encoder);
+    }
+
+    /**
+     * Carica un grafo da un file scritto con {@code write}. Le etichette
+     * vengono lette e convertite subito, mentre la parte CSR viene mappata in
+     * memoria senza essere letta.
+     *
+     * @param file
+     *                 il file da caricare
+     * @return il grafo mappato in memoria
+     * @throws IOException
+     *                                  se il file non esiste, non è nel
+     *                                  formato atteso, è di una versione non
+     *                                  supportata, non contiene le etichette,
+     *                                  ha un dizionario delle etichette
+     *                                  corrotto o contiene etichette duplicate
+     * @throws NullPointerException
+     *                                  se il file passato è null
+     */
+    public MemoryMappedUndirectedGraph<L> load(Path file) throws IOException {
+        if (file == null) throw new NullPointerException("Il file passato è null");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            if (header.nodeCount > 0 && header.dictionarySize == 0)
+                throw new IOException("Il file non contiene le etichette dei nodi");
+            if (header.nodeCount > Integer.MAX_VALUE) throw new IOException("Troppi nodi nel file");
+            List<GraphNode<L>> nodes = new ArrayList<GraphNode<L>>((int) header.nodeCount);
+            // Il dizionario è letto in sequenza attraverso un flusso bufferizzato;
+            // il flusso non va chiuso per non chiudere il canale prima della mappatura
+            DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Channels.newInputStream(channel.position(HEADER_SIZE)), 1 << 16));
+            // Ogni lunghezza viene controllata prima di allocare l'array, così
+            // un file corrotto non può richiedere array negativi o enormi
+            long remaining = header.dictionarySize;
+            for (long i = 0; i < header.nodeCount; i++) {
+                if (remaining < Integer.BYTES) throw new IOException("Il dizionario delle etichette è corrotto");
+                int length = Integer.reverseBytes(in.readInt());
+                remaining -= Integer.BYTES;
+                if (length < 0 || length > remaining)
+                    throw new IOException("Lunghezza di un'etichetta non valida: " + length);
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                remaining -= length;
+                nodes.add(new GraphNode<L>(decoder.apply(new String(bytes, StandardCharsets.UTF_8))));
+            }
+            if (remaining != 0) throw new IOException("Il dizionario delle etichette è corrotto");
+            MemoryMappedUndirectedGraph<L> g = new MemoryMappedUndirectedGraph<L>(nodes, channel, header);
+            if (g.nodesIndex.size() != nodes.size()) throw new IOException("Il file contiene etichette duplicate");
+            return g;
+        } catch (EOFException e) {
+            throw new IOException("Il file è troncato", e);
+        }
+    }
+
+    /*
+     * Intestazione di un file letta da readHeader.
+     */
+    static final class Header {
+
+        final long nodeCount;
+
+        final long halfEdgeCount;
+
+        final long edgeCount;
+
+        final long dictionarySize;
+
+        Header(long nodeCount, long halfEdgeCount, long edgeCount, long dictionarySize) {
+            this.nodeCount = nodeCount;
+            this.halfEdgeCount = halfEdgeCount;
+            this.edgeCount = edgeCount;
+            this.dictionarySize = dictionarySize;
+        }
+
+        /*
+         * Posizione nel file della prima sezione CSR.
+         */
+        long sectionsPosition() {
+            return HEADER_SIZE + align(dictionarySize);
+        }
+    }
+
+    /*
+     * Legge e controlla l'intestazione all'inizio del canale.
+     */
+    static Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) throw new IOException("Il file è troncato");
+        }
+        header.flip();
+        if (header.getInt() != MAGIC) throw new IOException("Il file non è un grafo in formato binario");
+        int version = header.getInt();
+        if (version != VERSION) throw new IOException("Versione del formato non supportata: " + version);
+        Header result = new Header(header.getLong(), header.getLong(), header.getLong(), header.getLong());
+        if (result.nodeCount < 0 || result.halfEdgeCount < 0 || result.edgeCount < 0 || result.dictionarySize < 0)
+            throw new IOException("Intestazione non valida");
+        long expectedSize = result.sectionsPosition() + (result.nodeCount + 1) * Long.BYTES
+                + align(result.halfEdgeCount * Integer.BYTES) + result.halfEdgeCount * Double.BYTES;
+        if (channel.size() < expectedSize) throw new IOException("Il file è troncato");
+        return result;
+    }
+
+    /*
+     * Scrive un grafo CSR in un file. Se encoder è null il dizionario viene
+     * lasciato vuoto e il file contiene solo la struttura.
+     */
+    static <L> void write(AbstractCompressedSparseRowUndirectedGraph<L> csr, Path file,
+            Function<? super L, String> encoder) throws IOException {
+        if (file == null) throw new NullPointerException("Il file passato è null");
+        int n = csr.nodeCount();
+        long halfEdges = n == 0 ? 0 : csr.getRowEnd(n - 1);
+        long edgeCount = csr instanceof MemoryMappedUndirectedGraph
+                ? ((MemoryMappedUndirectedGraph<L>) csr).getEdgeCountAsLong()
+                : csr.edgeCount();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            // Dizionario: la sua dimensione si conosce solo dopo averlo scritto,
+            // quindi l'intestazione viene scritta per ultima
+            long position = HEADER_SIZE;
+            long dictionarySize = 0;
+            if (encoder != null) {
+                for (int i = 0; i < n; i++) {
+                    byte[] bytes = encoder.apply(csr.getNodeAtIndex(i).getLabel()).getBytes(StandardCharsets.UTF_8);
+                    if (buffer.remaining() < Integer.BYTES) position = flush(buffer, channel, position);
+                    buffer.putInt(bytes.length);
+                    if (bytes.length > buffer.remaining()) {
+                        position = flush(buffer, channel, position);
+                        // Le etichette più grandi del buffer vengono scritte direttamente
+                        if (bytes.length > buffer.capacity()) {
+                            ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+                            while (wrapped.hasRemaining()) position += channel.write(wrapped, position);
+                            dictionarySize += Integer.BYTES + bytes.length;
+                            continue;
+                        }
+                    }
+                    buffer.put(bytes);
+                    dictionarySize += Integer.BYTES + bytes.length;
+                }
+                for (long k = dictionarySize; k < align(dictionarySize); k++) {
+                    if (!buffer.hasRemaining()) position = flush(buffer, channel, position);
+                    buffer.put((byte) 0);
+                }
+            }
+            // Inizi delle righe: l'ultimo valore è la fine dell'ultima riga
+            for (int i = 0; i <= n; i++) {
+                if (buffer.remaining() < Long.BYTES) position = flush(buffer, channel, position);
+                buffer.putLong(i < n ? csr.getRowStart(i) : halfEdges);
+            }
+            // Indici dei vicini, con un int di riempimento se sono dispari
+            for (long p = 0; p < halfEdges; p++) {
+                if (buffer.remaining() < Integer.BYTES) position = flush(buffer, channel, position);
+                buffer.putInt(csr.getNeighborAt(p));
+            }
+            if (halfEdges % 2 != 0) {
+                if (buffer.remaining() < Integer.BYTES) position = flush(buffer, channel, position);
+                buffer.putInt(0);
+            }
+            // Pesi
+            for (long p = 0; p < halfEdges; p++) {
+                if (buffer.remaining() < Double.BYTES) position = flush(buffer, channel, position);
+                buffer.putDouble(csr.getWeightAt(p));
+            }
+            flush(buffer, channel, position);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(n).putLong(halfEdges).putLong(edgeCount)
+                    .putLong(dictionarySize);
+            flush(buffer, channel, 0);
+        }
+    }
+
+    /*
+     * Scrive nel canale il contenuto del buffer a partire da una certa
+     * posizione, svuota il buffer e restituisce la nuova posizione.
+     */
+    private static long flush(ByteBuffer buffer, FileChannel channel, long position) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) position += channel.write(buffer, position);
+        buffer.clear();
+        return position;
+    }
+
+    /*
+     * Arrotonda una dimensione in byte al multiplo di 8 successivo.
+     */
+    static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
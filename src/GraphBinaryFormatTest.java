@@ -0,0 +1,156 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe GraphBinaryFormat.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class GraphBinaryFormatTest {
+
+    private GraphBinaryFormat<String> stringFormat() {
+        return new GraphBinaryFormat<String>(s -> s, s -> s);
+    }
+
+    private void addEdge(Graph<String> gr, String l1, String l2, double w) {
+        gr.addEdge(new GraphEdge<String>(gr.getNodeOf(l1), gr.getNodeOf(l2), false, w));
+    }
+
+    @Test
+    final void testWriteAndLoadMatrixGraph() throws IOException {
+        AdjacencyMatrixUndirectedGraph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        // Etichette di lunghezze diverse e con caratteri non ASCII
+        String[] labels = { "a", "città", "nodo-lungo-quanto-basta", "", "ε" };
+        for (String label : labels) gr.addNode(new GraphNode<String>(label));
+        addEdge(gr, "a", "città", 1.5);
+        addEdge(gr, "città", "ε", 2);
+        addEdge(gr, "", "", 3);
+        addEdge(gr, "nodo-lungo-quanto-basta", "a", -4);
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            GraphBinaryFormat<String> format = stringFormat();
+            format.write(gr, file);
+            MemoryMappedUndirectedGraph<String> loaded = format.load(file);
+            assertEquals(gr.getNodes(), loaded.getNodes());
+            assertEquals(gr.getEdges(), loaded.getEdges());
+            assertEquals(gr.edgeCount(), loaded.edgeCount());
+            for (String label : labels) {
+                assertEquals(gr.getNodeIndexOf(label), loaded.getNodeIndexOf(label));
+                assertEquals(gr.getDegreeOf(gr.getNodeOf(label)), loaded.getDegreeOf(loaded.getNodeOf(label)));
+            }
+            for (GraphEdge<String> edge : loaded.getEdges()) {
+                for (GraphEdge<String> original : gr.getEdges())
+                    if (original.equals(edge)) assertEquals(original.getWeight(), edge.getWeight());
+            }
+            // Anche un file con le etichette si può aprire fornendo i nodi
+            assertEquals(gr.getEdges(), MemoryMappedUndirectedGraph.open(file, loaded.nodes).getEdges());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    final void testIntegerLabelsRoundTrip() throws IOException {
+        Random random = new Random(3);
+        Graph<Integer> g = new AdjacencyListUndirectedGraph<Integer>();
+        for (int i = 0; i < 500; i++) g.addNode(new GraphNode<Integer>(i * 7));
+        for (int k = 0; k < 2000; k++) {
+            int u = random.nextInt(500) * 7;
+            int v = random.nextInt(500) * 7;
+            g.addEdge(new GraphEdge<Integer>(g.getNodeOf(u), g.getNodeOf(v), false, random.nextDouble()));
+        }
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            GraphBinaryFormat<Integer> format = new GraphBinaryFormat<Integer>(String::valueOf, Integer::valueOf);
+            format.write(g, file);
+            Graph<Integer> loaded = format.load(file);
+            assertEquals(g.getNodes(), loaded.getNodes());
+            assertEquals(g.getEdges(), loaded.getEdges());
+            // Scrivere di nuovo il grafo caricato produce lo stesso file
+            Path copy = Files.createTempFile("graph", ".bin");
+            try {
+                format.write(loaded, copy);
+                assertArrayEquals(Files.readAllBytes(file), Files.readAllBytes(copy));
+            } finally {
+                Files.deleteIfExists(copy);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    final void testInvalidFiles() throws IOException {
+        GraphBinaryFormat<String> format = stringFormat();
+        assertThrows(NullPointerException.class, () -> new GraphBinaryFormat<String>(null, s -> s));
+        assertThrows(NullPointerException.class, () -> format.load(null));
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            // File vuoto
+            assertThrows(IOException.class, () -> format.load(file));
+            // Numero magico sbagliato
+            Files.write(file, new byte[64]);
+            assertThrows(IOException.class, () -> format.load(file));
+            // Versione non supportata
+            AdjacencyMatrixUndirectedGraph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+            gr.addNode(new GraphNode<String>("a"));
+            format.write(gr, file);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer version = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                version.putInt(GraphBinaryFormat.VERSION + 1).flip();
+                channel.write(version, Integer.BYTES);
+            }
+            assertThrows(IOException.class, () -> format.load(file));
+            // File troncato
+            format.write(gr, file);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 1);
+            }
+            assertThrows(IOException.class, () -> format.load(file));
+            // Lunghezza negativa della prima etichetta
+            format.write(gr, file);
+            writeIntAt(file, GraphBinaryFormat.HEADER_SIZE, -1);
+            assertThrows(IOException.class, () -> format.load(file));
+            // Lunghezza che supera il dizionario
+            writeIntAt(file, GraphBinaryFormat.HEADER_SIZE, 1 << 30);
+            assertThrows(IOException.class, () -> format.load(file));
+            // Dimensione del dizionario nell'intestazione diversa da quella letta
+            format.write(gr, file);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer size = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                size.putLong(Integer.BYTES + 2).flip();
+                channel.write(size, GraphBinaryFormat.HEADER_SIZE - Long.BYTES);
+            }
+            assertThrows(IOException.class, () -> format.load(file));
+            // File senza etichette
+            MemoryMappedUndirectedGraph.store(gr, file);
+            assertThrows(IOException.class, () -> format.load(file));
+            // Conversione non iniettiva
+            gr.addNode(new GraphNode<String>("b"));
+            new GraphBinaryFormat<String>(s -> "x", s -> s).write(gr, file);
+            assertThrows(IOException.class, () -> format.load(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Sovrascrive un intero little endian in una posizione del file
+    private static void writeIntAt(Path file, long position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(value).flip();
+            channel.write(buffer, position);
+        }
+    }
+}
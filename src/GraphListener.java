@@ -0,0 +1,72 @@
+/**
+ * Ascoltatore delle modifiche di un {@code Graph<L>}. Viene avvisato dal
+ * grafo a cui è registrato, tramite {@code Graph.addGraphListener}, dopo ogni
+ * operazione che ha effettivamente modificato il grafo: un inserimento di un
+ * nodo o di un arco già presente, o una rimozione di qualcosa che non c'era,
+ * non generano avvisi.
+ *
+ * Tutti i metodi hanno un'implementazione vuota, così un ascoltatore ridefinisce
+ * solo quelli che gli interessano. Gli avvisi arrivano sul thread che ha
+ * modificato il grafo, prima che il metodo di modifica termini.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi del grafo
+ */
+public interface GraphListener<L> {
+
+    /**
+     * Un nodo è stato aggiunto al grafo.
+     *
+     * @param graph
+     *                  il grafo modificato
+     * @param node
+     *                  il nodo aggiunto
+     */
+    default void nodeAdded(Graph<L> graph, GraphNode<L> node) {
+    }
+
+    /**
+     * Un nodo è stato rimosso dal grafo insieme a tutti i suoi archi, per i
+     * quali non arrivano avvisi separati.
+     *
+     * @param graph
+     *                  il grafo modificato
+     * @param node
+     *                  il nodo rimosso
+     */
+    default void nodeRemoved(Graph<L> graph, GraphNode<L> node) {
+    }
+
+    /**
+     * Un arco è stato aggiunto al grafo.
+     *
+     * @param graph
+     *                  il grafo modificato
+     * @param edge
+     *                  l'arco aggiunto
+     */
+    default void edgeAdded(Graph<L> graph, GraphEdge<L> edge) {
+    }
+
+    /**
+     * Un arco è stato rimosso dal grafo.
+     *
+     * @param graph
+     *                  il grafo modificato
+     * @param edge
+     *                  l'arco rimosso
+     */
+    default void edgeRemoved(Graph<L> graph, GraphEdge<L> edge) {
+    }
+
+    /**
+     * Tutti i nodi e gli archi sono stati cancellati dal grafo.
+     *
+     * @param graph
+     *                  il grafo modificato
+     */
+    default void cleared(Graph<L> graph) {
+    }
+}
@@ -0,0 +1,220 @@
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che tiene aggiornate le componenti connesse di un grafo non orientato
+ * mentre il grafo viene modificato, senza ricalcolarle da capo con
+ * {@code UndirectedGraphConnectedComponentsComputer<L>} a ogni domanda.
+ *
+ * Il tracciatore si registra come {@code GraphListener<L>} del grafo e tiene
+ * i nodi in una {@code ForestDisjointSets<GraphNode<L>>}: un nodo aggiunto
+ * diventa un nuovo insieme e un arco aggiunto unisce gli insiemi dei suoi
+ * estremi, così le domande su due nodi richiedono tempo quasi costante. Gli
+ * insiemi disgiunti non permettono di dividere un insieme, quindi dopo la
+ * rimozione di un nodo o di un arco le componenti vengono ricalcolate dal grafo
+ * alla prima domanda successiva.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class IncrementalConnectedComponentsTracker<L> implements GraphListener<L> {
+
+    /*
+     * Grafo seguito, null dopo detach.
+     */
+    private Graph<L> graph;
+
+    /*
+     * Insiemi disgiunti dei nodi, uno per componente connessa.
+     */
+    private final ForestDisjointSets<GraphNode<L>> forest;
+
+    // Vero se dopo una rimozione la foresta va ricostruita dal grafo
+    private boolean stale;
+
+    /**
+     * Costruisce un tracciatore delle componenti connesse di un grafo non
+     * orientato e lo registra come ascoltatore del grafo.
+     *
+     * @param g
+     *              un grafo non orientato
+     * @throws NullPointerException
+     *                                      se il grafo g è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo g è orientato
+     */
+    public IncrementalConnectedComponentsTracker(Graph<L> g) {
+        if (g == null) throw new NullPointerException("Il grafo passato è null");
+        if (g.isDirected()) throw new IllegalArgumentException("Il grafo passato è orientato");
+        this.graph = g;
+        this.forest = new ForestDisjointSets<GraphNode<L>>();
+        rebuild();
+        g.addGraphListener(this);
+    }
+
+    @Override
+    public void nodeAdded(Graph<L> g, GraphNode<L> node) {
+        if (stale) return;
+        forest.makeSet(node);
+    }
+
+    @Override
+    public void nodeRemoved(Graph<L> g, GraphNode<L> node) {
+        stale = true;
+    }
+
+    @Override
+    public void edgeAdded(Graph<L> g, GraphEdge<L> edge) {
+        if (stale) return;
+        // Se gli estremi sono già nello stesso insieme union non fa nulla
+        forest.union(edge.getNode1(), edge.getNode2());
+    }
+
+    @Override
+    public void edgeRemoved(Graph<L> g, GraphEdge<L> edge) {
+        stale = true;
+    }
+
+    @Override
+    public void cleared(Graph<L> g) {
+        forest.clear();
+        stale = false;
+    }
+
+    /**
+     * Restituisce il numero di componenti connesse del grafo.
+     *
+     * @return il numero di componenti connesse
+     * @throws IllegalStateException
+     *                                   se il tracciatore è stato staccato dal
+     *                                   grafo
+     */
+    public int getNumberOfComponents() {
+        ensureUpToDate();
+        return forest.getNumberOfSets();
+    }
+
+    /**
+     * Determina se due nodi del grafo sono nella stessa componente connessa.
+     *
+     * @param node1
+     *                  il primo nodo
+     * @param node2
+     *                  il secondo nodo
+     * @return true se i due nodi sono collegati da un cammino
+     * @throws NullPointerException
+     *                                      se uno dei due nodi è null
+     * @throws IllegalArgumentException
+     *                                      se uno dei due nodi non è nel grafo
+     * @throws IllegalStateException
+     *                                      se il tracciatore è stato staccato
+     *                                      dal grafo
+     */
+    public boolean areConnected(GraphNode<L> node1, GraphNode<L> node2) {
+        return getRepresentativeOf(node1).equals(getRepresentativeOf(node2));
+    }
+
+    /**
+     * Restituisce il rappresentante della componente connessa di un nodo: due
+     * nodi sono nella stessa componente se e solo se hanno lo stesso
+     * rappresentante, finché il grafo non viene modificato.
+     *
+     * @param node
+     *                 il nodo
+     * @return il rappresentante della componente del nodo
+     * @throws NullPointerException
+     *                                      se il nodo è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo non è nel grafo
+     * @throws IllegalStateException
+     *                                      se il tracciatore è stato staccato
+     *                                      dal grafo
+     */
+    public GraphNode<L> getRepresentativeOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il nodo passato è null");
+        ensureUpToDate();
+        if (!forest.isPresent(node)) throw new IllegalArgumentException("Il nodo passato non è nel grafo");
+        return forest.findSet(node);
+    }
+
+    /**
+     * Restituisce la componente connessa di un nodo. Richiede tempo
+     * proporzionale al numero di nodi della componente.
+     *
+     * @param node
+     *                 il nodo
+     * @return un nuovo insieme con i nodi della componente del nodo
+     * @throws NullPointerException
+     *                                      se il nodo è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo non è nel grafo
+     * @throws IllegalStateException
+     *                                      se il tracciatore è stato staccato
+     *                                      dal grafo
+     */
+    public Set<GraphNode<L>> getComponentOf(GraphNode<L> node) {
+        // getRepresentativeOf controlla il nodo e ricostruisce la foresta se
+        // serve
+        getRepresentativeOf(node);
+        return forest.getCurrentElementsOfSetContaining(node);
+    }
+
+    /**
+     * Restituisce le componenti connesse del grafo, come
+     * {@code UndirectedGraphConnectedComponentsComputer<L>}.
+     *
+     * @return un insieme di componenti connesse, ognuna rappresentata da un
+     *         insieme di nodi del grafo
+     * @throws IllegalStateException
+     *                                   se il tracciatore è stato staccato dal
+     *                                   grafo
+     */
+    public Set<Set<GraphNode<L>>> getConnectedComponents() {
+        ensureUpToDate();
+        Map<GraphNode<L>, Set<GraphNode<L>>> componentOf = new HashMap<GraphNode<L>, Set<GraphNode<L>>>();
+        for (GraphNode<L> node : graph.getNodes()) {
+            GraphNode<L> representative = forest.findSet(node);
+            Set<GraphNode<L>> component = componentOf.get(representative);
+            if (component == null) {
+                component = new HashSet<GraphNode<L>>();
+                componentOf.put(representative, component);
+            }
+            component.add(node);
+        }
+        // Le componenti vengono aggiunte solo quando sono complete, perché il
+        // codice hash di un Set dipende dal suo contenuto
+        return new HashSet<Set<GraphNode<L>>>(componentOf.values());
+    }
+
+    /**
+     * Toglie il tracciatore dagli ascoltatori del grafo. Dopo la chiamata le
+     * domande sulle componenti lanciano IllegalStateException.
+     */
+    public void detach() {
+        if (graph == null) return;
+        graph.removeGraphListener(this);
+        graph = null;
+        forest.clear();
+    }
+
+    private void ensureUpToDate() {
+        if (graph == null) throw new IllegalStateException("Il tracciatore è stato staccato dal grafo");
+        if (stale) rebuild();
+    }
+
+    /*
+     * Ricostruisce la foresta dai nodi e dagli archi attuali del grafo.
+     */
+    private void rebuild() {
+        forest.clear();
+        stale = false;
+        for (GraphNode<L> node : graph.getNodes()) nodeAdded(graph, node);
+        for (GraphEdge<L> edge : graph.getEdges()) edgeAdded(graph, edge);
+    }
+}
@@ -0,0 +1,144 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe IncrementalConnectedComponentsTracker.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class IncrementalConnectedComponentsTrackerTest {
+
+    @Test
+    final void testIncrementalInsertions() {
+        Graph<String> g = new AdjacencyListUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        g.addNode(a);
+        IncrementalConnectedComponentsTracker<String> tracker = new IncrementalConnectedComponentsTracker<String>(g);
+        assertEquals(1, tracker.getNumberOfComponents());
+        g.addNode(b);
+        g.addNode(c);
+        assertEquals(3, tracker.getNumberOfComponents());
+        assertFalse(tracker.areConnected(a, b));
+        g.addEdge(new GraphEdge<String>(a, b, false, 1));
+        assertTrue(tracker.areConnected(a, b));
+        assertEquals(2, tracker.getNumberOfComponents());
+        // Un arco dentro una componente e un cappio non cambiano nulla
+        g.addEdge(new GraphEdge<String>(b, a, false, 2));
+        g.addEdge(new GraphEdge<String>(c, c, false, 3));
+        assertEquals(2, tracker.getNumberOfComponents());
+        Set<GraphNode<String>> ab = new HashSet<GraphNode<String>>();
+        ab.add(a);
+        ab.add(b);
+        assertEquals(ab, tracker.getComponentOf(b));
+        assertEquals(tracker.getRepresentativeOf(a), tracker.getRepresentativeOf(b));
+        g.addEdge(new GraphEdge<String>(b, c, false, 4));
+        assertEquals(1, tracker.getNumberOfComponents());
+        assertTrue(tracker.areConnected(a, c));
+    }
+
+    @Test
+    final void testDeletionsAndClear() {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        g.addNode(a);
+        g.addNode(b);
+        g.addNode(c);
+        GraphEdge<String> ab = new GraphEdge<String>(a, b, false, 1);
+        g.addEdge(ab);
+        g.addEdge(new GraphEdge<String>(b, c, false, 2));
+        IncrementalConnectedComponentsTracker<String> tracker = new IncrementalConnectedComponentsTracker<String>(g);
+        assertEquals(1, tracker.getNumberOfComponents());
+        g.removeEdge(ab);
+        assertEquals(2, tracker.getNumberOfComponents());
+        assertFalse(tracker.areConnected(a, c));
+        assertTrue(tracker.areConnected(b, c));
+        // Gli inserimenti dopo una rimozione non ancora recepita non si perdono
+        g.removeNode(b);
+        g.addEdge(new GraphEdge<String>(a, c, false, 3));
+        assertEquals(1, tracker.getNumberOfComponents());
+        assertThrows(IllegalArgumentException.class, () -> tracker.areConnected(a, b));
+        g.clear();
+        assertEquals(0, tracker.getNumberOfComponents());
+        assertTrue(tracker.getConnectedComponents().isEmpty());
+        g.addNode(a);
+        assertEquals(1, tracker.getNumberOfComponents());
+    }
+
+    @Test
+    final void testAgreesWithComputer() {
+        Random random = new Random(7);
+        List<Graph<Integer>> graphs = new ArrayList<Graph<Integer>>();
+        graphs.add(new AdjacencyMatrixUndirectedGraph<Integer>());
+        graphs.add(new AdjacencyListUndirectedGraph<Integer>());
+        graphs.add(new PackedAdjacencyMatrixUndirectedGraph<Integer>());
+        for (Graph<Integer> g : graphs) {
+            IncrementalConnectedComponentsTracker<Integer> tracker = new IncrementalConnectedComponentsTracker<Integer>(
+                    g);
+            List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+            List<GraphEdge<Integer>> edges = new ArrayList<GraphEdge<Integer>>();
+            for (int step = 0; step < 300; step++) {
+                int op = random.nextInt(10);
+                if (op < 3 || nodes.size() < 2) {
+                    GraphNode<Integer> node = new GraphNode<Integer>(step);
+                    g.addNode(node);
+                    nodes.add(node);
+                } else if (op < 8) {
+                    GraphEdge<Integer> edge = new GraphEdge<Integer>(nodes.get(random.nextInt(nodes.size())),
+                            nodes.get(random.nextInt(nodes.size())), false, 1);
+                    if (g.addEdge(edge)) edges.add(edge);
+                } else if (op < 9 && !edges.isEmpty()) {
+                    g.removeEdge(edges.remove(random.nextInt(edges.size())));
+                } else {
+                    GraphNode<Integer> node = nodes.remove(random.nextInt(nodes.size()));
+                    g.removeNode(node);
+                    edges.removeIf(e -> e.getNode1().equals(node) || e.getNode2().equals(node));
+                }
+                if (step % 10 == 0) {
+                    Set<Set<GraphNode<Integer>>> expected = new UndirectedGraphConnectedComponentsComputer<Integer>()
+                            .computeConnectedComponents(g);
+                    assertEquals(expected, tracker.getConnectedComponents());
+                    assertEquals(expected.size(), tracker.getNumberOfComponents());
+                }
+            }
+        }
+    }
+
+    @Test
+    final void testDetach() {
+        Graph<String> g = new AdjacencyListUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        g.addNode(a);
+        IncrementalConnectedComponentsTracker<String> tracker = new IncrementalConnectedComponentsTracker<String>(g);
+        assertTrue(g.removeGraphListener(tracker));
+        g.addGraphListener(tracker);
+        tracker.detach();
+        assertFalse(g.removeGraphListener(tracker));
+        assertThrows(IllegalStateException.class, () -> tracker.getNumberOfComponents());
+        g.addNode(new GraphNode<String>("b"));
+    }
+
+    @Test
+    final void testExceptions() {
+        assertThrows(NullPointerException.class, () -> new IncrementalConnectedComponentsTracker<String>(null));
+        Graph<String> g = new AdjacencyListUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        g.addNode(a);
+        IncrementalConnectedComponentsTracker<String> tracker = new IncrementalConnectedComponentsTracker<String>(g);
+        assertThrows(NullPointerException.class, () -> tracker.areConnected(a, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> tracker.getComponentOf(new GraphNode<String>("z")));
+        assertThrows(NullPointerException.class, () -> g.addGraphListener(null));
+    }
+}
@@ -0,0 +1,229 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che mantiene una foresta di copertura minima di un grafo non
+ * orientato, pesato e con pesi non negativi a cui vengono aggiunti archi uno
+ * alla volta, senza ricalcolarla da capo con {@code KruskalMSP<L>} dopo ogni
+ * inserimento.
+ *
+ * Per la proprietà dei cicli, quando arriva un arco (u, v) di peso w:
+ * <ul>
+ * <li>se u e v sono in alberi diversi della foresta l'arco entra nella
+ * foresta e unisce i due alberi;</li>
+ * <li>altrimenti l'arco chiude un ciclo con il cammino tra u e v nella
+ * foresta: se l'arco più pesante del cammino pesa più di w viene tolto dalla
+ * foresta e sostituito dal nuovo arco, in caso contrario il nuovo arco viene
+ * scartato.</li>
+ * </ul>
+ *
+ * La foresta è rappresentata con un {@code LinkCutTree} in cui sia i nodi sia
+ * gli archi della foresta sono nodi: un arco (u, v) è un nodo collegato a u e
+ * a v che ha come valore il peso dell'arco, mentre i nodi del grafo hanno
+ * valore -infinito. Così l'arco più pesante del cammino tra u e v è il nodo di
+ * valore massimo del cammino, e ogni inserimento richiede tempo O(log n)
+ * ammortizzato. Il nodo dell'arco tolto dalla foresta viene riusato per
+ * l'arco che lo sostituisce.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class IncrementalMSP<L> {
+
+    /*
+     * Indice di ogni nodo del grafo nel LinkCutTree.
+     */
+    private final Map<GraphNode<L>, Integer> nodesIndex;
+
+    /*
+     * Arco rappresentato da ogni nodo del LinkCutTree, null per i nodi del
+     * grafo.
+     */
+    private final List<GraphEdge<L>> edgeOfNode;
+
+    /*
+     * Archi della foresta e indice del loro nodo nel LinkCutTree.
+     */
+    private final Map<GraphEdge<L>, Integer> forestEdges;
+
+    private final LinkCutTree tree;
+
+    // Somma dei pesi degli archi della foresta
+    private double totalWeight;
+
+    /**
+     * Costruisce una foresta vuota, per un grafo senza nodi.
+     */
+    public IncrementalMSP() {
+        this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        this.edgeOfNode = new ArrayList<GraphEdge<L>>();
+        this.forestEdges = new HashMap<GraphEdge<L>, Integer>();
+        this.tree = new LinkCutTree();
+    }
+
+    /**
+     * Costruisce la foresta di copertura minima di un grafo, a cui si potranno
+     * poi aggiungere archi. La foresta iniziale viene calcolata con
+     * {@code KruskalMSP<L>}.
+     *
+     * @param g
+     *              un grafo non orientato, pesato, con pesi non negativi
+     * @throws NullPointerException
+     *                                      se il grafo g è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo g è orientato, non
+     *                                      pesato o con pesi negativi
+     */
+    public IncrementalMSP(Graph<L> g) {
+        this();
+        Set<GraphEdge<L>> initial = new KruskalMSP<L>().computeMSP(g);
+        for (GraphNode<L> node : g.getNodes()) addNode(node);
+        for (GraphEdge<L> edge : initial) addEdge(edge);
+    }
+
+    /**
+     * Aggiunge un nodo isolato.
+     *
+     * @param node
+     *                 il nodo da aggiungere
+     * @return true se il nodo è stato aggiunto, false se era già presente
+     * @throws NullPointerException
+     *                                  se il nodo passato è null
+     */
+    public boolean addNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il nodo passato è null");
+        if (nodesIndex.containsKey(node)) return false;
+        nodesIndex.put(node, tree.addNode(Double.NEGATIVE_INFINITY));
+        edgeOfNode.add(null);
+        return true;
+    }
+
+    /**
+     * Determina se un nodo è presente.
+     *
+     * @param node
+     *                 il nodo
+     * @return true se il nodo è presente
+     * @throws NullPointerException
+     *                                  se il nodo passato è null
+     */
+    public boolean containsNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il nodo passato è null");
+        return nodesIndex.containsKey(node);
+    }
+
+    /**
+     * Aggiunge un arco al grafo e aggiorna la foresta di copertura minima. Gli
+     * estremi dell'arco non ancora presenti vengono aggiunti. A parità di peso
+     * viene mantenuto l'arco già presente nella foresta.
+     *
+     * @param edge
+     *                 l'arco da aggiungere
+     * @return true se l'arco è entrato nella foresta, false se è stato
+     *         scartato
+     * @throws NullPointerException
+     *                                      se l'arco passato è null
+     * @throws IllegalArgumentException
+     *                                      se l'arco è orientato, non pesato o
+     *                                      con peso negativo
+     */
+    public boolean addEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("L'arco passato è null");
+        if (edge.isDirected()) throw new IllegalArgumentException("Un arco Orientato non è aggiungibile");
+        double w = edge.getWeight();
+        if (!edge.hasWeight() || w < 0) throw new IllegalArgumentException("L'arco ha un peso non valido");
+        addNode(edge.getNode1());
+        addNode(edge.getNode2());
+        int u = nodesIndex.get(edge.getNode1());
+        int v = nodesIndex.get(edge.getNode2());
+        // Un cappio non entra mai nella foresta
+        if (u == v) return false;
+
+        int x;
+        if (!tree.connected(u, v)) {
+            x = newEdgeNode(edge);
+        } else {
+            // L'arco più pesante del cammino tra u e v
+            x = tree.pathMax(u, v);
+            if (tree.getValue(x) <= w) return false;
+            GraphEdge<L> heaviest = edgeOfNode.get(x);
+            tree.cut(x, nodesIndex.get(heaviest.getNode1()));
+            tree.cut(x, nodesIndex.get(heaviest.getNode2()));
+            forestEdges.remove(heaviest);
+            totalWeight -= heaviest.getWeight();
+            // Il nodo, ora isolato, rappresenta il nuovo arco
+            tree.setValue(x, w);
+            edgeOfNode.set(x, edge);
+        }
+        tree.link(x, u);
+        tree.link(x, v);
+        forestEdges.put(edge, x);
+        totalWeight += w;
+        return true;
+    }
+
+    /**
+     * Determina se due nodi sono collegati da un cammino nel grafo.
+     *
+     * @param node1
+     *                  il primo nodo
+     * @param node2
+     *                  il secondo nodo
+     * @return true se i due nodi sono collegati
+     * @throws NullPointerException
+     *                                      se uno dei due nodi è null
+     * @throws IllegalArgumentException
+     *                                      se uno dei due nodi non è presente
+     */
+    public boolean areConnected(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null) throw new NullPointerException("Il nodo passato è null");
+        Integer u = nodesIndex.get(node1);
+        Integer v = nodesIndex.get(node2);
+        if (u == null || v == null) throw new IllegalArgumentException("Il nodo passato non è presente");
+        return tree.connected(u, v);
+    }
+
+    /**
+     * Restituisce gli archi della foresta di copertura minima attuale.
+     *
+     * @return un nuovo insieme con gli archi della foresta
+     */
+    public Set<GraphEdge<L>> getMinimumSpanningForest() {
+        return new HashSet<GraphEdge<L>>(forestEdges.keySet());
+    }
+
+    /**
+     * Restituisce il numero di archi della foresta di copertura minima
+     * attuale.
+     *
+     * @return il numero di archi della foresta
+     */
+    public int getForestEdgeCount() {
+        return forestEdges.size();
+    }
+
+    /**
+     * Restituisce la somma dei pesi degli archi della foresta di copertura
+     * minima attuale.
+     *
+     * @return il peso totale della foresta
+     */
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+
+    // Crea il nodo del LinkCutTree che rappresenta un arco
+    private int newEdgeNode(GraphEdge<L> edge) {
+        int x = tree.addNode(edge.getWeight());
+        edgeOfNode.add(edge);
+        return x;
+    }
+}
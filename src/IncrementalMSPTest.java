@@ -0,0 +1,92 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe IncrementalMSP.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class IncrementalMSPTest {
+
+    @Test
+    final void testAddEdge() {
+        IncrementalMSP<String> msp = new IncrementalMSP<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        GraphNode<String> d = new GraphNode<String>("d");
+        assertTrue(msp.addNode(d));
+        assertFalse(msp.addNode(d));
+        assertTrue(msp.addEdge(new GraphEdge<String>(a, b, false, 5)));
+        assertTrue(msp.containsNode(a));
+        assertTrue(msp.addEdge(new GraphEdge<String>(b, c, false, 4)));
+        assertTrue(msp.areConnected(a, c));
+        assertFalse(msp.areConnected(a, d));
+        // Chiude il ciclo a-b-c ed è più pesante di entrambi gli archi
+        assertFalse(msp.addEdge(new GraphEdge<String>(a, c, false, 6)));
+        // A parità di peso resta l'arco già presente
+        assertFalse(msp.addEdge(new GraphEdge<String>(a, c, false, 5)));
+        // Più leggero di a-b: lo sostituisce
+        assertTrue(msp.addEdge(new GraphEdge<String>(a, c, false, 1)));
+        assertFalse(msp.getMinimumSpanningForest().contains(new GraphEdge<String>(a, b, false)));
+        assertEquals(5.0, msp.getTotalWeight());
+        // Arco parallelo più leggero di uno della foresta
+        assertTrue(msp.addEdge(new GraphEdge<String>(c, b, false, 2)));
+        assertEquals(3.0, msp.getTotalWeight());
+        assertEquals(2, msp.getForestEdgeCount());
+        assertEquals(2.0, msp.getMinimumSpanningForest().stream()
+                .filter(e -> e.equals(new GraphEdge<String>(b, c, false))).findAny().get().getWeight());
+        // Un cappio non entra mai
+        assertFalse(msp.addEdge(new GraphEdge<String>(d, d, false, 0)));
+        assertTrue(msp.addEdge(new GraphEdge<String>(d, a, false, 7)));
+        assertEquals(3, msp.getForestEdgeCount());
+    }
+
+    @Test
+    final void testAgainstKruskal() {
+        // Dopo ogni blocco di inserimenti casuali la foresta deve pesare come
+        // quella calcolata da capo
+        Random random = new Random(21);
+        int n = 300;
+        Graph<Integer> gr = new AdjacencyListUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++) gr.addNode(new GraphNode<Integer>(i));
+        IncrementalMSP<Integer> msp = new IncrementalMSP<Integer>(gr);
+        KruskalMSP<Integer> kruskal = new KruskalMSP<Integer>();
+        for (int k = 1; k <= 3000; k++) {
+            GraphNode<Integer> u = new GraphNode<Integer>(random.nextInt(n));
+            GraphNode<Integer> v = new GraphNode<Integer>(random.nextInt(n));
+            GraphEdge<Integer> edge = new GraphEdge<Integer>(u, v, false, random.nextInt(1000));
+            if (!gr.addEdge(edge)) continue;
+            msp.addEdge(edge);
+            if (k % 250 == 0) {
+                Set<GraphEdge<Integer>> expected = kruskal.computeMSP(gr);
+                assertEquals(expected.size(), msp.getForestEdgeCount());
+                assertEquals(MSPTestUtils.totalWeight(expected), msp.getTotalWeight());
+                assertEquals(MSPTestUtils.totalWeight(expected), MSPTestUtils.totalWeight(msp.getMinimumSpanningForest()));
+            }
+        }
+        // La foresta iniziale calcolata dal costruttore
+        IncrementalMSP<Integer> rebuilt = new IncrementalMSP<Integer>(gr);
+        assertEquals(msp.getTotalWeight(), rebuilt.getTotalWeight());
+        assertEquals(msp.getForestEdgeCount(), rebuilt.getForestEdgeCount());
+    }
+
+    @Test
+    final void exceptionsTest() {
+        IncrementalMSP<String> msp = new IncrementalMSP<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        assertThrows(NullPointerException.class, () -> msp.addNode(null));
+        assertThrows(NullPointerException.class, () -> msp.addEdge(null));
+        assertThrows(NullPointerException.class, () -> new IncrementalMSP<String>(null));
+        assertThrows(IllegalArgumentException.class, () -> msp.addEdge(new GraphEdge<String>(a, b, true, 1)));
+        assertThrows(IllegalArgumentException.class, () -> msp.addEdge(new GraphEdge<String>(a, b, false)));
+        assertThrows(IllegalArgumentException.class, () -> msp.addEdge(new GraphEdge<String>(a, b, false, -1)));
+        assertThrows(IllegalArgumentException.class, () -> msp.areConnected(a, b));
+    }
+}
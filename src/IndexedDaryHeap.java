@@ -0,0 +1,262 @@
+import java.util.NoSuchElementException;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Coda con priorità minima sugli interi da 0 a capacity() - 1, ognuno con una
+ * chiave di tipo double, che permette di diminuire la chiave di un elemento
+ * già presente (decrease-key). È pensata per gli algoritmi che lavorano sugli
+ * indici dei nodi di un grafo, come Prim e Dijkstra.
+ *
+ * Lo heap è d-ario: ogni nodo ha fino a d figli, quindi l'altezza è log_d(n).
+ * Con d maggiore di 2 decreaseKey, che risale lo heap, fa meno passi, mentre
+ * extractMin, che scende confrontando i figli, ne fa di più; nei grafi in cui
+ * le diminuzioni di chiave sono molte più delle estrazioni conviene quindi
+ * un d tra 4 e 8. Tutti i dati sono in array di tipi primitivi: {@code heap}
+ * contiene gli elementi nell'ordine dello heap, {@code position[i]} è la
+ * posizione dell'elemento i nello heap (-1 se non è presente) e
+ * {@code keys[i]} è la sua chiave.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+public class IndexedDaryHeap {
+
+    /**
+     * Numero di figli per nodo usato dal costruttore con un solo parametro.
+     */
+    public static final int DEFAULT_ARITY = 4;
+
+    // Numero di figli per nodo
+    private final int arity;
+
+    // Elementi nell'ordine dello heap, nelle posizioni da 0 a size - 1
+    private final int[] heap;
+
+    // Posizione di ogni elemento nello heap, -1 se non è presente
+    private final int[] position;
+
+    // Chiave di ogni elemento presente
+    private final double[] keys;
+
+    // Numero di elementi presenti
+    private int size;
+
+    /**
+     * Costruisce una coda vuota per gli interi da 0 a capacity - 1 con
+     * {@code DEFAULT_ARITY} figli per nodo.
+     *
+     * @param capacity
+     *                     il numero di elementi possibili
+     * @throws IllegalArgumentException
+     *                                      se capacity è negativo
+     */
+    public IndexedDaryHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * Costruisce una coda vuota per gli interi da 0 a capacity - 1 con un
+     * certo numero di figli per nodo.
+     *
+     * @param capacity
+     *                     il numero di elementi possibili
+     * @param arity
+     *                     il numero di figli per nodo
+     * @throws IllegalArgumentException
+     *                                      se capacity è negativo o arity è
+     *                                      minore di 2
+     */
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (capacity < 0) throw new IllegalArgumentException("La capacità non può essere negativa");
+        if (arity < 2) throw new IllegalArgumentException("Il numero di figli deve essere almeno 2");
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new double[capacity];
+        for (int i = 0; i < capacity; i++) position[i] = -1;
+    }
+
+    /**
+     * Restituisce il numero di elementi possibili.
+     *
+     * @return il numero di elementi possibili
+     */
+    public int capacity() {
+        return heap.length;
+    }
+
+    /**
+     * Restituisce il numero di elementi presenti.
+     *
+     * @return il numero di elementi presenti
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Determina se la coda è vuota.
+     *
+     * @return true se non ci sono elementi
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Determina se un elemento è presente.
+     *
+     * @param i
+     *              l'elemento
+     * @return true se l'elemento è presente
+     * @throws IndexOutOfBoundsException
+     *                                       se i non è compreso tra 0 e
+     *                                       capacity() - 1
+     */
+    public boolean contains(int i) {
+        checkElement(i);
+        return position[i] >= 0;
+    }
+
+    /**
+     * Restituisce la chiave di un elemento presente.
+     *
+     * @param i
+     *              l'elemento
+     * @return la chiave dell'elemento
+     * @throws IndexOutOfBoundsException
+     *                                       se i non è compreso tra 0 e
+     *                                       capacity() - 1
+     * @throws IllegalArgumentException
+     *                                       se l'elemento non è presente
+     */
+    public double getKey(int i) {
+        if (!contains(i)) throw new IllegalArgumentException("L'elemento non è presente: " + i);
+        return keys[i];
+    }
+
+    /**
+     * Inserisce un elemento con una certa chiave.
+     *
+     * @param i
+     *                l'elemento
+     * @param key
+     *                la chiave dell'elemento
+     * @throws IndexOutOfBoundsException
+     *                                       se i non è compreso tra 0 e
+     *                                       capacity() - 1
+     * @throws IllegalArgumentException
+     *                                       se l'elemento è già presente o la
+     *                                       chiave è NaN
+     */
+    public void insert(int i, double key) {
+        if (contains(i)) throw new IllegalArgumentException("L'elemento è già presente: " + i);
+        if (Double.isNaN(key)) throw new IllegalArgumentException("La chiave non può essere NaN");
+        keys[i] = key;
+        heap[size] = i;
+        position[i] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Diminuisce la chiave di un elemento presente.
+     *
+     * @param i
+     *                l'elemento
+     * @param key
+     *                la nuova chiave, non maggiore di quella attuale
+     * @throws IndexOutOfBoundsException
+     *                                       se i non è compreso tra 0 e
+     *                                       capacity() - 1
+     * @throws IllegalArgumentException
+     *                                       se l'elemento non è presente o la
+     *                                       nuova chiave è NaN o maggiore di
+     *                                       quella attuale
+     */
+    public void decreaseKey(int i, double key) {
+        if (!contains(i)) throw new IllegalArgumentException("L'elemento non è presente: " + i);
+        if (!(key <= keys[i])) throw new IllegalArgumentException("La nuova chiave è maggiore di quella attuale");
+        keys[i] = key;
+        siftUp(position[i]);
+    }
+
+    /**
+     * Restituisce l'elemento con la chiave minima senza toglierlo.
+     *
+     * @return l'elemento con la chiave minima
+     * @throws NoSuchElementException
+     *                                    se la coda è vuota
+     */
+    public int peek() {
+        if (size == 0) throw new NoSuchElementException("La coda è vuota");
+        return heap[0];
+    }
+
+    /**
+     * Toglie e restituisce l'elemento con la chiave minima.
+     *
+     * @return l'elemento con la chiave minima
+     * @throws NoSuchElementException
+     *                                    se la coda è vuota
+     */
+    public int extractMin() {
+        if (size == 0) throw new NoSuchElementException("La coda è vuota");
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Toglie tutti gli elementi.
+     */
+    public void clear() {
+        for (int p = 0; p < size; p++) position[heap[p]] = -1;
+        size = 0;
+    }
+
+    // Fa risalire l'elemento in posizione p finché il padre ha chiave maggiore
+    private void siftUp(int p) {
+        int item = heap[p];
+        double key = keys[item];
+        while (p > 0) {
+            int parent = (p - 1) / arity;
+            if (keys[heap[parent]] <= key) break;
+            heap[p] = heap[parent];
+            position[heap[p]] = p;
+            p = parent;
+        }
+        heap[p] = item;
+        position[item] = p;
+    }
+
+    // Fa scendere l'elemento in posizione p finché un figlio ha chiave minore
+    private void siftDown(int p) {
+        int item = heap[p];
+        double key = keys[item];
+        while (true) {
+            long firstChild = (long) p * arity + 1;
+            if (firstChild >= size) break;
+            int first = (int) firstChild;
+            int last = (int) Math.min(firstChild + arity, size);
+            int child = first;
+            for (int c = first + 1; c < last; c++) if (keys[heap[c]] < keys[heap[child]]) child = c;
+            if (keys[heap[child]] >= key) break;
+            heap[p] = heap[child];
+            position[heap[p]] = p;
+            p = child;
+        }
+        heap[p] = item;
+        position[item] = p;
+    }
+
+    private void checkElement(int i) {
+        if (i < 0 || i >= heap.length) throw new IndexOutOfBoundsException("Elemento non valido: " + i);
+    }
+}
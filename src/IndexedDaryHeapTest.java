@@ -0,0 +1,105 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe IndexedDaryHeap.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class IndexedDaryHeapTest {
+
+    @Test
+    final void testExceptions() {
+        assertThrows(IllegalArgumentException.class, () -> new IndexedDaryHeap(-1));
+        assertThrows(IllegalArgumentException.class, () -> new IndexedDaryHeap(4, 1));
+        IndexedDaryHeap heap = new IndexedDaryHeap(4);
+        assertThrows(NoSuchElementException.class, () -> heap.peek());
+        assertThrows(NoSuchElementException.class, () -> heap.extractMin());
+        assertThrows(IndexOutOfBoundsException.class, () -> heap.insert(4, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> heap.contains(-1));
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(0, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> heap.getKey(0));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(0, 1));
+        heap.insert(0, 5);
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(0, 6));
+    }
+
+    @Test
+    final void testInsertAndExtract() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(5);
+        assertTrue(heap.isEmpty());
+        heap.insert(3, 7);
+        heap.insert(1, 2);
+        heap.insert(4, 9);
+        heap.insert(0, 5);
+        assertEquals(4, heap.size());
+        assertEquals(5, heap.capacity());
+        assertTrue(heap.contains(4));
+        assertFalse(heap.contains(2));
+        assertEquals(1, heap.peek());
+        assertEquals(1, heap.extractMin());
+        assertFalse(heap.contains(1));
+        assertEquals(0, heap.extractMin());
+        heap.decreaseKey(4, 1);
+        assertEquals(1.0, heap.getKey(4));
+        assertEquals(4, heap.extractMin());
+        assertEquals(3, heap.extractMin());
+        assertTrue(heap.isEmpty());
+        // Un elemento estratto può essere reinserito
+        heap.insert(1, 0);
+        heap.insert(2, 1);
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(1));
+        heap.insert(1, 3);
+        assertEquals(1, heap.extractMin());
+    }
+
+    @Test
+    final void testAgainstPriorityQueue() {
+        // Operazioni casuali confrontate con una PriorityQueue, per diversi
+        // numeri di figli
+        for (int arity = 2; arity <= 8; arity++) {
+            Random random = new Random(arity);
+            int n = 500;
+            IndexedDaryHeap heap = new IndexedDaryHeap(n, arity);
+            double[] keys = new double[n];
+            PriorityQueue<double[]> expected = new PriorityQueue<double[]>((a, b) -> Double.compare(a[0], b[0]));
+            for (int op = 0; op < 20000; op++) {
+                int i = random.nextInt(n);
+                if (!heap.contains(i)) {
+                    keys[i] = random.nextInt(1000);
+                    heap.insert(i, keys[i]);
+                    expected.add(new double[] { keys[i], i });
+                } else if (random.nextBoolean()) {
+                    double key = keys[i] - random.nextInt(100);
+                    expected.removeIf(entry -> entry[1] == i);
+                    keys[i] = key;
+                    heap.decreaseKey(i, key);
+                    expected.add(new double[] { key, i });
+                } else {
+                    int min = heap.extractMin();
+                    // Gli elementi con la stessa chiave possono uscire in
+                    // qualunque ordine: controllo la chiave e tolgo quello
+                    // estratto
+                    assertEquals(expected.peek()[0], keys[min]);
+                    expected.removeIf(entry -> entry[1] == min);
+                }
+                assertEquals(expected.size(), heap.size());
+            }
+            double last = Double.NEGATIVE_INFINITY;
+            while (!heap.isEmpty()) {
+                double key = keys[heap.extractMin()];
+                assertTrue(key >= last);
+                last = key;
+            }
+        }
+    }
+}
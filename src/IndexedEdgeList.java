@@ -0,0 +1,239 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/*
+ * Lista degli archi di un grafo non orientato e pesato rappresentata con array
+ * di tipi primitivi: l'arco di indice e collega i nodi di indice sources[e] e
+ * targets[e] e ha peso weights[e]. È la rappresentazione comune agli
+ * algoritmi per l'albero di copertura minimo che lavorano sugli indici, che
+ * costruiscono oggetti GraphEdge<L> solo per gli archi del risultato.
+ *
+ * Per un grafo CSR gli indici dei nodi sono quelli del grafo e gli archi sono
+ * estratti scorrendo le righe; per gli altri grafi gli indici seguono l'ordine
+ * di iterazione di getNodes() e vengono conservati gli archi originali, che
+ * sono quelli restituiti da edgeAt.
+ *
+ * Alla costruzione viene controllato che tutti gli archi abbiano un peso non
+ * negativo.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L> etichette dei nodi
+ */
+final class IndexedEdgeList<L> {
+
+    // Numero di elementi sotto il quale si usa l'insertion sort
+    private static final int RADIX_THRESHOLD = 64;
+
+    // Valori di una cifra del radix sort
+    private static final int RADIX = 1 << 8;
+
+    // Dimensione massima di un array che tutte le JVM riescono ad allocare
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    final int nodeCount;
+
+    final int edgeCount;
+
+    final int[] sources;
+
+    final int[] targets;
+
+    final double[] weights;
+
+    // Nodi in ordine di indice
+    private final List<GraphNode<L>> nodes;
+
+    // Archi originali in ordine di indice, null per i grafi CSR
+    private final List<GraphEdge<L>> originals;
+
+    private IndexedEdgeList(List<GraphNode<L>> nodes, int[] sources, int[] targets, double[] weights,
+            List<GraphEdge<L>> originals) {
+        this.nodeCount = nodes.size();
+        this.edgeCount = sources.length;
+        this.nodes = nodes;
+        this.sources = sources;
+        this.targets = targets;
+        this.weights = weights;
+        this.originals = originals;
+    }
+
+    /*
+     * Costruisce la lista degli archi di un grafo non orientato. Lancia
+     * IllegalArgumentException se un arco non è pesato o ha peso negativo.
+     */
+    static <L> IndexedEdgeList<L> of(Graph<L> g) {
+        if (g instanceof AbstractCompressedSparseRowUndirectedGraph)
+            return of((AbstractCompressedSparseRowUndirectedGraph<L>) g);
+        List<GraphNode<L>> nodes = new ArrayList<GraphNode<L>>(g.getNodes());
+        Map<GraphNode<L>, Integer> index = new HashMap<GraphNode<L>, Integer>();
+        for (int i = 0; i < nodes.size(); i++) index.put(nodes.get(i), i);
+        Set<GraphEdge<L>> edges = g.getEdges();
+        List<GraphEdge<L>> originals = new ArrayList<GraphEdge<L>>(edges);
+        int m = originals.size();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        for (int e = 0; e < m; e++) {
+            GraphEdge<L> edge = originals.get(e);
+            sources[e] = index.get(edge.getNode1());
+            targets[e] = index.get(edge.getNode2());
+            weights[e] = checkWeight(edge.getWeight());
+        }
+        return new IndexedEdgeList<L>(nodes, sources, targets, weights, originals);
+    }
+
+    /*
+     * Estrae gli archi di un grafo CSR, ognuno una volta sola dalla riga
+     * dell'estremo con indice minore. Tutti gli archi vengono copiati nello
+     * heap, circa 16 byte per arco più quelli degli array di ordinamento,
+     * anche quando il grafo è un MemoryMappedUndirectedGraph: chi deve
+     * lavorare su grafi mappati più grandi dello heap scorre direttamente le
+     * righe, come KruskalMSP con la strategia SORT. Lancia
+     * IllegalArgumentException se gli archi non stanno in un array.
+     */
+    private static <L> IndexedEdgeList<L> of(AbstractCompressedSparseRowUndirectedGraph<L> g) {
+        int n = g.nodeCount();
+        long edgeCount = g instanceof MemoryMappedUndirectedGraph
+                ? ((MemoryMappedUndirectedGraph<L>) g).getEdgeCountAsLong()
+                : g.edgeCount();
+        if (edgeCount > MAX_ARRAY_SIZE)
+            throw new IllegalArgumentException("Il grafo ha troppi archi per essere copiato nello heap: " + edgeCount);
+        int m = (int) edgeCount;
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        int k = 0;
+        for (int u = 0; u < n; u++) {
+            for (long p = g.getRowStart(u); p < g.getRowEnd(u); p++) {
+                int v = g.getNeighborAt(p);
+                if (v < u) continue;
+                sources[k] = u;
+                targets[k] = v;
+                weights[k++] = checkWeight(g.getWeightAt(p));
+            }
+        }
+        List<GraphNode<L>> nodes = new ArrayList<GraphNode<L>>(n);
+        for (int u = 0; u < n; u++) nodes.add(g.getNodeAtIndex(u));
+        return new IndexedEdgeList<L>(nodes, sources, targets, weights, null);
+    }
+
+    private static double checkWeight(double w) {
+        if (Double.isNaN(w) || w < 0) throw new IllegalArgumentException("Il grafo contiene archi con peso non valido");
+        return w;
+    }
+
+    /*
+     * Restituisce il nodo di indice i.
+     */
+    GraphNode<L> nodeAt(int i) {
+        return nodes.get(i);
+    }
+
+    /*
+     * Restituisce l'arco di indice e: l'arco originale, se c'è, altrimenti un
+     * nuovo arco con gli stessi estremi e lo stesso peso.
+     */
+    GraphEdge<L> edgeAt(int e) {
+        if (originals != null) return originals.get(e);
+        return new GraphEdge<L>(nodes.get(sources[e]), nodes.get(targets[e]), false, weights[e]);
+    }
+
+    /*
+     * Restituisce gli indici di tutti gli archi, da 0 a edgeCount - 1.
+     */
+    int[] identityOrder() {
+        int[] order = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) order[e] = e;
+        return order;
+    }
+
+    /*
+     * Ordina gli indici di archi nelle posizioni da from (compresa) a to
+     * (esclusa) in ordine di peso non decrescente. L'ordinamento è stabile:
+     * gli archi con lo stesso peso restano nell'ordine in cui si trovavano.
+     *
+     * I pesi vengono trasformati in chiavi long il cui ordine senza segno è
+     * quello dei double e le chiavi vengono ordinate, insieme agli indici, con
+     * un radix sort LSD a 8 bit per passata: ogni passata legge e scrive gli
+     * array in sequenza, senza confronti né accessi sparsi agli archi. Le
+     * passate in cui tutte le chiavi hanno la stessa cifra vengono saltate,
+     * cosa frequente con pesi interi piccoli. Sotto RADIX_THRESHOLD elementi
+     * si usa invece l'insertion sort, anch'esso stabile.
+     */
+    static void sortByWeight(int[] order, int from, int to, double[] weights) {
+        int n = to - from;
+        if (n < RADIX_THRESHOLD) {
+            insertionSort(order, from, to, weights);
+            return;
+        }
+        long[] keys = new long[n];
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = order[from + i];
+            keys[i] = sortableBits(weights[values[i]]);
+        }
+        // Istogrammi di tutte le cifre calcolati con una sola lettura
+        int[][] counts = new int[Long.BYTES][RADIX];
+        for (int i = 0; i < n; i++) {
+            long key = keys[i];
+            for (int d = 0; d < Long.BYTES; d++) counts[d][(int) (key >>> (d * 8)) & (RADIX - 1)]++;
+        }
+        long[] keyBuffer = new long[n];
+        int[] valueBuffer = new int[n];
+        for (int d = 0; d < Long.BYTES; d++) {
+            int[] count = counts[d];
+            int shift = d * 8;
+            // Se tutte le chiavi hanno la stessa cifra la passata non cambia nulla
+            if (count[(int) (keys[0] >>> shift) & (RADIX - 1)] == n) continue;
+            int total = 0;
+            for (int b = 0; b < RADIX; b++) {
+                int c = count[b];
+                count[b] = total;
+                total += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int p = count[(int) (keys[i] >>> shift) & (RADIX - 1)]++;
+                keyBuffer[p] = keys[i];
+                valueBuffer[p] = values[i];
+            }
+            long[] k = keys;
+            keys = keyBuffer;
+            keyBuffer = k;
+            int[] v = values;
+            values = valueBuffer;
+            valueBuffer = v;
+        }
+        System.arraycopy(values, 0, order, from, n);
+    }
+
+    /*
+     * Trasforma un double in un long il cui ordine senza segno coincide con
+     * l'ordine dei double: per i valori positivi basta accendere il bit del
+     * segno, per quelli negativi vanno invertiti tutti i bit. Sommare 0.0
+     * trasforma -0.0 in 0.0, così i due zeri hanno la stessa chiave.
+     */
+    static long sortableBits(double w) {
+        long bits = Double.doubleToLongBits(w + 0.0);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    // Insertion sort stabile per le parti piccole
+    private static void insertionSort(int[] order, int from, int to, double[] weights) {
+        for (int i = from + 1; i < to; i++) {
+            int e = order[i];
+            double w = weights[e];
+            int j = i - 1;
+            while (j >= from && weights[order[j]] > w) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = e;
+        }
+    }
+}
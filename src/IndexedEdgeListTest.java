@@ -0,0 +1,114 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe IndexedEdgeList.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class IndexedEdgeListTest {
+
+    @Test
+    final void testOf() {
+        Graph<String> gr = new AdjacencyListUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        gr.addEdge(new GraphEdge<String>(a, b, false, 2));
+        gr.addEdge(new GraphEdge<String>(b, c, false, 1));
+        gr.addEdge(new GraphEdge<String>(c, c, false, 0));
+        for (Graph<String> g : Arrays.asList(gr, new CompressedSparseRowUndirectedGraph<String>(gr))) {
+            IndexedEdgeList<String> edges = IndexedEdgeList.of(g);
+            assertEquals(3, edges.nodeCount);
+            assertEquals(3, edges.edgeCount);
+            for (int e = 0; e < edges.edgeCount; e++) {
+                GraphEdge<String> edge = edges.edgeAt(e);
+                assertTrue(gr.containsEdge(edge));
+                assertEquals(edge.getWeight(), edges.weights[e]);
+                GraphNode<String> u = edges.nodeAt(edges.sources[e]);
+                GraphNode<String> v = edges.nodeAt(edges.targets[e]);
+                assertTrue((u.equals(edge.getNode1()) && v.equals(edge.getNode2()))
+                        || (u.equals(edge.getNode2()) && v.equals(edge.getNode1())));
+            }
+            assertArrayEquals(new int[] { 0, 1, 2 }, edges.identityOrder());
+        }
+        gr.addEdge(new GraphEdge<String>(a, c, false));
+        assertThrows(IllegalArgumentException.class, () -> IndexedEdgeList.of(gr));
+    }
+
+    @Test
+    final void testSortByWeight() {
+        Random random = new Random(17);
+        // Dimensioni sotto e sopra la soglia dell'insertion sort
+        for (int n : new int[] { 0, 1, 10, 63, 64, 1000, 100000 }) {
+            double[] weights = new double[n];
+            for (int e = 0; e < n; e++) {
+                switch (e % 4) {
+                case 0:
+                    weights[e] = random.nextInt(10);
+                    break;
+                case 1:
+                    weights[e] = random.nextDouble() * 1e6;
+                    break;
+                case 2:
+                    weights[e] = random.nextBoolean() ? 0.0 : -0.0;
+                    break;
+                default:
+                    weights[e] = random.nextBoolean() ? Double.POSITIVE_INFINITY : Double.MIN_VALUE;
+                }
+            }
+            int[] order = new int[n];
+            for (int e = 0; e < n; e++) order[e] = e;
+            IndexedEdgeList.sortByWeight(order, 0, n, weights);
+            assertSortedAndStable(order, 0, n, weights);
+        }
+    }
+
+    @Test
+    final void testSortByWeightRange() {
+        Random random = new Random(3);
+        double[] weights = new double[5000];
+        for (int e = 0; e < weights.length; e++) weights[e] = random.nextInt(1 << 20) / 8.0;
+        int[] order = new int[weights.length];
+        for (int e = 0; e < order.length; e++) order[e] = e;
+        IndexedEdgeList.sortByWeight(order, 1000, 4000, weights);
+        // Fuori dall'intervallo non cambia nulla
+        for (int i = 0; i < 1000; i++) assertEquals(i, order[i]);
+        for (int i = 4000; i < order.length; i++) assertEquals(i, order[i]);
+        assertSortedAndStable(order, 1000, 4000, weights);
+        int[] sorted = Arrays.copyOfRange(order, 1000, 4000);
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) assertEquals(1000 + i, sorted[i]);
+    }
+
+    @Test
+    final void testSortableBits() {
+        double[] values = { Double.NEGATIVE_INFINITY, -5.5, -Double.MIN_VALUE, 0.0, Double.MIN_VALUE, 1, 2.5, 1e300,
+                Double.POSITIVE_INFINITY };
+        for (int i = 1; i < values.length; i++)
+            assertTrue(Long.compareUnsigned(IndexedEdgeList.sortableBits(values[i - 1]),
+                    IndexedEdgeList.sortableBits(values[i])) < 0);
+        assertEquals(IndexedEdgeList.sortableBits(0.0), IndexedEdgeList.sortableBits(-0.0));
+    }
+
+    /*
+     * Controlla che i pesi siano non decrescenti e che, a parità di peso, gli
+     * indici (inizialmente in ordine crescente) siano rimasti in ordine.
+     */
+    private static void assertSortedAndStable(int[] order, int from, int to, double[] weights) {
+        for (int i = from + 1; i < to; i++) {
+            double previous = weights[order[i - 1]];
+            double current = weights[order[i]];
+            assertTrue(previous <= current);
+            if (previous == current) assertTrue(order[i - 1] < order[i]);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+import java.util.Arrays;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Foresta di insiemi disgiunti i cui elementi sono gli interi da 0 a size() -
+ * 1, pensata per lavorare sugli indici dei nodi di un grafo. Segue le stesse
+ * euristiche di {@code ForestDisjointSets<E>} (unione per rango e compressione
+ * del cammino, si veda il libro di testo Cormen et al. (terza edizione)
+ * Capitolo 21 Sezione 3), ma la foresta è rappresentata con due array di tipi
+ * primitivi: {@code parent[i]} è il padre dell'elemento i (uguale a i se i è
+ * una radice) e {@code rank[i]} è il suo rango. Non vengono quindi creati
+ * oggetti per gli elementi né consultate tabelle hash.
+ *
+ * Il rango è memorizzato in un byte perché non può superare il logaritmo in
+ * base 2 del numero di elementi.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+public class IntForestDisjointSets {
+
+    /*
+     * Padre di ogni elemento nella foresta. Le variabili sono protected
+     * unicamente per permettere i test JUnit.
+     */
+    protected int[] parent;
+
+    /*
+     * Rango di ogni elemento, limite superiore all'altezza del (sotto)albero di
+     * cui l'elemento è radice.
+     */
+    protected byte[] rank;
+
+    // Numero di elementi presenti, cioè la parte utilizzata degli array
+    private int size;
+
+    // Numero di insiemi disgiunti presenti
+    private int setCount;
+
+    /**
+     * Costruisce una foresta con n insiemi singoletto, uno per ogni intero da
+     * 0 a n - 1.
+     *
+     * @param n
+     *              il numero di elementi iniziali
+     * @throws IllegalArgumentException
+     *                                      se n è negativo
+     */
+    public IntForestDisjointSets(int n) {
+        if (n < 0) throw new IllegalArgumentException("Il numero di elementi non può essere negativo");
+        this.parent = new int[Math.max(n, 1)];
+        this.rank = new byte[Math.max(n, 1)];
+        for (int i = 0; i < n; i++) parent[i] = i;
+        this.size = n;
+        this.setCount = n;
+    }
+
+    /**
+     * Restituisce il numero di elementi presenti.
+     *
+     * @return il numero di elementi presenti
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti attualmente presenti.
+     *
+     * @return il numero di insiemi disgiunti
+     */
+    public int getNumberOfSets() {
+        return setCount;
+    }
+
+    /**
+     * Aggiunge un nuovo insieme singoletto il cui elemento è il primo intero
+     * non ancora usato. Gli array vengono raddoppiati quando sono pieni.
+     *
+     * @return l'elemento aggiunto, uguale al valore di size() prima della
+     *         chiamata
+     */
+    public int makeSet() {
+        if (size == parent.length) {
+            parent = Arrays.copyOf(parent, 2 * parent.length);
+            rank = Arrays.copyOf(rank, 2 * rank.length);
+        }
+        parent[size] = size;
+        rank[size] = 0;
+        setCount++;
+        return size++;
+    }
+
+    /**
+     * Restituisce il rappresentante dell'insieme in cui si trova l'elemento
+     * passato, comprimendo il cammino percorso. La ricerca è iterativa: un
+     * primo passaggio trova la radice e un secondo fa puntare alla radice
+     * tutti gli elementi del cammino.
+     *
+     * @param e
+     *              l'elemento di cui cercare l'insieme
+     * @return il rappresentante dell'insieme di e
+     * @throws IndexOutOfBoundsException
+     *                                       se e non è compreso tra 0 e
+     *                                       size() - 1
+     */
+    public int findSet(int e) {
+        checkElement(e);
+        int root = e;
+        while (parent[root] != root) root = parent[root];
+        // Compressione del cammino
+        while (parent[e] != root) {
+            int next = parent[e];
+            parent[e] = root;
+            e = next;
+        }
+        return root;
+    }
+
+    /**
+     * Unisce gli insiemi dei due elementi passati con l'euristica dell'unione
+     * per rango. A parità di rango il rappresentante dell'unione è il
+     * rappresentante dell'insieme di e2, come in {@code ForestDisjointSets}.
+     *
+     * @param e1
+     *               un elemento del primo insieme
+     * @param e2
+     *               un elemento del secondo insieme
+     * @return true se i due insiemi erano distinti e sono stati uniti, false
+     *         se gli elementi erano già nello stesso insieme
+     * @throws IndexOutOfBoundsException
+     *                                       se almeno uno dei due elementi non
+     *                                       è compreso tra 0 e size() - 1
+     */
+    public boolean union(int e1, int e2) {
+        int r1 = findSet(e1);
+        int r2 = findSet(e2);
+        if (r1 == r2) return false;
+        if (rank[r1] > rank[r2]) parent[r2] = r1;
+        else {
+            parent[r1] = r2;
+            if (rank[r1] == rank[r2]) rank[r2]++;
+        }
+        setCount--;
+        return true;
+    }
+
+    /**
+     * Cancella tutti gli elementi. Dopo l'esecuzione di questo metodo la
+     * foresta risulterà vuota.
+     */
+    public void clear() {
+        size = 0;
+        setCount = 0;
+    }
+
+    private void checkElement(int e) {
+        if (e < 0 || e >= size) throw new IndexOutOfBoundsException("Elemento non presente nella Foresta: " + e);
+    }
+}
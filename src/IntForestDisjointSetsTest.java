@@ -0,0 +1,80 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe IntForestDisjointSets.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class IntForestDisjointSetsTest {
+
+    @Test
+    final void testSingletons() {
+        IntForestDisjointSets ds = new IntForestDisjointSets(4);
+        assertEquals(4, ds.size());
+        assertEquals(4, ds.getNumberOfSets());
+        for (int i = 0; i < 4; i++) assertEquals(i, ds.findSet(i));
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.findSet(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.findSet(-1));
+        assertThrows(IllegalArgumentException.class, () -> new IntForestDisjointSets(-1));
+    }
+
+    @Test
+    final void testUnionByRankSameRepresentativesAsForest() {
+        IntForestDisjointSets ds = new IntForestDisjointSets(3);
+        ForestDisjointSets<Integer> forest = new ForestDisjointSets<Integer>();
+        for (int i = 0; i < 3; i++) forest.makeSet(i);
+        // A parità di rango vince il rappresentante del secondo insieme
+        assertTrue(ds.union(0, 1));
+        forest.union(0, 1);
+        assertEquals(1, ds.findSet(0));
+        assertEquals(forest.findSet(0).intValue(), ds.findSet(0));
+        assertEquals(1, ds.rank[1]);
+        // Il rango maggiore vince
+        assertTrue(ds.union(1, 2));
+        forest.union(1, 2);
+        assertEquals(forest.findSet(2).intValue(), ds.findSet(2));
+        assertEquals(0, ds.rank[2]);
+        assertFalse(ds.union(0, 2));
+        assertEquals(1, ds.getNumberOfSets());
+    }
+
+    @Test
+    final void testPathCompression() {
+        IntForestDisjointSets ds = new IntForestDisjointSets(4);
+        ds.union(0, 1);
+        ds.union(2, 3);
+        ds.union(1, 3);
+        // 0 -> 1 -> 3 prima della ricerca
+        assertEquals(1, ds.parent[0]);
+        assertEquals(3, ds.findSet(0));
+        assertEquals(3, ds.parent[0]);
+    }
+
+    @Test
+    final void testMakeSetAndClear() {
+        IntForestDisjointSets ds = new IntForestDisjointSets(0);
+        for (int i = 0; i < 10; i++) assertEquals(i, ds.makeSet());
+        assertEquals(10, ds.getNumberOfSets());
+        for (int i = 1; i < 10; i++) ds.union(0, i);
+        assertEquals(1, ds.getNumberOfSets());
+        assertEquals(ds.findSet(0), ds.findSet(9));
+        ds.clear();
+        assertEquals(0, ds.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.findSet(0));
+        assertEquals(0, ds.makeSet());
+        assertEquals(0, ds.findSet(0));
+    }
+
+    @Test
+    final void testLongChain() {
+        // Catena lunga: la ricerca iterativa non deve esaurire lo stack
+        int n = 200000;
+        IntForestDisjointSets ds = new IntForestDisjointSets(n);
+        for (int i = 0; i < n; i++) ds.parent[i] = Math.min(i + 1, n - 1);
+        assertEquals(n - 1, ds.findSet(0));
+        assertEquals(n - 1, ds.parent[0]);
+    }
+}
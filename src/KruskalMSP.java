@@ -1,6 +1,10 @@
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
 
 //ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
 
@@ -11,6 +15,13 @@ import java.util.Set;
  * negativi. L'algoritmo implementato si avvale della classe
  * {@code ForestDisjointSets<GraphNode<L>>} per gestire una collezione di
  * insiemi disgiunti di nodi del grafo.
+ *
+ * Su un grafo CSR, compreso un {@code MemoryMappedUndirectedGraph<L>}, la
+ * strategia {@code Strategy.SORT} scorre direttamente le righe del grafo e
+ * copia nello heap al più 2^22 archi alla volta, per circa 180 MiB, più un
+ * array di interi per nodo; in cambio le righe vengono lette più volte. La
+ * strategia {@code Strategy.FILTER} copia invece tutti gli archi nello heap e
+ * rifiuta i grafi con più di Integer.MAX_VALUE - 8 archi.
  * 
  * @author Luca Tesei (template), Luca Soricetti luca.soricetti@studenti.unicam.it (implementazione)
  * 
@@ -20,18 +31,111 @@ import java.util.Set;
  */
 public class KruskalMSP<L> {
 
+    /**
+     * Strategia con cui gli archi vengono ordinati ed elaborati.
+     */
+    public enum Strategy {
+        /**
+         * Tutti gli archi vengono ordinati per peso prima di essere elaborati
+         * in un unico passaggio.
+         */
+        SORT,
+
+        /**
+         * Filter-Kruskal: gli archi vengono partizionati intorno a un pivot e
+         * quelli pesanti i cui estremi sono già collegati vengono scartati
+         * senza essere ordinati. Partizionamento e filtro sono eseguiti in
+         * parallelo.
+         */
+        FILTER
+    }
+
+    // Numero di archi sotto il quale Filter-Kruskal ordina direttamente
+    private static final int FILTER_BASE_SIZE = 1024;
+
+    // Numero di archi campionati per scegliere il pivot
+    private static final int PIVOT_SAMPLE_SIZE = 31;
+
+    // Numero di archi di un blocco del partizionamento parallelo
+    private static final int PARTITION_BLOCK_SIZE = 1 << 13;
+
+    // Numero di archi sotto il quale il partizionamento non è parallelo
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    // Numero massimo di archi di un grafo CSR copiati nello heap alla volta
+    private static final int CSR_CHUNK_SIZE = 1 << 22;
+
+    // Bit delle chiavi dei pesi esaminati da ogni conteggio sui grafi CSR
+    private static final int KEY_BITS = 16;
+
+    private static final int KEY_SHIFT = Long.SIZE - KEY_BITS;
+
     /*
      * Struttura dati per rappresentare gli insiemi disgiunti utilizzata
      * dall'algoritmo di Kruskal.
      */
     private ForestDisjointSets<GraphNode<L>> disjointSets;
 
+    /*
+     * Strategia di elaborazione degli archi.
+     */
+    private final Strategy strategy;
+
+    /*
+     * Pool di thread usato dalla strategia FILTER.
+     */
+    private final ForkJoinPool pool;
+
     /**
      * Costruisce un calcolatore di un albero di copertura minimo che usa
-     * l'algoritmo di Kruskal su un grafo non orientato e pesato.
+     * l'algoritmo di Kruskal su un grafo non orientato e pesato, con la
+     * strategia {@code Strategy.SORT}.
      */
     public KruskalMSP() {
+        this(Strategy.SORT);
+    }
+
+    /**
+     * Costruisce un calcolatore di un albero di copertura minimo che usa
+     * l'algoritmo di Kruskal con una certa strategia e, per la strategia
+     * {@code Strategy.FILTER}, il pool comune di fork/join.
+     *
+     * @param strategy
+     *                     la strategia di elaborazione degli archi
+     * @throws NullPointerException
+     *                                  se la strategia passata è null
+     */
+    public KruskalMSP(Strategy strategy) {
+        this(strategy, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Costruisce un calcolatore di un albero di copertura minimo che usa
+     * l'algoritmo di Kruskal con una certa strategia e un certo pool di
+     * fork/join per la strategia {@code Strategy.FILTER}.
+     *
+     * @param strategy
+     *                     la strategia di elaborazione degli archi
+     * @param pool
+     *                     il pool su cui distribuire partizionamento e filtro
+     * @throws NullPointerException
+     *                                  se uno dei parametri è null
+     */
+    public KruskalMSP(Strategy strategy, ForkJoinPool pool) {
+        if (strategy == null) throw new NullPointerException("La strategia passata è null");
+        if (pool == null) throw new NullPointerException("Il pool passato è null");
         this.disjointSets = new ForestDisjointSets<GraphNode<L>>();
+        this.strategy = strategy;
+        this.pool = pool;
+    }
+
+    /**
+     * Restituisce la strategia di elaborazione degli archi.
+     *
+     * @return la strategia di elaborazione degli archi
+     */
+    public Strategy getStrategy() {
+        return strategy;
     }
 
     /**
@@ -51,32 +155,32 @@ public class KruskalMSP<L> {
     public Set<GraphEdge<L>> computeMSP(Graph<L> g) {
         if (g == null) throw new NullPointerException("Il grafo passato è null");
         if (g.isDirected()) throw new IllegalArgumentException("Il grafo passato è orientato");
+        if (strategy == Strategy.FILTER) return computeMSPWithFilter(g);
+        // Un grafo CSR (fotografia nello heap o file mappato) viene elaborato
+        // direttamente sui suoi array
+        if (g instanceof AbstractCompressedSparseRowUndirectedGraph)
+            return computeMSP((AbstractCompressedSparseRowUndirectedGraph<L>) g, CSR_CHUNK_SIZE);
 
-        // Controllo se tutti gli archi hanno pesi non negativi
-        Set<GraphEdge<L>> graph_edges = g.getEdges();
-        for (GraphEdge<L> arco : graph_edges) {
-            if (!arco.hasWeight() || arco.getWeight() < 0) 
-                throw new IllegalArgumentException("Il grafo contiene archi con peso non valido");
-        }
-        
-        // Scorro tutti i nodi del Grafo e per ognuno creo un Insieme Singoletto
-        Set<GraphNode<L>> graph_nodes = g.getNodes();
-        for (GraphNode<L> nodo : graph_nodes) disjointSets.makeSet(nodo);
+        // Estraggo gli archi in array di tipi primitivi, controllando che
+        // abbiano tutti pesi non negativi, e ordino i loro indici in ordine di
+        // peso non decrescente con un radix sort sui pesi
+        IndexedEdgeList<L> edges = IndexedEdgeList.of(g);
+        int[] order = edges.identityOrder();
+        IndexedEdgeList.sortByWeight(order, 0, order.length, edges.weights);
 
-        // Trasformo l'Insieme degli archi in un ArrayList e, tramite HeapSort (Complessità O(n*logn)),
-        // ordino gli archi in ordine di peso non decrescente
-        ArrayList<GraphEdge<L>> edgeArrayList = new ArrayList<>(graph_edges);
-        heapSort(edgeArrayList);
+        // Scorro tutti i nodi del Grafo e per ognuno creo un Insieme Singoletto
+        for (int i = 0; i < edges.nodeCount; i++) disjointSets.makeSet(edges.nodeAt(i));
 
         Set<GraphEdge<L>> result = new HashSet<>();
         // Algoritmo di Kruskal
         // scorro tutti gli archi, prendendoli in ordine non decrescente
-        for (GraphEdge<L> arco : edgeArrayList) {
+        for (int e : order) {
             // controllo se tutti i nodi sono stati collegati dall'algoritmo, in tal caso
             // termino l'iterazione in quanto il minimo albero di copertura è stato creato
             // Nota Bene: la condizione prevede numero di archi == numero di nodi - 1 perchè 
             // il minimo albero di copertura contiene n-1 archi, dove n è il numero di nodi
-            if (result.size() == graph_nodes.size()-1) break;
+            if (result.size() == edges.nodeCount - 1) break;
+            GraphEdge<L> arco = edges.edgeAt(e);
             // se ancora non sono stati collegati tutti i nodi allora controllo i due nodi di questo arco e:
             // 1. Se appartengono già allo stesso insieme non possiamo usare quest'arco perchè si creerebbe un ciclo;
             // 2. Se non appartengono allo stesso insieme unisco i loro due insiemi e aggiungo l'arco al risultato
@@ -91,47 +195,370 @@ public class KruskalMSP<L> {
         return result;
     }
 
-    // Implementazione dell'Algoritmo heapSort per un ArrayList
-    private void heapSort(ArrayList<GraphEdge<L>> edges) {
-        // Prendo la dimensione dell'ArrayList di Archi
-        int heap_size = edges.size();
-        // Costruisco il Max-Heap
-        buildMaxHeap(edges, heap_size);
-        // Eseguo il MaxHeap
-        for (int i = heap_size-1; i > 0; i--) {
-            // Sposto la radice (il massimo) alla fine della lista
-            GraphEdge<L> temp = edges.get(0);
-            edges.set(0, edges.get(i));
-            edges.set(i, temp);
-            // Chiamo heapify sulla nuova radice per ripristinare il MaxHeap
-            maxHeapify(edges, i, 0);
+    /*
+     * Versione dell'algoritmo di Kruskal che lavora sulle righe di un grafo
+     * CSR senza copiare i suoi archi nello heap, così da funzionare anche su un
+     * MemoryMappedUndirectedGraph con più archi di quanti ne stiano in un
+     * array. Gli archi vengono presi a gruppi di al più chunkSize, per
+     * intervalli di peso crescenti, e solo il gruppo corrente viene copiato e
+     * ordinato; gli oggetti GraphEdge<L> vengono costruiti solo per gli archi
+     * dell'albero. Lo heap usato è quindi O(n + chunkSize), mentre ogni gruppo
+     * richiede una scansione sequenziale delle righe. Il parametro chunkSize è
+     * visibile nel pacchetto unicamente per permettere i test JUnit.
+     */
+    Set<GraphEdge<L>> computeMSP(AbstractCompressedSparseRowUndirectedGraph<L> g, int chunkSize) {
+        RowScanRun run = new RowScanRun(g, chunkSize);
+        // Il primo conteggio legge tutti gli archi e ne controlla i pesi
+        run.processBuckets(run.histogram(0, -1L, KEY_SHIFT), 0, KEY_SHIFT);
+        return run.result;
+    }
+
+    /*
+     * Versione Filter-Kruskal (Osipov, Sanders, Singler, "The
+     * Filter-Kruskal Minimum Spanning Tree Algorithm", 2009). Gli indici
+     * degli archi vengono partizionati intorno a un peso pivot: prima si
+     * elabora ricorsivamente la parte leggera, poi dalla parte pesante si
+     * tolgono gli archi i cui estremi sono già nello stesso insieme e solo
+     * quelli rimasti vengono elaborati. Solo le parti piccole vengono
+     * ordinate, quindi gli archi pesanti scartati dal filtro non vengono mai
+     * ordinati. Partizionamento e filtro sono distribuiti sui thread del pool
+     * quando la parte da elaborare è abbastanza grande: durante il filtro non
+     * avvengono unioni, quindi le ricerche concorrenti nella
+     * ConcurrentIntDisjointSets sono sicure.
+     */
+    private Set<GraphEdge<L>> computeMSPWithFilter(Graph<L> g) {
+        IndexedEdgeList<L> edges = IndexedEdgeList.of(g);
+        FilterRun run = new FilterRun(edges);
+        run.process(0, edges.edgeCount);
+        Set<GraphEdge<L>> result = new HashSet<>();
+        for (int i = 0; i < run.treeSize; i++) result.add(edges.edgeAt(run.tree[i]));
+        return result;
+    }
+
+    /*
+     * Stato di un'esecuzione di Filter-Kruskal.
+     */
+    private final class FilterRun {
+
+        private final IndexedEdgeList<L> edges;
+
+        // Indici degli archi, partizionati sul posto dalle ricorsioni
+        private final int[] order;
+
+        // Appoggio per il partizionamento stabile
+        private final int[] buffer;
+
+        // Esito del predicato per ogni posizione della parte in elaborazione
+        private final boolean[] flags;
+
+        private final ConcurrentIntDisjointSets forest;
+
+        // Archi dell'albero trovati finora
+        private final int[] tree;
+
+        private int treeSize;
+
+        FilterRun(IndexedEdgeList<L> edges) {
+            this.edges = edges;
+            this.order = edges.identityOrder();
+            this.buffer = new int[edges.edgeCount];
+            this.flags = new boolean[edges.edgeCount];
+            this.forest = new ConcurrentIntDisjointSets(edges.nodeCount);
+            this.tree = new int[Math.max(edges.nodeCount - 1, 0)];
+        }
+
+        /*
+         * Elabora gli archi nelle posizioni [lo, hi) di order, tutti non più
+         * leggeri di quelli elaborati in precedenza.
+         */
+        void process(int lo, int hi) {
+            if (lo >= hi || treeSize == tree.length) return;
+            if (hi - lo <= FILTER_BASE_SIZE) {
+                kruskal(lo, hi);
+                return;
+            }
+            double pivot = pivot(lo, hi);
+            double[] weights = edges.weights;
+            int middle = partition(lo, hi, e -> weights[e] <= pivot);
+            // Se nessun arco è più pesante del pivot la parte non si divide
+            if (middle == hi) {
+                kruskal(lo, hi);
+                return;
+            }
+            process(lo, middle);
+            if (treeSize == tree.length) return;
+            int[] sources = edges.sources;
+            int[] targets = edges.targets;
+            int end = partition(middle, hi, e -> forest.findSet(sources[e]) != forest.findSet(targets[e]));
+            process(middle, end);
+        }
+
+        /*
+         * Algoritmo di Kruskal classico sulle posizioni [lo, hi) di order.
+         */
+        private void kruskal(int lo, int hi) {
+            IndexedEdgeList.sortByWeight(order, lo, hi, edges.weights);
+            for (int i = lo; i < hi && treeSize < tree.length; i++) {
+                int e = order[i];
+                if (forest.union(edges.sources[e], edges.targets[e])) tree[treeSize++] = e;
+            }
+        }
+
+        /*
+         * Sceglie come pivot la mediana dei pesi di un campione di archi presi
+         * a intervalli regolari.
+         */
+        private double pivot(int lo, int hi) {
+            double[] sample = new double[PIVOT_SAMPLE_SIZE];
+            long step = (hi - lo) / PIVOT_SAMPLE_SIZE;
+            for (int i = 0; i < PIVOT_SAMPLE_SIZE; i++) sample[i] = edges.weights[order[(int) (lo + i * step)]];
+            Arrays.sort(sample);
+            return sample[PIVOT_SAMPLE_SIZE / 2];
+        }
+
+        /*
+         * Partiziona in modo stabile le posizioni [lo, hi) di order: gli archi
+         * che soddisfano il predicato vanno all'inizio, gli altri dopo.
+         * Restituisce la posizione del primo arco che non lo soddisfa. La
+         * parte viene divisa in blocchi: per ogni blocco si contano gli archi
+         * che soddisfano il predicato, con le somme prefisse si calcola dove
+         * scrivere ogni blocco e infine i blocchi vengono copiati; conteggio e
+         * copia sono eseguiti in parallelo sui blocchi.
+         */
+        private int partition(int lo, int hi, IntPredicate predicate) {
+            int blocks = (hi - lo + PARTITION_BLOCK_SIZE - 1) / PARTITION_BLOCK_SIZE;
+            int[] trueCounts = new int[blocks];
+            forEachBlock(hi - lo, blocks, b -> {
+                int from = lo + b * PARTITION_BLOCK_SIZE;
+                int to = Math.min(hi, from + PARTITION_BLOCK_SIZE);
+                int count = 0;
+                for (int i = from; i < to; i++) {
+                    flags[i] = predicate.test(order[i]);
+                    if (flags[i]) count++;
+                }
+                trueCounts[b] = count;
+            });
+            // Somme prefisse: trueStarts[b] archi che soddisfano il predicato
+            // nei blocchi precedenti a b
+            int[] trueStarts = new int[blocks];
+            int total = 0;
+            for (int b = 0; b < blocks; b++) {
+                trueStarts[b] = total;
+                total += trueCounts[b];
+            }
+            int trueTotal = total;
+            forEachBlock(hi - lo, blocks, b -> {
+                int from = lo + b * PARTITION_BLOCK_SIZE;
+                int to = Math.min(hi, from + PARTITION_BLOCK_SIZE);
+                int t = lo + trueStarts[b];
+                int f = lo + trueTotal + (from - lo - trueStarts[b]);
+                for (int i = from; i < to; i++) {
+                    if (flags[i]) buffer[t++] = order[i];
+                    else buffer[f++] = order[i];
+                }
+            });
+            System.arraycopy(buffer, lo, order, lo, hi - lo);
+            return lo + trueTotal;
+        }
+
+        /*
+         * Esegue un'azione per ogni blocco, in parallelo solo se la parte è
+         * abbastanza grande da compensare il costo dei compiti.
+         */
+        private void forEachBlock(int length, int blocks, IntConsumer action) {
+            if (length < PARALLEL_THRESHOLD) {
+                for (int b = 0; b < blocks; b++) action.accept(b);
+            } else {
+                pool.invoke(new BlocksTask(action, 0, blocks));
+            }
         }
     }
 
-    // Implementazione del Metodo BuildMaxHeap, necessario per l'algoritmo HeapSort
-    private void buildMaxHeap(ArrayList<GraphEdge<L>> edges, int heap_size) {
-        for (int i = heap_size / 2 - 1; i >= 0; i--) {
-            maxHeapify(edges, heap_size, i);
+    /*
+     * Stato di un'esecuzione di Kruskal sulle righe di un grafo CSR. Ogni
+     * arco è letto dalla riga dell'estremo con indice minore e identificato,
+     * per l'ordinamento, dalla chiave IndexedEdgeList.sortableBits del suo
+     * peso. Un conteggio divide le chiavi in base a 16 bit alla volta: gli
+     * intervalli consecutivi vengono raggruppati finché non superano chunkSize
+     * archi, mentre un intervallo che da solo li supera viene contato di nuovo
+     * sui 16 bit successivi. Se tutti i 64 bit coincidono gli archi hanno lo
+     * stesso peso e vengono elaborati durante la scansione, senza copiarli.
+     * Conteggi e raccolte tralasciano gli archi i cui estremi sono già
+     * collegati, che non possono entrare nell'albero.
+     */
+    private final class RowScanRun {
+
+        private final AbstractCompressedSparseRowUndirectedGraph<L> g;
+
+        private final int n;
+
+        private final int chunkSize;
+
+        private final IntForestDisjointSets forest;
+
+        private final Set<GraphEdge<L>> result;
+
+        // Archi del gruppo corrente, riallocati solo se un gruppo è più grande
+        private int[] sources = new int[0];
+
+        private int[] targets = new int[0];
+
+        private double[] weights = new double[0];
+
+        private int[] order = new int[0];
+
+        RowScanRun(AbstractCompressedSparseRowUndirectedGraph<L> g, int chunkSize) {
+            this.g = g;
+            this.n = g.nodeCount();
+            this.chunkSize = chunkSize;
+            this.forest = new IntForestDisjointSets(n);
+            this.result = new HashSet<>();
+        }
+
+        private boolean done() {
+            return result.size() >= n - 1;
         }
+
+        /*
+         * Conta gli archi con chiave tra lo e hi (inclusi, senza segno) che
+         * collegano insiemi diversi, per valore dei 16 bit della chiave che
+         * partono dal bit shift. Lancia IllegalArgumentException se trova un
+         * arco non pesato o con peso negativo.
+         */
+        long[] histogram(long lo, long hi, int shift) {
+            long[] counts = new long[1 << KEY_BITS];
+            for (int u = 0; u < n; u++) {
+                for (long p = g.getRowStart(u); p < g.getRowEnd(u); p++) {
+                    int v = g.getNeighborAt(p);
+                    if (v < u) continue;
+                    double w = g.getWeightAt(p);
+                    if (Double.isNaN(w) || w < 0)
+                        throw new IllegalArgumentException("Il grafo contiene archi con peso non valido");
+                    long key = IndexedEdgeList.sortableBits(w);
+                    if (v == u || !inRange(key, lo, hi) || forest.findSet(u) == forest.findSet(v)) continue;
+                    counts[(int) (key >>> shift) & ((1 << KEY_BITS) - 1)]++;
+                }
+            }
+            return counts;
+        }
+
+        /*
+         * Elabora, in ordine di chiave, gli archi contati in counts: il
+         * valore b corrisponde alle chiavi da base + (b << shift) in poi.
+         */
+        void processBuckets(long[] counts, long base, int shift) {
+            int b = 0;
+            while (b < counts.length && !done()) {
+                if (counts[b] == 0) {
+                    b++;
+                    continue;
+                }
+                long lo = base + ((long) b << shift);
+                if (counts[b] > chunkSize) {
+                    if (shift == 0) {
+                        kruskalOnKey(lo);
+                    } else {
+                        int next = shift - KEY_BITS;
+                        processBuckets(histogram(lo, lo + (1L << shift) - 1, next), lo, next);
+                    }
+                    b++;
+                } else {
+                    long total = 0;
+                    while (b < counts.length && total + counts[b] <= chunkSize) total += counts[b++];
+                    // Con b == counts.length e shift == 48 la somma si annulla
+                    // e hi diventa la chiave massima
+                    kruskalOnRange(lo, base + ((long) b << shift) - 1, (int) total);
+                }
+            }
+        }
+
+        /*
+         * Copia gli archi con chiave tra lo e hi che collegano insiemi diversi,
+         * al più capacity, li ordina per peso ed esegue su di essi l'algoritmo
+         * di Kruskal.
+         */
+        private void kruskalOnRange(long lo, long hi, int capacity) {
+            if (order.length < capacity) {
+                sources = new int[capacity];
+                targets = new int[capacity];
+                weights = new double[capacity];
+                order = new int[capacity];
+            }
+            int k = 0;
+            for (int u = 0; u < n; u++) {
+                for (long p = g.getRowStart(u); p < g.getRowEnd(u); p++) {
+                    int v = g.getNeighborAt(p);
+                    if (v <= u) continue;
+                    double w = g.getWeightAt(p);
+                    if (!inRange(IndexedEdgeList.sortableBits(w), lo, hi) || forest.findSet(u) == forest.findSet(v))
+                        continue;
+                    sources[k] = u;
+                    targets[k] = v;
+                    weights[k] = w;
+                    order[k] = k;
+                    k++;
+                }
+            }
+            IndexedEdgeList.sortByWeight(order, 0, k, weights);
+            for (int i = 0; i < k && !done(); i++) {
+                int e = order[i];
+                if (forest.union(sources[e], targets[e])) addEdge(sources[e], targets[e], weights[e]);
+            }
+        }
+
+        /*
+         * Esegue l'algoritmo di Kruskal sugli archi con una certa chiave, cioè
+         * con lo stesso peso, nell'ordine delle righe.
+         */
+        private void kruskalOnKey(long key) {
+            for (int u = 0; u < n && !done(); u++) {
+                for (long p = g.getRowStart(u); p < g.getRowEnd(u); p++) {
+                    int v = g.getNeighborAt(p);
+                    if (v <= u) continue;
+                    double w = g.getWeightAt(p);
+                    if (IndexedEdgeList.sortableBits(w) == key && forest.union(u, v)) addEdge(u, v, w);
+                }
+            }
+        }
+
+        private void addEdge(int u, int v, double w) {
+            result.add(new GraphEdge<L>(g.getNodeAtIndex(u), g.getNodeAtIndex(v), false, w));
+        }
+    }
+
+    // Vero se key è tra lo e hi, inclusi, nell'ordine senza segno
+    private static boolean inRange(long key, long lo, long hi) {
+        return Long.compareUnsigned(key - lo, hi - lo) <= 0;
     }
 
-    // Implementazione del Metodo maxHeapify, necessario per l'algoritmo HeapSort
-    private void maxHeapify(ArrayList<GraphEdge<L>> edges, int heap_size, int i) {
-        int max = i; // Inizializzo il nodo più grande come il nodo corrente
-        int left = 2 * i + 1; // Figlio sinistro del nodo corrente
-        int right = 2 * i + 2; // Figlio destro del nodo corrente
-
-        // Se left.weight > nodoAttuale.weight allora left diventa il nuovo max
-        if (left < heap_size && edges.get(left).getWeight() > edges.get(max).getWeight()) max = left;
-        // Se right.weight > max.weight allora right diventa il nuovo max
-        if (right < heap_size && edges.get(right).getWeight() > edges.get(max).getWeight()) max = right;
-        // Se il nodo più grande non è la radice scambio di posizione il nodo attuale ed il massimo
-        if (max != i) {
-            GraphEdge<L> temp = edges.get(i);
-            edges.set(i, edges.get(max));
-            edges.set(max, temp);
-            // Chiamata ricorsiva per proseguire l'esecuzione di maxHeapify
-            maxHeapify(edges, heap_size, max);
+    /*
+     * Compito fork/join che esegue un'azione sui blocchi nell'intervallo
+     * [from, to), dividendolo a metà fino ad arrivare a un solo blocco.
+     */
+    private static class BlocksTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IntConsumer action;
+
+        private final int from;
+
+        private final int to;
+
+        BlocksTask(IntConsumer action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BlocksTask(action, from, middle), new BlocksTask(action, middle, to));
+                return;
+            }
+            for (int b = from; b < to; b++) action.accept(b);
         }
     }
-}
\ No newline at end of file
+}
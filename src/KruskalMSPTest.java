@@ -2,6 +2,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.Test;
 
@@ -291,4 +292,54 @@ class KruskalMSPTest {
         assertEquals(result, alg.computeMSP(gr),
                 "Il risultato non corrisponde all'MST del grafo disconnesso.");
     }
+
+    @Test
+    final void testFilterStrategy() {
+        Graph<Integer> gr = MSPTestUtils.randomGraph(300, 4000, 50, 42);
+        Set<GraphEdge<Integer>> expected = new KruskalMSP<Integer>().computeMSP(gr);
+        KruskalMSP<Integer> alg = new KruskalMSP<Integer>(KruskalMSP.Strategy.FILTER);
+        assertEquals(KruskalMSP.Strategy.FILTER, alg.getStrategy());
+        Set<GraphEdge<Integer>> mst = alg.computeMSP(gr);
+        assertEquals(expected.size(), mst.size());
+        assertEquals(MSPTestUtils.totalWeight(expected), MSPTestUtils.totalWeight(mst));
+        assertTrue(gr.getEdges().containsAll(mst));
+        // Anche sulla fotografia CSR dello stesso grafo
+        Set<GraphEdge<Integer>> csrMst = alg.computeMSP(new CompressedSparseRowUndirectedGraph<Integer>(gr));
+        assertEquals(expected.size(), csrMst.size());
+        assertEquals(MSPTestUtils.totalWeight(expected), MSPTestUtils.totalWeight(csrMst));
+    }
+
+    @Test
+    final void testFilterStrategyParallel() {
+        // Abbastanza archi da partizionare e filtrare in parallelo
+        Graph<Integer> gr = MSPTestUtils.randomGraph(5000, 100000, 1000, 7);
+        double expected = MSPTestUtils.totalWeight(new KruskalMSP<Integer>().computeMSP(gr));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            KruskalMSP<Integer> alg = new KruskalMSP<Integer>(KruskalMSP.Strategy.FILTER, pool);
+            Set<GraphEdge<Integer>> mst = alg.computeMSP(gr);
+            assertEquals(gr.nodeCount() - 1, mst.size());
+            assertEquals(expected, MSPTestUtils.totalWeight(mst));
+            // L'oggetto può essere riusato
+            assertEquals(expected, MSPTestUtils.totalWeight(alg.computeMSP(gr)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    final void testFilterStrategyExceptions() {
+        assertThrows(NullPointerException.class, () -> new KruskalMSP<String>(null));
+        assertThrows(NullPointerException.class, () -> new KruskalMSP<String>(KruskalMSP.Strategy.FILTER, null));
+        KruskalMSP<String> alg = new KruskalMSP<String>(KruskalMSP.Strategy.FILTER);
+        assertThrows(NullPointerException.class, () -> alg.computeMSP(null));
+        Graph<String> x = new AdjacencyMatrixUndirectedGraph<>();
+        GraphNode<String> a = new GraphNode<>("a");
+        x.addNode(a);
+        GraphNode<String> b = new GraphNode<>("b");
+        x.addNode(b);
+        x.addEdge(new GraphEdge<>(a, b, false, -1));
+        assertThrows(IllegalArgumentException.class, () -> alg.computeMSP(x));
+        assertTrue(alg.computeMSP(new AdjacencyMatrixUndirectedGraph<String>()).isEmpty());
+    }
 }
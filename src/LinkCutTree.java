@@ -0,0 +1,356 @@
+import java.util.Arrays;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Foresta dinamica di alberi non radicati sugli interi da 0 a size() - 1, in
+ * cui ogni nodo ha un valore di tipo double. Permette di collegare e separare
+ * alberi e di trovare il nodo di valore massimo sul cammino tra due nodi,
+ * tutto in tempo O(log n) ammortizzato (Sleator, Tarjan, "A Data Structure
+ * for Dynamic Trees", 1983).
+ *
+ * Ogni albero è scomposto in cammini preferiti, ognuno rappresentato da uno
+ * splay tree ordinato per profondità; il padre della radice di uno splay tree
+ * è il nodo da cui il cammino pende nell'albero rappresentato. Per rendere
+ * radice un nodo qualunque il cammino dalla radice al nodo viene rovesciato
+ * con un flag propagato pigramente. Ogni nodo dello splay tree conosce il
+ * nodo di valore massimo del proprio sottoalbero.
+ *
+ * Tutti i dati sono in array di tipi primitivi, raddoppiati quando sono pieni
+ * come in {@code IntForestDisjointSets}, e le operazioni sono iterative.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+public class LinkCutTree {
+
+    /*
+     * Figli e padre di ogni nodo negli splay tree (-1 se assenti), flag di
+     * rovesciamento pendente, valore del nodo e nodo di valore massimo nel
+     * sottoalbero dello splay tree. Le variabili sono protected unicamente
+     * per permettere i test JUnit.
+     */
+    protected int[] left;
+
+    protected int[] right;
+
+    protected int[] parent;
+
+    protected boolean[] reversed;
+
+    protected double[] value;
+
+    protected int[] maxNode;
+
+    // Numero di nodi presenti
+    private int size;
+
+    // Pila usata da splay per propagare i rovesciamenti dall'alto
+    private int[] stack;
+
+    /**
+     * Costruisce una foresta vuota.
+     */
+    public LinkCutTree() {
+        this(0);
+    }
+
+    /**
+     * Costruisce una foresta vuota con spazio per un certo numero di nodi
+     * prima di dover ingrandire gli array.
+     *
+     * @param capacity
+     *                     il numero di nodi previsto
+     * @throws IllegalArgumentException
+     *                                      se capacity è negativo
+     */
+    public LinkCutTree(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("La capacità non può essere negativa");
+        int c = Math.max(capacity, 1);
+        this.left = new int[c];
+        this.right = new int[c];
+        this.parent = new int[c];
+        this.reversed = new boolean[c];
+        this.value = new double[c];
+        this.maxNode = new int[c];
+        this.stack = new int[c];
+    }
+
+    /**
+     * Restituisce il numero di nodi.
+     *
+     * @return il numero di nodi
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Aggiunge un nuovo nodo isolato, il cui indice è il primo intero non
+     * ancora usato.
+     *
+     * @param v
+     *              il valore del nodo
+     * @return l'indice del nuovo nodo
+     * @throws IllegalArgumentException
+     *                                      se v è NaN
+     */
+    public int addNode(double v) {
+        if (Double.isNaN(v)) throw new IllegalArgumentException("Il valore non può essere NaN");
+        if (size == left.length) {
+            int c = left.length * 2;
+            left = Arrays.copyOf(left, c);
+            right = Arrays.copyOf(right, c);
+            parent = Arrays.copyOf(parent, c);
+            reversed = Arrays.copyOf(reversed, c);
+            value = Arrays.copyOf(value, c);
+            maxNode = Arrays.copyOf(maxNode, c);
+            stack = Arrays.copyOf(stack, c);
+        }
+        int x = size++;
+        left[x] = -1;
+        right[x] = -1;
+        parent[x] = -1;
+        value[x] = v;
+        maxNode[x] = x;
+        return x;
+    }
+
+    /**
+     * Restituisce il valore di un nodo.
+     *
+     * @param x
+     *              il nodo
+     * @return il valore del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se x non è compreso tra 0 e size()
+     *                                       - 1
+     */
+    public double getValue(int x) {
+        checkNode(x);
+        return value[x];
+    }
+
+    /**
+     * Cambia il valore di un nodo.
+     *
+     * @param x
+     *              il nodo
+     * @param v
+     *              il nuovo valore
+     * @throws IndexOutOfBoundsException
+     *                                       se x non è compreso tra 0 e size()
+     *                                       - 1
+     * @throws IllegalArgumentException
+     *                                       se v è NaN
+     */
+    public void setValue(int x, double v) {
+        checkNode(x);
+        if (Double.isNaN(v)) throw new IllegalArgumentException("Il valore non può essere NaN");
+        // Portando x in cima al suo splay tree il massimo va ricalcolato solo
+        // per x
+        access(x);
+        value[x] = v;
+        update(x);
+    }
+
+    /**
+     * Determina se due nodi sono nello stesso albero.
+     *
+     * @param x
+     *              il primo nodo
+     * @param y
+     *              il secondo nodo
+     * @return true se i due nodi sono nello stesso albero
+     * @throws IndexOutOfBoundsException
+     *                                       se uno dei due nodi non è compreso
+     *                                       tra 0 e size() - 1
+     */
+    public boolean connected(int x, int y) {
+        checkNode(x);
+        checkNode(y);
+        return x == y || findRoot(x) == findRoot(y);
+    }
+
+    /**
+     * Collega con un arco due nodi di alberi diversi.
+     *
+     * @param x
+     *              il primo nodo
+     * @param y
+     *              il secondo nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se uno dei due nodi non è compreso
+     *                                       tra 0 e size() - 1
+     * @throws IllegalArgumentException
+     *                                       se i due nodi sono già nello
+     *                                       stesso albero
+     */
+    public void link(int x, int y) {
+        if (connected(x, y)) throw new IllegalArgumentException("I nodi sono già nello stesso albero");
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    /**
+     * Toglie l'arco tra due nodi.
+     *
+     * @param x
+     *              il primo nodo
+     * @param y
+     *              il secondo nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se uno dei due nodi non è compreso
+     *                                       tra 0 e size() - 1
+     * @throws IllegalArgumentException
+     *                                       se i due nodi non sono collegati da
+     *                                       un arco
+     */
+    public void cut(int x, int y) {
+        checkNode(x);
+        checkNode(y);
+        makeRoot(x);
+        access(y);
+        // Se l'arco c'è, il cammino da x a y contiene solo x e y: x è il
+        // figlio sinistro di y e non ha figli (un rovesciamento pendente su x
+        // non conta perché scambierebbe due figli assenti)
+        if (left[y] != x || left[x] >= 0 || right[x] >= 0)
+            throw new IllegalArgumentException("I nodi non sono collegati da un arco");
+        left[y] = -1;
+        parent[x] = -1;
+        update(y);
+    }
+
+    /**
+     * Restituisce il nodo di valore massimo sul cammino tra due nodi, estremi
+     * compresi. A parità di valore il nodo restituito è uno qualunque tra
+     * quelli di valore massimo.
+     *
+     * @param x
+     *              il primo nodo
+     * @param y
+     *              il secondo nodo
+     * @return il nodo di valore massimo sul cammino, -1 se i due nodi sono in
+     *         alberi diversi
+     * @throws IndexOutOfBoundsException
+     *                                       se uno dei due nodi non è compreso
+     *                                       tra 0 e size() - 1
+     */
+    public int pathMax(int x, int y) {
+        if (!connected(x, y)) return -1;
+        makeRoot(x);
+        access(y);
+        return maxNode[y];
+    }
+
+    /*
+     * Rende x la radice del suo albero rovesciando il cammino dalla vecchia
+     * radice a x.
+     */
+    private void makeRoot(int x) {
+        access(x);
+        reversed[x] ^= true;
+    }
+
+    /*
+     * Restituisce la radice dell'albero di x.
+     */
+    private int findRoot(int x) {
+        access(x);
+        int r = x;
+        while (true) {
+            push(r);
+            if (left[r] < 0) break;
+            r = left[r];
+        }
+        splay(r);
+        return r;
+    }
+
+    /*
+     * Rende il cammino dalla radice a x il cammino preferito, senza nodi più
+     * profondi di x, e porta x in cima al suo splay tree.
+     */
+    private void access(int x) {
+        int last = -1;
+        for (int y = x; y >= 0; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            update(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    // Determina se x è la radice del suo splay tree
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p < 0 || (left[p] != x && right[p] != x);
+    }
+
+    // Propaga ai figli il rovesciamento pendente di x
+    private void push(int x) {
+        if (!reversed[x]) return;
+        int l = left[x];
+        left[x] = right[x];
+        right[x] = l;
+        if (left[x] >= 0) reversed[left[x]] ^= true;
+        if (right[x] >= 0) reversed[right[x]] ^= true;
+        reversed[x] = false;
+    }
+
+    // Ricalcola il nodo di valore massimo del sottoalbero di x
+    private void update(int x) {
+        int m = x;
+        if (left[x] >= 0 && value[maxNode[left[x]]] > value[m]) m = maxNode[left[x]];
+        if (right[x] >= 0 && value[maxNode[right[x]]] > value[m]) m = maxNode[right[x]];
+        maxNode[x] = m;
+    }
+
+    // Ruota x sopra il padre
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        if (!isSplayRoot(p)) {
+            if (left[g] == p) left[g] = x;
+            else right[g] = x;
+        }
+        parent[x] = g;
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] >= 0) parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] >= 0) parent[left[x]] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        update(p);
+        update(x);
+    }
+
+    // Porta x in cima al suo splay tree
+    private void splay(int x) {
+        // Prima propago i rovesciamenti pendenti dalla radice dello splay tree
+        // fino a x
+        int top = 0;
+        stack[top++] = x;
+        for (int y = x; !isSplayRoot(y); y = parent[y]) stack[top++] = parent[y];
+        while (top > 0) push(stack[--top]);
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                // zig-zig se x e p sono figli dallo stesso lato, zig-zag altrimenti
+                if ((left[g] == p) == (left[p] == x)) rotate(p);
+                else rotate(x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void checkNode(int x) {
+        if (x < 0 || x >= size) throw new IndexOutOfBoundsException("Nodo non presente: " + x);
+    }
+}
@@ -0,0 +1,128 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe LinkCutTree.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class LinkCutTreeTest {
+
+    @Test
+    final void testExceptions() {
+        assertThrows(IllegalArgumentException.class, () -> new LinkCutTree(-1));
+        LinkCutTree t = new LinkCutTree();
+        assertThrows(IllegalArgumentException.class, () -> t.addNode(Double.NaN));
+        int a = t.addNode(1);
+        int b = t.addNode(2);
+        assertThrows(IndexOutOfBoundsException.class, () -> t.getValue(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> t.connected(a, -1));
+        assertThrows(IllegalArgumentException.class, () -> t.cut(a, b));
+        t.link(a, b);
+        assertThrows(IllegalArgumentException.class, () -> t.link(b, a));
+        assertThrows(IllegalArgumentException.class, () -> t.cut(a, a));
+        assertThrows(IllegalArgumentException.class, () -> t.setValue(a, Double.NaN));
+    }
+
+    @Test
+    final void testPath() {
+        LinkCutTree t = new LinkCutTree(2);
+        // Cammino 0 - 1 - 2 - 3 - 4 con valori 5, 1, 7, 3, 2
+        double[] values = { 5, 1, 7, 3, 2 };
+        for (double v : values) t.addNode(v);
+        assertEquals(5, t.size());
+        for (int i = 0; i + 1 < 5; i++) t.link(i, i + 1);
+        assertTrue(t.connected(0, 4));
+        assertEquals(2, t.pathMax(0, 4));
+        assertEquals(3, t.pathMax(3, 4));
+        assertEquals(0, t.pathMax(1, 0));
+        t.setValue(2, 0);
+        assertEquals(0, t.pathMax(0, 4));
+        assertEquals(3, t.pathMax(2, 4));
+        t.cut(2, 1);
+        assertFalse(t.connected(0, 4));
+        assertEquals(-1, t.pathMax(0, 4));
+        assertTrue(t.connected(2, 4));
+        t.link(0, 4);
+        assertEquals(0, t.pathMax(1, 2));
+        assertEquals(0.0, t.getValue(2));
+    }
+
+    @Test
+    final void testAgainstNaiveForest() {
+        // Operazioni casuali confrontate con una foresta rappresentata con
+        // liste di adiacenza, su cui i cammini vengono cercati con una visita
+        Random random = new Random(8);
+        int n = 200;
+        LinkCutTree t = new LinkCutTree();
+        List<List<Integer>> adjacent = new ArrayList<List<Integer>>();
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextInt(1000);
+            t.addNode(values[i]);
+            adjacent.add(new ArrayList<Integer>());
+        }
+        for (int op = 0; op < 20000; op++) {
+            int x = random.nextInt(n);
+            int y = random.nextInt(n);
+            List<Integer> path = path(adjacent, x, y);
+            int kind = random.nextInt(4);
+            if (kind == 0 && path == null) {
+                t.link(x, y);
+                adjacent.get(x).add(y);
+                adjacent.get(y).add(x);
+            } else if (kind == 1 && !adjacent.get(x).isEmpty()) {
+                int z = adjacent.get(x).get(random.nextInt(adjacent.get(x).size()));
+                t.cut(z, x);
+                adjacent.get(x).remove(Integer.valueOf(z));
+                adjacent.get(z).remove(Integer.valueOf(x));
+            } else if (kind == 2) {
+                values[x] = random.nextInt(1000);
+                t.setValue(x, values[x]);
+            } else {
+                assertEquals(path != null, t.connected(x, y));
+                int max = t.pathMax(x, y);
+                if (path == null) {
+                    assertEquals(-1, max);
+                } else {
+                    double expected = Double.NEGATIVE_INFINITY;
+                    for (int z : path) expected = Math.max(expected, values[z]);
+                    assertTrue(path.contains(max));
+                    assertEquals(expected, values[max]);
+                }
+            }
+        }
+    }
+
+    /*
+     * Restituisce i nodi del cammino tra x e y nella foresta, null se non
+     * sono collegati.
+     */
+    private static List<Integer> path(List<List<Integer>> adjacent, int x, int y) {
+        int[] previous = new int[adjacent.size()];
+        Arrays.fill(previous, -2);
+        previous[x] = -1;
+        ArrayDeque<Integer> queue = new ArrayDeque<Integer>();
+        queue.add(x);
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (int v : adjacent.get(u)) {
+                if (previous[v] != -2) continue;
+                previous[v] = u;
+                queue.add(v);
+            }
+        }
+        if (previous[y] == -2) return null;
+        List<Integer> path = new ArrayList<Integer>();
+        for (int z = y; z != -1; z = previous[z]) path.add(z);
+        return path;
+    }
+}
@@ -0,0 +1,44 @@
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Metodi di supporto comuni alle classi di test degli algoritmi per il calcolo
+ * dell'albero di copertura minimo.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+final class MSPTestUtils {
+
+    private MSPTestUtils() {
+    }
+
+    /*
+     * Grafo casuale connesso: un cammino tra tutti i nodi più archi casuali,
+     * con pesi interi perché le somme non dipendano dall'ordine.
+     */
+    static Graph<Integer> randomGraph(int n, int m, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        Graph<Integer> gr = new AdjacencyListUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++) gr.addNode(new GraphNode<Integer>(i));
+        for (int i = 1; i < n; i++)
+            gr.addEdge(new GraphEdge<Integer>(new GraphNode<Integer>(i - 1), new GraphNode<Integer>(i), false,
+                    random.nextInt(maxWeight)));
+        for (int k = n - 1; k < m; k++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u != v) gr.addEdge(new GraphEdge<Integer>(new GraphNode<Integer>(u), new GraphNode<Integer>(v), false,
+                    random.nextInt(maxWeight)));
+        }
+        return gr;
+    }
+
+    /*
+     * Somma dei pesi di un insieme di archi.
+     */
+    static <L> double totalWeight(Set<GraphEdge<L>> edges) {
+        double total = 0;
+        for (GraphEdge<L> edge : edges) total += edge.getWeight();
+        return total;
+    }
+}
@@ -0,0 +1,197 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che implementa un grafo non orientato immutabile in formato
+ * Compressed Sparse Row i cui array (inizi delle righe, indici dei vicini e
+ * pesi) risiedono in un file mappato in memoria con {@code FileChannel.map}.
+ * Gli archi non occupano quindi spazio nello heap: è il sistema operativo a
+ * caricare le pagine del file quando vengono lette e a scaricarle quando
+ * serve memoria. Nello heap rimangono solo i nodi.
+ *
+ * Poiché un singolo buffer mappato non può superare i 2 GiB, ogni array è
+ * mappato a porzioni di 1 GiB. Le letture usano metodi assoluti dei buffer e
+ * possono quindi avvenire da più thread contemporaneamente.
+ *
+ * Il file è nel formato descritto in {@code GraphBinaryFormat<L>}. Con
+ * {@code store} e {@code open} il file contiene solo la struttura e i nodi,
+ * nello stesso ordine usato per scriverlo, vanno forniti all'apertura; con
+ * {@code GraphBinaryFormat<L>} anche le etichette vengono salvate nel file.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi
+ */
+public class MemoryMappedUndirectedGraph<L> extends AbstractCompressedSparseRowUndirectedGraph<L> {
+
+    // Dimensione di una porzione mappata: potenza di 2 e multiplo di 8, così
+    // nessun elemento si trova a cavallo di due porzioni
+    private static final int CHUNK_SHIFT = 30;
+
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    // Porzioni mappate dell'array degli inizi delle righe (long)
+    private final ByteBuffer[] offsets;
+
+    // Porzioni mappate dell'array degli indici dei vicini (int)
+    private final ByteBuffer[] neighbors;
+
+    // Porzioni mappate dell'array dei pesi (double)
+    private final ByteBuffer[] weights;
+
+    // Numero di archi
+    private final long edgeCount;
+
+    /*
+     * Costruttore usato da chi ha già letto l'intestazione del file: mappa le
+     * sezioni CSR che seguono il dizionario. I buffer mappati restano validi
+     * anche dopo la chiusura del canale.
+     */
+    MemoryMappedUndirectedGraph(List<GraphNode<L>> nodes, FileChannel channel, GraphBinaryFormat.Header header)
+            throws IOException {
+        super(nodes);
+        long n = nodes.size();
+        long offsetsPosition = header.sectionsPosition();
+        long neighborsPosition = offsetsPosition + (n + 1) * Long.BYTES;
+        long weightsPosition = neighborsPosition + GraphBinaryFormat.align(header.halfEdgeCount * Integer.BYTES);
+        this.offsets = map(channel, offsetsPosition, (n + 1) * Long.BYTES);
+        this.neighbors = map(channel, neighborsPosition, header.halfEdgeCount * Integer.BYTES);
+        this.weights = map(channel, weightsPosition, header.halfEdgeCount * Double.BYTES);
+        this.edgeCount = header.edgeCount;
+    }
+
+    /**
+     * Apre un file che contiene la struttura di un grafo mappandolo in memoria.
+     * Il file può essere stato scritto da {@code store} o da
+     * {@code GraphBinaryFormat<L>}: in entrambi i casi le etichette
+     * eventualmente presenti vengono ignorate e si usano i nodi passati.
+     *
+     * @param file
+     *                  il file da aprire
+     * @param nodes
+     *                  i nodi del grafo nello stesso ordine di indice usato per
+     *                  scrivere il file
+     * @param <L>
+     *                  etichette dei nodi
+     * @return il grafo mappato in memoria
+     * @throws IOException
+     *                                      se si verifica un errore nella
+     *                                      lettura del file o il file non è nel
+     *                                      formato atteso
+     * @throws NullPointerException
+     *                                      se uno dei parametri è null
+     * @throws IllegalArgumentException
+     *                                      se il numero di nodi non coincide
+     *                                      con quello registrato nel file
+     */
+    public static <L> MemoryMappedUndirectedGraph<L> open(Path file, List<GraphNode<L>> nodes) throws IOException {
+        if (file == null || nodes == null) throw new NullPointerException("Parametro null");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            GraphBinaryFormat.Header header = GraphBinaryFormat.readHeader(channel);
+            if (header.nodeCount != nodes.size())
+                throw new IllegalArgumentException("Il file contiene " + header.nodeCount
+                        + " nodi, ne sono stati passati " + nodes.size());
+            return new MemoryMappedUndirectedGraph<L>(new ArrayList<GraphNode<L>>(nodes), channel, header);
+        }
+    }
+
+    /**
+     * Scrive la struttura di un grafo non orientato in un file, senza le
+     * etichette dei nodi, e lo riapre mappato in memoria. Il file viene creato
+     * o sovrascritto. Per salvare anche le etichette si usa
+     * {@code GraphBinaryFormat<L>}.
+     *
+     * @param g
+     *                 il grafo da memorizzare
+     * @param file
+     *                 il file in cui scrivere
+     * @param <L>
+     *                 etichette dei nodi
+     * @return il grafo mappato, con i nodi nello stesso ordine di indice con cui
+     *         è stato scritto il file
+     * @throws IOException
+     *                                      se si verifica un errore nella
+     *                                      scrittura del file
+     * @throws NullPointerException
+     *                                      se uno dei parametri è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo passato è orientato
+     */
+    public static <L> MemoryMappedUndirectedGraph<L> store(Graph<L> g, Path file) throws IOException {
+        AbstractCompressedSparseRowUndirectedGraph<L> csr = toCompressedSparseRow(g);
+        GraphBinaryFormat.write(csr, file, null);
+        return open(file, csr.nodes);
+    }
+
+    /*
+     * Mappa in sola lettura una regione del canale in porzioni di al più
+     * 2^CHUNK_SHIFT byte.
+     */
+    private static ByteBuffer[] map(FileChannel channel, long position, long size) throws IOException {
+        int chunks = (int) ((size + CHUNK_MASK) >>> CHUNK_SHIFT);
+        ByteBuffer[] result = new ByteBuffer[Math.max(chunks, 1)];
+        for (int c = 0; c < result.length; c++) {
+            long start = (long) c << CHUNK_SHIFT;
+            long length = Math.min(size - start, CHUNK_MASK + 1);
+            result[c] = channel.map(FileChannel.MapMode.READ_ONLY, position + start, Math.max(length, 0))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return result;
+    }
+
+    @Override
+    public long getRowStart(int i) {
+        long byteOffset = (long) i * Long.BYTES;
+        return offsets[(int) (byteOffset >>> CHUNK_SHIFT)].getLong((int) (byteOffset & CHUNK_MASK));
+    }
+
+    @Override
+    public long getRowEnd(int i) {
+        return getRowStart(i + 1);
+    }
+
+    @Override
+    public int getNeighborAt(long p) {
+        long byteOffset = p * Integer.BYTES;
+        return neighbors[(int) (byteOffset >>> CHUNK_SHIFT)].getInt((int) (byteOffset & CHUNK_MASK));
+    }
+
+    @Override
+    public double getWeightAt(long p) {
+        long byteOffset = p * Double.BYTES;
+        return weights[(int) (byteOffset >>> CHUNK_SHIFT)].getDouble((int) (byteOffset & CHUNK_MASK));
+    }
+
+    /**
+     * Restituisce il numero di archi di questo grafo.
+     *
+     * @return il numero di archi di questo grafo
+     * @throws ArithmeticException
+     *                                 se gli archi sono più di
+     *                                 Integer.MAX_VALUE; in tal caso usare
+     *                                 {@code getEdgeCountAsLong()}
+     */
+    @Override
+    public int edgeCount() {
+        return Math.toIntExact(edgeCount);
+    }
+
+    /**
+     * Restituisce il numero di archi di questo grafo come long, valido anche
+     * per grafi con più di Integer.MAX_VALUE archi.
+     *
+     * @return il numero di archi di questo grafo
+     */
+    public long getEdgeCountAsLong() {
+        return edgeCount;
+    }
+}
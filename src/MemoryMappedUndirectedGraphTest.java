@@ -0,0 +1,178 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe MemoryMappedUndirectedGraph.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class MemoryMappedUndirectedGraphTest {
+
+    // Costruisce il grafo di esempio del Cormen et al. usato anche nei test di Kruskal
+    private AdjacencyMatrixUndirectedGraph<String> buildGraph() {
+        AdjacencyMatrixUndirectedGraph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        String[] labels = { "a", "b", "c", "d", "e", "f", "g", "h", "i" };
+        for (String label : labels) gr.addNode(new GraphNode<String>(label));
+        addEdge(gr, "a", "b", 4);
+        addEdge(gr, "a", "h", 8.5);
+        addEdge(gr, "b", "h", 11);
+        addEdge(gr, "b", "c", 8);
+        addEdge(gr, "c", "i", 2);
+        addEdge(gr, "c", "d", 7);
+        addEdge(gr, "c", "f", 4);
+        addEdge(gr, "d", "f", 14);
+        addEdge(gr, "d", "e", 9);
+        addEdge(gr, "e", "f", 10);
+        addEdge(gr, "f", "g", 2);
+        addEdge(gr, "g", "i", 6);
+        addEdge(gr, "g", "h", 1);
+        addEdge(gr, "h", "i", 7);
+        return gr;
+    }
+
+    private void addEdge(Graph<String> gr, String l1, String l2, double w) {
+        gr.addEdge(new GraphEdge<String>(gr.getNodeOf(l1), gr.getNodeOf(l2), false, w));
+    }
+
+    @Test
+    final void testStoreAndReopen() throws IOException {
+        AdjacencyMatrixUndirectedGraph<String> gr = buildGraph();
+        // Un cappio rende dispari il numero di elementi delle righe
+        addEdge(gr, "e", "e", 3);
+        Path file = Files.createTempFile("graph", ".csr");
+        try {
+            MemoryMappedUndirectedGraph<String> mapped = MemoryMappedUndirectedGraph.store(gr, file);
+            assertEquals(gr.nodeCount(), mapped.nodeCount());
+            assertEquals(gr.edgeCount(), mapped.edgeCount());
+            assertEquals(gr.edgeCount(), mapped.getEdgeCountAsLong());
+            assertEquals(gr.getNodes(), mapped.getNodes());
+            assertEquals(gr.getEdges(), mapped.getEdges());
+            for (GraphNode<String> node : gr.getNodes()) {
+                assertEquals(gr.getNodeIndexOf(node.getLabel()), mapped.getNodeIndexOf(node.getLabel()));
+                assertEquals(gr.getEdgesOf(node), mapped.getEdgesOf(node));
+                assertEquals(gr.getDegreeOf(node), mapped.getDegreeOf(node));
+            }
+            for (GraphEdge<String> edge : mapped.getEdges()) {
+                for (GraphEdge<String> original : gr.getEdges())
+                    if (original.equals(edge)) assertEquals(original.getWeight(), edge.getWeight());
+            }
+
+            // Riapertura dello stesso file con i nodi in ordine di indice
+            List<GraphNode<String>> nodes = new ArrayList<GraphNode<String>>();
+            for (int i = 0; i < gr.nodeCount(); i++) nodes.add(gr.getNodeAtIndex(i));
+            MemoryMappedUndirectedGraph<String> reopened = MemoryMappedUndirectedGraph.open(file, nodes);
+            assertEquals(gr.getEdges(), reopened.getEdges());
+            nodes.remove(0);
+            assertThrows(IllegalArgumentException.class, () -> MemoryMappedUndirectedGraph.open(file, nodes));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    final void testEmptyGraphAndExceptions() throws IOException {
+        Path file = Files.createTempFile("graph", ".csr");
+        try {
+            MemoryMappedUndirectedGraph<String> mapped = MemoryMappedUndirectedGraph
+                    .store(new AdjacencyListUndirectedGraph<String>(), file);
+            assertEquals(0, mapped.nodeCount());
+            assertEquals(0, mapped.edgeCount());
+            assertTrue(mapped.getEdges().isEmpty());
+            assertThrows(NullPointerException.class, () -> MemoryMappedUndirectedGraph.store(null, file));
+            assertThrows(NullPointerException.class, () -> MemoryMappedUndirectedGraph.store(buildGraph(), null));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    final void testImmutability() throws IOException {
+        Path file = Files.createTempFile("graph", ".csr");
+        try {
+            MemoryMappedUndirectedGraph<String> mapped = MemoryMappedUndirectedGraph.store(buildGraph(), file);
+            assertThrows(UnsupportedOperationException.class, () -> mapped.addNode(new GraphNode<String>("z")));
+            assertThrows(UnsupportedOperationException.class,
+                    () -> mapped.removeEdge(new GraphEdge<String>(mapped.getNodeOf("a"), mapped.getNodeOf("b"),
+                            false)));
+            assertThrows(UnsupportedOperationException.class, () -> mapped.clear());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    final void testAlgorithmsOnMappedGraph() throws IOException {
+        // Grafo casuale con più componenti letto da un grafo a liste
+        Random random = new Random(11);
+        Graph<Integer> g = new AdjacencyListUndirectedGraph<Integer>();
+        for (int i = 0; i < 300; i++) g.addNode(new GraphNode<Integer>(i));
+        for (int k = 0; k < 400; k++) {
+            int u = random.nextInt(300);
+            int v = random.nextInt(300);
+            g.addEdge(new GraphEdge<Integer>(g.getNodeOf(u), g.getNodeOf(v), false, random.nextInt(50)));
+        }
+        Path file = Files.createTempFile("graph", ".csr");
+        try {
+            MemoryMappedUndirectedGraph<Integer> mapped = MemoryMappedUndirectedGraph.store(g, file);
+            UndirectedGraphConnectedComponentsComputer<Integer> cc = new UndirectedGraphConnectedComponentsComputer<Integer>();
+            assertEquals(cc.computeConnectedComponents(g), cc.computeConnectedComponents(mapped));
+            KruskalMSP<Integer> alg = new KruskalMSP<Integer>();
+            double expected = 0;
+            for (GraphEdge<Integer> edge : alg.computeMSP(g)) expected += edge.getWeight();
+            Set<GraphEdge<Integer>> result = alg.computeMSP(mapped);
+            double total = 0;
+            for (GraphEdge<Integer> edge : result) total += edge.getWeight();
+            assertEquals(expected, total);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    final void testKruskalOnMappedRows() throws IOException {
+        // Pesi interi piccoli, quindi molti archi con lo stesso peso, e più
+        // componenti connesse
+        Random random = new Random(29);
+        Graph<Integer> g = new AdjacencyListUndirectedGraph<Integer>();
+        for (int i = 0; i < 500; i++) g.addNode(new GraphNode<Integer>(i));
+        for (int k = 0; k < 3000; k++) {
+            int u = random.nextInt(450);
+            int v = random.nextInt(450);
+            g.addEdge(new GraphEdge<Integer>(g.getNodeOf(u), g.getNodeOf(v), false,
+                    k % 3 == 0 ? random.nextDouble() * 100 : random.nextInt(20)));
+        }
+        Set<GraphEdge<Integer>> expected = new KruskalMSP<Integer>().computeMSP(g);
+        Path file = Files.createTempFile("graph", ".csr");
+        try {
+            MemoryMappedUndirectedGraph<Integer> mapped = MemoryMappedUndirectedGraph.store(g, file);
+            KruskalMSP<Integer> alg = new KruskalMSP<Integer>();
+            // Con gruppi piccoli gli archi vengono copiati a pezzi, gli
+            // intervalli troppo pieni vengono contati di nuovo e gli archi
+            // con lo stesso peso vengono elaborati durante la scansione
+            for (int chunkSize : new int[] { 1, 16, 500, 1 << 22 }) {
+                Set<GraphEdge<Integer>> mst = alg.computeMSP(mapped, chunkSize);
+                assertEquals(expected.size(), mst.size());
+                assertEquals(MSPTestUtils.totalWeight(expected), MSPTestUtils.totalWeight(mst), 1e-9);
+                assertTrue(g.getEdges().containsAll(mst));
+            }
+            assertEquals(expected.size(), alg.computeMSP(mapped).size());
+
+            // I pesi vengono controllati prima di costruire l'albero
+            g.addEdge(new GraphEdge<Integer>(g.getNodeOf(499), g.getNodeOf(499), false, -1));
+            MemoryMappedUndirectedGraph<Integer> invalid = MemoryMappedUndirectedGraph.store(g, file);
+            assertThrows(IllegalArgumentException.class, () -> alg.computeMSP(invalid));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
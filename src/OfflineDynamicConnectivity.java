@@ -0,0 +1,335 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che risponde a domande di connessione su un grafo non orientato che
+ * cambia nel tempo, quando tutta la sequenza di modifiche e di domande è nota
+ * in anticipo, ad esempio rileggendo un registro di eventi.
+ *
+ * Gli eventi (aggiunta di un nodo, aggiunta o rimozione di un arco, domanda)
+ * vengono registrati nell'ordine in cui avvengono. Ogni arco resta nel grafo
+ * per uno o più intervalli di domande consecutive; solve assegna ogni
+ * intervallo ai nodi di un albero dei segmenti sulle domande che lo coprono
+ * (al più 2 log q nodi) e visita l'albero in profondità con una
+ * {@code RollbackDisjointSets<GraphNode<L>>}: entrando in un nodo si uniscono
+ * gli estremi dei suoi archi, uscendo si annullano le unioni con rollback.
+ * Arrivati alla foglia di una domanda gli insiemi disgiunti sono esattamente
+ * le componenti connesse del grafo in quel momento. Con m intervalli e q
+ * domande il tempo totale è O((m + q) log q log n), invece di un calcolo
+ * delle componenti connesse per ogni domanda.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class OfflineDynamicConnectivity<L> {
+
+    /*
+     * Nodi nell'ordine in cui sono comparsi.
+     */
+    private final List<GraphNode<L>> nodes;
+
+    private final Set<GraphNode<L>> knownNodes;
+
+    /*
+     * Archi presenti in questo momento, con l'indice della prima domanda in
+     * cui sono presenti.
+     */
+    private final Map<GraphEdge<L>, Integer> openEdges;
+
+    /*
+     * Intervalli già chiusi: l'arco intervalEdges.get(k) è presente dalla
+     * domanda intervalFrom[k] compresa alla domanda intervalTo[k] esclusa.
+     */
+    private final List<GraphEdge<L>> intervalEdges;
+
+    private int[] intervalFrom;
+
+    private int[] intervalTo;
+
+    /*
+     * Domande: nodi della domanda di connessione (null per le domande sul
+     * numero di componenti) e numero di nodi presenti al momento della
+     * domanda.
+     */
+    private final List<GraphNode<L>> queryNode1;
+
+    private final List<GraphNode<L>> queryNode2;
+
+    private int[] nodesAtQuery;
+
+    /*
+     * Risposte alle domande risolte dall'ultimo solve, null prima del primo.
+     */
+    private boolean[] connected;
+
+    private int[] componentCount;
+
+    /**
+     * Costruisce un registro di eventi vuoto, per un grafo inizialmente senza
+     * nodi.
+     */
+    public OfflineDynamicConnectivity() {
+        this.nodes = new ArrayList<GraphNode<L>>();
+        this.knownNodes = new HashSet<GraphNode<L>>();
+        this.openEdges = new HashMap<GraphEdge<L>, Integer>();
+        this.intervalEdges = new ArrayList<GraphEdge<L>>();
+        this.intervalFrom = new int[16];
+        this.intervalTo = new int[16];
+        this.queryNode1 = new ArrayList<GraphNode<L>>();
+        this.queryNode2 = new ArrayList<GraphNode<L>>();
+        this.nodesAtQuery = new int[16];
+    }
+
+    /**
+     * Registra l'aggiunta di un nodo isolato.
+     *
+     * @param node
+     *                 il nodo
+     * @return true se il nodo è stato aggiunto, false se era già presente
+     * @throws NullPointerException
+     *                                  se il nodo è null
+     */
+    public boolean addNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il nodo passato è null");
+        if (!knownNodes.add(node)) return false;
+        nodes.add(node);
+        return true;
+    }
+
+    /**
+     * Registra l'aggiunta di un arco. Gli estremi dell'arco non ancora
+     * presenti vengono aggiunti.
+     *
+     * @param edge
+     *                 l'arco
+     * @return true se l'arco è stato aggiunto, false se era già presente
+     * @throws NullPointerException
+     *                                      se l'arco è null
+     * @throws IllegalArgumentException
+     *                                      se l'arco è orientato
+     */
+    public boolean addEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("L'arco passato è null");
+        if (edge.isDirected()) throw new IllegalArgumentException("Un arco Orientato non è aggiungibile");
+        if (openEdges.containsKey(edge)) return false;
+        addNode(edge.getNode1());
+        addNode(edge.getNode2());
+        openEdges.put(edge, queryCount());
+        return true;
+    }
+
+    /**
+     * Registra la rimozione di un arco.
+     *
+     * @param edge
+     *                 l'arco
+     * @return true se l'arco è stato rimosso, false se non era presente
+     * @throws NullPointerException
+     *                                  se l'arco è null
+     */
+    public boolean removeEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("L'arco passato è null");
+        Integer from = openEdges.remove(edge);
+        if (from == null) return false;
+        // Un arco aggiunto e rimosso tra due domande non serve a nessuna
+        if (from < queryCount()) {
+            int k = intervalEdges.size();
+            if (k == intervalFrom.length) {
+                intervalFrom = Arrays.copyOf(intervalFrom, 2 * k);
+                intervalTo = Arrays.copyOf(intervalTo, 2 * k);
+            }
+            intervalEdges.add(edge);
+            intervalFrom[k] = from;
+            intervalTo[k] = queryCount();
+        }
+        return true;
+    }
+
+    /**
+     * Registra una domanda: i due nodi sono collegati da un cammino in questo
+     * momento?
+     *
+     * @param node1
+     *                  il primo nodo
+     * @param node2
+     *                  il secondo nodo
+     * @return l'indice della domanda, da passare a isConnected dopo solve
+     * @throws NullPointerException
+     *                                      se uno dei due nodi è null
+     * @throws IllegalArgumentException
+     *                                      se uno dei due nodi non è ancora
+     *                                      stato aggiunto
+     */
+    public int queryConnected(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null) throw new NullPointerException("Il nodo passato è null");
+        if (!knownNodes.contains(node1) || !knownNodes.contains(node2))
+            throw new IllegalArgumentException("Il nodo passato non è presente");
+        return addQuery(node1, node2);
+    }
+
+    /**
+     * Registra una domanda: quante sono le componenti connesse in questo
+     * momento?
+     *
+     * @return l'indice della domanda, da passare a getComponentCount dopo
+     *         solve
+     */
+    public int queryComponentCount() {
+        return addQuery(null, null);
+    }
+
+    /**
+     * Restituisce il numero di domande registrate.
+     *
+     * @return il numero di domande
+     */
+    public int queryCount() {
+        return queryNode1.size();
+    }
+
+    /**
+     * Risponde a tutte le domande registrate fino a ora. Gli eventi registrati
+     * dopo non cambiano le risposte già date, ma le domande registrate dopo
+     * richiedono una nuova chiamata.
+     */
+    public void solve() {
+        int q = queryCount();
+        connected = new boolean[q];
+        componentCount = new int[q];
+        if (q == 0) return;
+
+        // Intervalli da assegnare: quelli chiusi e quelli degli archi ancora
+        // presenti, che arrivano fino all'ultima domanda
+        List<GraphEdge<L>> edges = new ArrayList<GraphEdge<L>>(intervalEdges);
+        int m = intervalEdges.size() + openEdges.size();
+        int[] from = Arrays.copyOf(intervalFrom, m);
+        int[] to = Arrays.copyOf(intervalTo, m);
+        for (Map.Entry<GraphEdge<L>, Integer> open : openEdges.entrySet()) {
+            if (open.getValue() == q) continue;
+            from[edges.size()] = open.getValue();
+            to[edges.size()] = q;
+            edges.add(open.getKey());
+        }
+        m = edges.size();
+
+        // Archi di ogni nodo dell'albero dei segmenti, raggruppati per nodo
+        // come nelle righe di un grafo CSR: prima si contano, poi si scrivono
+        int[] offsets = new int[4 * q + 1];
+        for (int k = 0; k < m; k++) assign(1, 0, q, from[k], to[k], k, offsets, null);
+        for (int t = 0; t < 4 * q; t++) offsets[t + 1] += offsets[t];
+        int[] assigned = new int[offsets[4 * q]];
+        int[] next = Arrays.copyOf(offsets, 4 * q);
+        for (int k = 0; k < m; k++) assign(1, 0, q, from[k], to[k], k, next, assigned);
+
+        RollbackDisjointSets<GraphNode<L>> forest = new RollbackDisjointSets<GraphNode<L>>();
+        for (GraphNode<L> node : nodes) forest.makeSet(node);
+        visit(1, 0, q, forest, forest.checkpoint(), edges, offsets, assigned);
+    }
+
+    /**
+     * Restituisce la risposta a una domanda di connessione.
+     *
+     * @param query
+     *                  l'indice della domanda restituito da queryConnected
+     * @return true se i due nodi della domanda erano collegati
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è quello di una
+     *                                       domanda registrata
+     * @throws IllegalArgumentException
+     *                                       se la domanda è sul numero di
+     *                                       componenti
+     * @throws IllegalStateException
+     *                                       se la domanda è stata registrata
+     *                                       dopo l'ultimo solve
+     */
+    public boolean isConnected(int query) {
+        checkQuery(query);
+        if (queryNode1.get(query) == null)
+            throw new IllegalArgumentException("La domanda non è una domanda di connessione");
+        return connected[query];
+    }
+
+    /**
+     * Restituisce il numero di componenti connesse al momento di una domanda,
+     * di qualunque tipo.
+     *
+     * @param query
+     *                  l'indice della domanda
+     * @return il numero di componenti connesse al momento della domanda
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è quello di una
+     *                                       domanda registrata
+     * @throws IllegalStateException
+     *                                       se la domanda è stata registrata
+     *                                       dopo l'ultimo solve
+     */
+    public int getComponentCount(int query) {
+        checkQuery(query);
+        return componentCount[query];
+    }
+
+    private int addQuery(GraphNode<L> node1, GraphNode<L> node2) {
+        int query = queryCount();
+        if (query == nodesAtQuery.length) nodesAtQuery = Arrays.copyOf(nodesAtQuery, 2 * query);
+        queryNode1.add(node1);
+        queryNode2.add(node2);
+        nodesAtQuery[query] = nodes.size();
+        return query;
+    }
+
+    /*
+     * Assegna l'intervallo [from, to) di domande al nodo t dell'albero dei
+     * segmenti, che copre le domande [lo, hi), o ai suoi discendenti. Senza
+     * assigned conta soltanto gli archi di ogni nodo in counts[t + 1].
+     */
+    private static void assign(int t, int lo, int hi, int from, int to, int k, int[] counts, int[] assigned) {
+        if (to <= lo || hi <= from) return;
+        if (from <= lo && hi <= to) {
+            if (assigned == null) counts[t + 1]++;
+            else assigned[counts[t]++] = k;
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        assign(2 * t, lo, mid, from, to, k, counts, assigned);
+        assign(2 * t + 1, mid, hi, from, to, k, counts, assigned);
+    }
+
+    /*
+     * Visita il nodo t dell'albero dei segmenti con gli archi dei suoi
+     * antenati già uniti. Le unioni registrate dopo base sono quelle che
+     * hanno ridotto il numero di componenti.
+     */
+    private void visit(int t, int lo, int hi, RollbackDisjointSets<GraphNode<L>> forest, int base,
+            List<GraphEdge<L>> edges, int[] offsets, int[] assigned) {
+        int checkpoint = forest.checkpoint();
+        for (int p = offsets[t]; p < offsets[t + 1]; p++) {
+            GraphEdge<L> edge = edges.get(assigned[p]);
+            forest.union(edge.getNode1(), edge.getNode2());
+        }
+        if (hi - lo == 1) {
+            componentCount[lo] = nodesAtQuery[lo] - (forest.checkpoint() - base);
+            GraphNode<L> node1 = queryNode1.get(lo);
+            if (node1 != null) connected[lo] = forest.findSet(node1).equals(forest.findSet(queryNode2.get(lo)));
+        } else {
+            int mid = (lo + hi) >>> 1;
+            visit(2 * t, lo, mid, forest, base, edges, offsets, assigned);
+            visit(2 * t + 1, mid, hi, forest, base, edges, offsets, assigned);
+        }
+        forest.rollback(checkpoint);
+    }
+
+    private void checkQuery(int query) {
+        if (query < 0 || query >= queryCount()) throw new IndexOutOfBoundsException("Domanda non presente: " + query);
+        if (connected == null || query >= connected.length)
+            throw new IllegalStateException("La domanda non è ancora stata risolta");
+    }
+}
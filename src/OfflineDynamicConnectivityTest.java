@@ -0,0 +1,119 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe OfflineDynamicConnectivity.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class OfflineDynamicConnectivityTest {
+
+    @Test
+    final void testTimeline() {
+        OfflineDynamicConnectivity<String> log = new OfflineDynamicConnectivity<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        GraphEdge<String> ab = new GraphEdge<String>(a, b, false);
+        GraphEdge<String> bc = new GraphEdge<String>(b, c, false);
+        assertTrue(log.addEdge(ab));
+        assertFalse(log.addEdge(new GraphEdge<String>(b, a, false)));
+        int q0 = log.queryConnected(a, b);
+        int q1 = log.queryComponentCount();
+        log.addNode(c);
+        int q2 = log.queryComponentCount();
+        log.addEdge(bc);
+        int q3 = log.queryConnected(a, c);
+        assertTrue(log.removeEdge(ab));
+        assertFalse(log.removeEdge(ab));
+        int q4 = log.queryConnected(a, c);
+        int q5 = log.queryComponentCount();
+        // Un arco aggiunto e tolto tra due domande non conta
+        log.addEdge(ab);
+        log.removeEdge(ab);
+        int q6 = log.queryConnected(a, b);
+        log.solve();
+        assertTrue(log.isConnected(q0));
+        assertEquals(1, log.getComponentCount(q1));
+        assertEquals(2, log.getComponentCount(q2));
+        assertTrue(log.isConnected(q3));
+        assertEquals(1, log.getComponentCount(q3));
+        assertFalse(log.isConnected(q4));
+        assertEquals(2, log.getComponentCount(q5));
+        assertFalse(log.isConnected(q6));
+        assertThrows(IllegalArgumentException.class, () -> log.isConnected(q1));
+        // Le domande già risolte restano valide, le nuove no
+        int q7 = log.queryComponentCount();
+        assertEquals(2, log.getComponentCount(q5));
+        assertThrows(IllegalStateException.class, () -> log.getComponentCount(q7));
+        assertThrows(IndexOutOfBoundsException.class, () -> log.getComponentCount(8));
+        log.solve();
+        assertEquals(2, log.getComponentCount(q7));
+    }
+
+    @Test
+    final void testAgreesWithComputer() {
+        Random random = new Random(17);
+        OfflineDynamicConnectivity<Integer> log = new OfflineDynamicConnectivity<Integer>();
+        Graph<Integer> g = new AdjacencyListUndirectedGraph<Integer>();
+        List<GraphNode<Integer>> nodes = new ArrayList<GraphNode<Integer>>();
+        List<GraphEdge<Integer>> edges = new ArrayList<GraphEdge<Integer>>();
+        List<Integer> queries = new ArrayList<Integer>();
+        List<Boolean> expectedConnected = new ArrayList<Boolean>();
+        List<Integer> expectedCount = new ArrayList<Integer>();
+        for (int step = 0; step < 3000; step++) {
+            int op = random.nextInt(10);
+            if (op == 0 || nodes.size() < 2) {
+                GraphNode<Integer> node = new GraphNode<Integer>(step);
+                g.addNode(node);
+                log.addNode(node);
+                nodes.add(node);
+            } else if (op < 5) {
+                GraphEdge<Integer> edge = new GraphEdge<Integer>(nodes.get(random.nextInt(nodes.size())),
+                        nodes.get(random.nextInt(nodes.size())), false);
+                assertEquals(g.addEdge(edge), log.addEdge(edge));
+                if (!edges.contains(edge)) edges.add(edge);
+            } else if (op < 8 && !edges.isEmpty()) {
+                GraphEdge<Integer> edge = edges.remove(random.nextInt(edges.size()));
+                g.removeEdge(edge);
+                assertTrue(log.removeEdge(edge));
+            } else {
+                GraphNode<Integer> u = nodes.get(random.nextInt(nodes.size()));
+                GraphNode<Integer> v = nodes.get(random.nextInt(nodes.size()));
+                Set<Set<GraphNode<Integer>>> components = new UndirectedGraphConnectedComponentsComputer<Integer>()
+                        .computeConnectedComponents(g);
+                boolean together = false;
+                for (Set<GraphNode<Integer>> component : components)
+                    if (component.contains(u)) together = component.contains(v);
+                queries.add(log.queryConnected(u, v));
+                expectedConnected.add(together);
+                expectedCount.add(components.size());
+            }
+        }
+        log.solve();
+        for (int k = 0; k < queries.size(); k++) {
+            assertEquals(expectedConnected.get(k), log.isConnected(queries.get(k)));
+            assertEquals(expectedCount.get(k).intValue(), log.getComponentCount(queries.get(k)));
+        }
+    }
+
+    @Test
+    final void testExceptions() {
+        OfflineDynamicConnectivity<String> log = new OfflineDynamicConnectivity<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        assertThrows(NullPointerException.class, () -> log.addNode(null));
+        assertThrows(NullPointerException.class, () -> log.addEdge(null));
+        assertThrows(IllegalArgumentException.class, () -> log.addEdge(new GraphEdge<String>(a, a, true)));
+        assertThrows(IllegalArgumentException.class, () -> log.queryConnected(a, a));
+        assertThrows(NullPointerException.class, () -> log.queryConnected(a, null));
+        log.solve();
+        assertEquals(0, log.queryCount());
+    }
+}
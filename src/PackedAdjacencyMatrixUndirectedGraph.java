@@ -0,0 +1,373 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che implementa un grafo non orientato tramite una matrice di
+ * adiacenza compatta, pensata per grafi densi. Non sono accettate etichette
+ * dei nodi null e non sono accettate etichette duplicate nei nodi (che in quel
+ * caso sono lo stesso nodo).
+ *
+ * Come in {@code AdjacencyMatrixUndirectedGraph<L>}, i nodi sono indicizzati da
+ * 0 a nodeCount() - 1 seguendo l'ordine del loro inserimento e, quando un nodo
+ * viene rimosso, i nodi successivi scalano di una posizione.
+ *
+ * Poiché la matrice di un grafo non orientato è simmetrica, viene memorizzata
+ * solo la sua metà triangolare inferiore (diagonale compresa), riga per riga:
+ * la cella (i, j) con j <= i si trova in posizione i * (i + 1) / 2 + j e la
+ * cella (j, i) coincide con essa. Per ogni cella ci sono un bit in un array di
+ * long, che indica se l'arco esiste, e un double con il peso dell'arco
+ * (Double.NaN se l'arco non è pesato). Le righe vengono aggiunte in fondo,
+ * quindi quando i nodi superano la capacità corrente basta raddoppiarla e
+ * copiare gli array così come sono.
+ *
+ * Gli oggetti GraphEdge<L> non sono memorizzati: vengono costruiti solo quando
+ * i metodi di {@code Graph<L>} li richiedono. Per questo modificare il peso di
+ * un arco restituito non ha effetto sul grafo: per cambiarlo occorre
+ * rimuovere l'arco e inserirlo di nuovo.
+ *
+ * Il numero massimo di nodi è 65535, oltre il quale la metà triangolare non è
+ * più indirizzabile con un array.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                etichette dei nodi
+ */
+public class PackedAdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
+
+    // Massimo numero di nodi per cui la metà triangolare entra in un array
+    private static final int MAX_CAPACITY = 65535;
+
+    /*
+     * Le seguenti variabili istanza sono protected al solo scopo di agevolare
+     * il JUnit testing
+     */
+
+    // Insieme dei nodi e associazione di ogni nodo con il proprio indice
+    protected Map<GraphNode<L>, Integer> nodesIndex;
+
+    // Nodi in ordine di indice
+    protected ArrayList<GraphNode<L>> nodesList;
+
+    // Numero di nodi per cui c'è attualmente spazio negli array
+    protected int capacity;
+
+    // Un bit per ogni cella della metà triangolare: 1 se l'arco esiste
+    protected long[] adjacency;
+
+    // Peso dell'arco di ogni cella della metà triangolare
+    protected double[] weights;
+
+    // Numero di archi
+    protected int edgeCount;
+
+    // Grado di ogni nodo in ordine di indice (un cappio conta una volta sola)
+    protected int[] degrees;
+
+    /**
+     * Crea un grafo vuoto.
+     */
+    public PackedAdjacencyMatrixUndirectedGraph() {
+        this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        this.nodesList = new ArrayList<GraphNode<L>>();
+        allocate(16);
+    }
+
+    /*
+     * Posizione nella metà triangolare della cella (i, j), qualunque sia
+     * l'ordine dei due indici.
+     */
+    private static int position(int i, int j) {
+        if (i < j) return rowStart(j) + i;
+        return rowStart(i) + j;
+    }
+
+    /*
+     * Posizione della prima cella della riga i. Il prodotto è calcolato su long
+     * perché per gli indici più alti supera il massimo valore int prima della
+     * divisione.
+     */
+    private static int rowStart(int i) {
+        return (int) ((long) i * (i + 1) / 2);
+    }
+
+    private boolean isSet(int p) {
+        return (adjacency[p >>> 6] & (1L << p)) != 0;
+    }
+
+    /*
+     * Alloca array vuoti per la capacità indicata.
+     */
+    private void allocate(int newCapacity) {
+        this.capacity = newCapacity;
+        int cells = rowStart(newCapacity);
+        this.adjacency = new long[(cells + 63) >>> 6];
+        this.weights = new double[cells];
+        this.degrees = new int[newCapacity];
+        this.edgeCount = 0;
+    }
+
+    @Override
+    public int nodeCount() {
+        return nodesList.size();
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public void clear() {
+        nodesIndex.clear();
+        nodesList.clear();
+        allocate(16);
+        fireCleared();
+    }
+
+    @Override
+    public boolean isDirected() {
+        // Questa classe implementa grafi non orientati
+        return false;
+    }
+
+    @Override
+    public Set<GraphNode<L>> getNodes() {
+        return nodesIndex.keySet();
+    }
+
+    @Override
+    public boolean addNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Tentativo di aggiungere un nodo null");
+        if (nodesIndex.containsKey(node)) return false;
+        int n = nodesList.size();
+        if (n == capacity) {
+            if (capacity == MAX_CAPACITY) throw new IllegalStateException("Raggiunto il numero massimo di nodi");
+            // Raddoppio la capacità: le righe esistenti restano dove sono e
+            // quelle nuove sono già vuote
+            int newCapacity = (int) Math.min(2L * capacity, MAX_CAPACITY);
+            int cells = rowStart(newCapacity);
+            adjacency = Arrays.copyOf(adjacency, (cells + 63) >>> 6);
+            weights = Arrays.copyOf(weights, cells);
+            degrees = Arrays.copyOf(degrees, newCapacity);
+            capacity = newCapacity;
+        }
+        // La riga del nuovo nodo è vuota perché la rimozione dei nodi azzera
+        // le righe che si liberano
+        nodesIndex.put(node, n);
+        nodesList.add(node);
+        degrees[n] = 0;
+        fireNodeAdded(node);
+        return true;
+    }
+
+    /*
+     * La rimozione ricompatta la metà triangolare spostando ogni cella delle
+     * righe successive a quella del nodo rimosso nella posizione che le spetta
+     * con i nuovi indici. Poiché ogni cella si sposta verso posizioni minori,
+     * la copia può avvenire nello stesso array procedendo in ordine crescente.
+     * Il costo è O(n^2) operazioni su tipi primitivi.
+     */
+    @Override
+    public boolean removeNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Tentativo di rimuovere un nodo null");
+        Integer nodeIndex = nodesIndex.get(node);
+        if (nodeIndex == null) return false;
+        int n = nodesList.size();
+        int r = nodeIndex;
+        // Aggiorno i contatori per gli archi del nodo rimosso
+        for (int j = 0; j < n; j++) {
+            if (isSet(position(r, j))) {
+                edgeCount--;
+                degrees[j]--;
+            }
+        }
+        // Sposto le celle delle righe successive, saltando la colonna r
+        for (int i = r + 1; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                if (j == r) continue;
+                int from = position(i, j);
+                int to = position(i - 1, j > r ? j - 1 : j);
+                if (isSet(from)) adjacency[to >>> 6] |= 1L << to;
+                else adjacency[to >>> 6] &= ~(1L << to);
+                weights[to] = weights[from];
+            }
+        }
+        // Azzero l'ultima riga, che ora non è più usata
+        for (int j = 0; j < n; j++) {
+            int p = position(n - 1, j);
+            adjacency[p >>> 6] &= ~(1L << p);
+        }
+        // Tolgo il nodo e scalo gli indici e i gradi dei nodi successivi
+        System.arraycopy(degrees, r + 1, degrees, r, n - r - 1);
+        nodesIndex.remove(node);
+        nodesList.remove(r);
+        for (int i = r; i < nodesList.size(); i++) nodesIndex.put(nodesList.get(i), i);
+        fireNodeRemoved(node);
+        return true;
+    }
+
+    @Override
+    public boolean containsNode(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Tentativo di cercare un nodo null");
+        return nodesIndex.containsKey(node);
+    }
+
+    @Override
+    public GraphNode<L> getNodeOf(L label) {
+        if (label == null) throw new NullPointerException("Il parametro passato non può essere null");
+        // I nodi sono uguali se hanno la stessa etichetta, quindi uso un nodo
+        // temporaneo come chiave di ricerca
+        Integer index = nodesIndex.get(new GraphNode<L>(label));
+        if (index == null) return null;
+        return nodesList.get(index);
+    }
+
+    @Override
+    public int getNodeIndexOf(L label) {
+        if (label == null) throw new NullPointerException("Il parametro passato non può essere null");
+        Integer index = nodesIndex.get(new GraphNode<L>(label));
+        if (index == null)
+            throw new IllegalArgumentException("La Label interessata non coincide con nessuno dei Nodi nel Grafo");
+        return index;
+    }
+
+    @Override
+    public GraphNode<L> getNodeAtIndex(int i) {
+        if (i < 0 || i >= nodesList.size()) throw new IndexOutOfBoundsException("L'Indice passato non è valido");
+        return nodesList.get(i);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node) {
+        int i = indexOf(node);
+        Set<GraphNode<L>> adjacentNodesOfNode = new HashSet<>();
+        for (int j = 0; j < nodesList.size(); j++) {
+            if (isSet(position(i, j))) adjacentNodesOfNode.add(nodesList.get(j));
+        }
+        return adjacentNodesOfNode;
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdges() {
+        Set<GraphEdge<L>> graph_edges = new HashSet<>();
+        // Scorro solo i bit a 1, parola per parola, tenendo traccia della riga
+        // a cui appartiene la posizione corrente
+        int i = 0;
+        for (int w = 0; w < adjacency.length; w++) {
+            long word = adjacency[w];
+            while (word != 0) {
+                int p = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                while (p >= rowStart(i + 1)) i++;
+                int j = p - rowStart(i);
+                graph_edges.add(new GraphEdge<L>(nodesList.get(i), nodesList.get(j), false, weights[p]));
+            }
+        }
+        return graph_edges;
+    }
+
+    @Override
+    public boolean addEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("Impossibile inserire un arco null");
+        if (edge.isDirected()) throw new IllegalArgumentException("Un arco Orientato non è aggiungibile");
+        Integer indexNode1 = nodesIndex.get(edge.getNode1());
+        Integer indexNode2 = nodesIndex.get(edge.getNode2());
+        if (indexNode1 == null || indexNode2 == null)
+            throw new IllegalArgumentException("almeno uno dei due nodi dell'arco non è presente");
+        int p = position(indexNode1, indexNode2);
+        // Se l'arco esiste già non lo inserisco nuovamente
+        if (isSet(p)) return false;
+        adjacency[p >>> 6] |= 1L << p;
+        weights[p] = edge.getWeight();
+        edgeCount++;
+        degrees[indexNode1]++;
+        if (!indexNode1.equals(indexNode2)) degrees[indexNode2]++;
+        fireEdgeAdded(edge);
+        return true;
+    }
+
+    @Override
+    public boolean removeEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("Tentativo di rimuovere un arco null");
+        Integer indexNode1 = nodesIndex.get(edge.getNode1());
+        Integer indexNode2 = nodesIndex.get(edge.getNode2());
+        if (indexNode1 == null || indexNode2 == null)
+            throw new IllegalArgumentException("almeno uno dei due nodi dell'arco non è presente");
+        int p = position(indexNode1, indexNode2);
+        // Se arrivo qui e il bit è a 0 l'arco da rimuovere non esisteva
+        if (!isSet(p)) return false;
+        adjacency[p >>> 6] &= ~(1L << p);
+        edgeCount--;
+        degrees[indexNode1]--;
+        if (!indexNode1.equals(indexNode2)) degrees[indexNode2]--;
+        // L'arco avvisato ha il peso memorizzato, non quello dell'arco passato
+        fireEdgeRemoved(new GraphEdge<L>(nodesList.get(indexNode1), nodesList.get(indexNode2), false, weights[p]));
+        return true;
+    }
+
+    @Override
+    public boolean containsEdge(GraphEdge<L> edge) {
+        if (edge == null) throw new NullPointerException("Il parametro passato non può essere null");
+        Integer indexNode1 = nodesIndex.get(edge.getNode1());
+        Integer indexNode2 = nodesIndex.get(edge.getNode2());
+        if (indexNode1 == null || indexNode2 == null)
+            throw new IllegalArgumentException("almeno uno dei due nodi dell'arco non è presente");
+        // Un arco orientato non può essere uguale a nessun arco di questo grafo
+        if (edge.isDirected()) return false;
+        return isSet(position(indexNode1, indexNode2));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node) {
+        int i = indexOf(node);
+        GraphNode<L> source = nodesList.get(i);
+        Set<GraphEdge<L>> node_edges = new HashSet<>();
+        // Le celle (i, j) con j <= i sono contigue, quelle con j > i si trovano
+        // nelle righe successive, nella colonna i
+        int start = rowStart(i);
+        for (int j = 0; j <= i; j++) {
+            if (isSet(start + j))
+                node_edges.add(new GraphEdge<L>(source, nodesList.get(j), false, weights[start + j]));
+        }
+        for (int j = i + 1; j < nodesList.size(); j++) {
+            int p = position(j, i);
+            if (isSet(p)) node_edges.add(new GraphEdge<L>(source, nodesList.get(j), false, weights[p]));
+        }
+        return node_edges;
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public int getDegreeOf(GraphNode<L> node) {
+        return degrees[indexOf(node)];
+    }
+
+    /*
+     * Restituisce l'indice di un nodo controllando che non sia null e che sia
+     * presente nel grafo.
+     */
+    private int indexOf(GraphNode<L> node) {
+        if (node == null) throw new NullPointerException("Il parametro passato non può essere null");
+        Integer index = nodesIndex.get(node);
+        if (index == null) throw new IllegalArgumentException("Il nodo passato non è nel Grafo");
+        return index;
+    }
+}
@@ -0,0 +1,52 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe PackedAdjacencyMatrixUndirectedGraph.
+ * I test comuni a tutti i grafi sono ereditati da GraphContractTest, qui
+ * restano quelli che verificano la matrice compatta.
+ */
+class PackedAdjacencyMatrixUndirectedGraphTest extends GraphContractTest {
+
+    @Override
+    protected Graph<String> newGraph() {
+        return new PackedAdjacencyMatrixUndirectedGraph<String>();
+    }
+
+    @Test
+    void testPackedStorageAfterGrowthAndRemoval() {
+        PackedAdjacencyMatrixUndirectedGraph<Integer> graph = new PackedAdjacencyMatrixUndirectedGraph<>();
+        // Più nodi della capacità iniziale: gli array vengono raddoppiati
+        int n = 40;
+        for (int i = 0; i < n; i++) graph.addNode(new GraphNode<>(i));
+        assertTrue(graph.capacity >= n);
+        // Ogni nodo è collegato al successivo con peso pari al proprio indice
+        for (int i = 0; i < n - 1; i++)
+            graph.addEdge(new GraphEdge<>(graph.getNodeOf(i), graph.getNodeOf(i + 1), false, i));
+        graph.addEdge(new GraphEdge<>(graph.getNodeOf(5), graph.getNodeOf(5), false, 100));
+        assertEquals(n, graph.edgeCount());
+        assertEquals(3, graph.getDegreeOf(graph.getNodeOf(5)));
+
+        // Rimuovendo il nodo 10 spariscono due archi e gli indici successivi scalano
+        assertTrue(graph.removeNode(graph.getNodeOf(10)));
+        assertEquals(n - 2, graph.edgeCount());
+        assertEquals(10, graph.getNodeIndexOf(11));
+        assertEquals(1, graph.getDegreeOf(graph.getNodeOf(11)));
+        assertEquals(graph.edgeCount(), graph.getEdges().size());
+        for (GraphEdge<Integer> edge : graph.getEdges()) {
+            int a = edge.getNode1().getLabel();
+            int b = edge.getNode2().getLabel();
+            // I pesi seguono gli archi dopo lo spostamento delle celle
+            if (a == b) assertEquals(100.0, edge.getWeight());
+            else assertEquals(Math.min(a, b), edge.getWeight());
+        }
+        assertFalse(graph.containsEdge(new GraphEdge<>(graph.getNodeOf(9), graph.getNodeOf(11), false)));
+        assertTrue(graph.containsEdge(new GraphEdge<>(graph.getNodeOf(12), graph.getNodeOf(11), false)));
+
+        // Il nodo aggiunto dopo la rimozione non eredita archi
+        graph.addNode(new GraphNode<>(100));
+        assertTrue(graph.getEdgesOf(graph.getNodeOf(100)).isEmpty());
+        assertEquals(0, graph.getDegreeOf(graph.getNodeOf(100)));
+    }
+}
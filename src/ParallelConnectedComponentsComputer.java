@@ -0,0 +1,214 @@
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che calcola le componenti connesse di un grafo non orientato su più
+ * thread con l'algoritmo Afforest (Sutton, Ben-Nun, Barak, "Optimizing
+ * Parallel Graph Connectivity Computation via Subgraph Sampling", 2018).
+ *
+ * Il grafo viene elaborato in formato CSR sugli indici dei nodi e le unioni
+ * avvengono in una {@code ConcurrentIntDisjointSets} condivisa tra i thread di
+ * un {@code ForkJoinPool}. Il calcolo procede in tre fasi:
+ * <ol>
+ * <li>ogni nodo viene unito ai primi {@code NEIGHBOR_ROUNDS} vicini della
+ * propria riga: questo basta, nei grafi reali, a formare quasi per intero la
+ * componente più grande;</li>
+ * <li>la componente più grande viene stimata contando i rappresentanti di un
+ * campione casuale di nodi;</li>
+ * <li>i nodi che non sono già nella componente più grande uniscono il resto
+ * della propria riga. I nodi della componente più grande vengono saltati: un
+ * loro arco verso un nodo esterno è presente anche nella riga di
+ * quest'ultimo, che viene elaborata.</li>
+ * </ol>
+ *
+ * Il risultato non dipende dall'ordine in cui i thread eseguono le unioni:
+ * l'etichetta di ogni componente è l'indice minimo dei suoi nodi.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                il tipo delle etichette dei nodi del grafo
+ */
+public class ParallelConnectedComponentsComputer<L> {
+
+    /**
+     * Numero di vicini per nodo elaborati nella prima fase.
+     */
+    public static final int NEIGHBOR_ROUNDS = 2;
+
+    // Numero di nodi campionati per stimare la componente più grande
+    private static final int SAMPLE_SIZE = 1024;
+
+    // Numero di nodi sotto il quale un compito non viene più diviso
+    private static final int SEQUENTIAL_THRESHOLD = 1024;
+
+    /*
+     * Pool di thread su cui vengono distribuiti i nodi.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Crea un calcolatore che usa il pool comune di fork/join.
+     */
+    public ParallelConnectedComponentsComputer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea un calcolatore che usa un certo pool di fork/join.
+     *
+     * @param pool
+     *                 il pool su cui distribuire il calcolo
+     * @throws NullPointerException
+     *                                  se il pool passato è null
+     */
+    public ParallelConnectedComponentsComputer(ForkJoinPool pool) {
+        if (pool == null) throw new NullPointerException("Il pool passato è null");
+        this.pool = pool;
+    }
+
+    /**
+     * Calcola le componenti connesse di un grafo non orientato. Un grafo che
+     * non è già in formato CSR viene prima convertito, congelandolo se è un
+     * {@code AdjacencyMatrixUndirectedGraph<L>}.
+     *
+     * @param g
+     *              un grafo non orientato
+     * @return un insieme di componenti connesse, ognuna rappresentata da un
+     *         insieme di nodi del grafo
+     * @throws NullPointerException
+     *                                      se il grafo passato è nullo
+     * @throws IllegalArgumentException
+     *                                      se il grafo passato è orientato
+     */
+    public Set<Set<GraphNode<L>>> computeConnectedComponents(Graph<L> g) {
+        if (g == null) throw new NullPointerException("Il grafo passato è null");
+        if (g.isDirected()) throw new IllegalArgumentException("Il grafo passato è orientato");
+        AbstractCompressedSparseRowUndirectedGraph<L> csr = AbstractCompressedSparseRowUndirectedGraph.toCompressedSparseRow(g);
+        int[] labels = computeComponentLabels(csr);
+        // Raggruppo i nodi per etichetta, aggiungendo le componenti solo quando
+        // sono complete perché il codice hash di un Set dipende dal contenuto
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Set<GraphNode<L>>[] componentOf = new Set[labels.length];
+        for (int u = 0; u < labels.length; u++) {
+            if (componentOf[labels[u]] == null) componentOf[labels[u]] = new HashSet<GraphNode<L>>();
+            componentOf[labels[u]].add(csr.getNodeAtIndex(u));
+        }
+        Set<Set<GraphNode<L>>> connectedComponents = new HashSet<Set<GraphNode<L>>>();
+        for (Set<GraphNode<L>> component : componentOf) {
+            if (component != null) connectedComponents.add(component);
+        }
+        return connectedComponents;
+    }
+
+    /**
+     * Calcola le componenti connesse di un grafo CSR restituendo, per ogni
+     * nodo, l'etichetta della sua componente. È la forma più economica del
+     * risultato: non crea nessun oggetto per i nodi o per le componenti.
+     *
+     * @param g
+     *              un grafo CSR
+     * @return un array che in posizione i contiene l'indice minimo tra i nodi
+     *         della componente del nodo di indice i; due nodi sono nella
+     *         stessa componente se e solo se hanno la stessa etichetta
+     * @throws NullPointerException
+     *                                  se il grafo passato è nullo
+     */
+    public int[] computeComponentLabels(AbstractCompressedSparseRowUndirectedGraph<L> g) {
+        if (g == null) throw new NullPointerException("Il grafo passato è null");
+        int n = g.nodeCount();
+        ConcurrentIntDisjointSets forest = new ConcurrentIntDisjointSets(n);
+        // Fase 1: i primi vicini di ogni nodo
+        for (int round = 0; round < NEIGHBOR_ROUNDS; round++) {
+            int r = round;
+            forEachNode(n, u -> {
+                long p = g.getRowStart(u) + r;
+                if (p < g.getRowEnd(u)) forest.union(u, g.getNeighborAt(p));
+            });
+        }
+        // Fase 2: stima della componente più grande
+        int largest = sampleLargestComponent(forest, n);
+        // Fase 3: il resto delle righe dei nodi fuori dalla componente più grande
+        forEachNode(n, u -> {
+            if (forest.findSet(u) == largest) return;
+            long end = g.getRowEnd(u);
+            for (long p = g.getRowStart(u) + NEIGHBOR_ROUNDS; p < end; p++) forest.union(u, g.getNeighborAt(p));
+        });
+        int[] labels = new int[n];
+        forEachNode(n, u -> labels[u] = forest.findSet(u));
+        return labels;
+    }
+
+    /*
+     * Restituisce il rappresentante più frequente in un campione casuale di
+     * nodi, -1 se non ci sono nodi. Il generatore ha un seme fisso: il
+     * campione influenza solo il lavoro svolto, non il risultato.
+     */
+    private int sampleLargestComponent(ConcurrentIntDisjointSets forest, int n) {
+        if (n == 0) return -1;
+        Random random = new Random(n);
+        int[] sample = new int[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) sample[i] = forest.findSet(random.nextInt(n));
+        // Il rappresentante più frequente è quello con la sequenza più lunga
+        // nel campione ordinato
+        Arrays.sort(sample);
+        int best = sample[0];
+        int bestCount = 0;
+        for (int i = 0; i < SAMPLE_SIZE;) {
+            int j = i;
+            while (j < SAMPLE_SIZE && sample[j] == sample[i]) j++;
+            if (j - i > bestCount) {
+                best = sample[i];
+                bestCount = j - i;
+            }
+            i = j;
+        }
+        return best;
+    }
+
+    /*
+     * Esegue un'azione per ogni nodo da 0 a n - 1 distribuendo i nodi sui
+     * thread del pool.
+     */
+    private void forEachNode(int n, IntConsumer action) {
+        pool.invoke(new RangeTask(action, 0, n));
+    }
+
+    /*
+     * Compito fork/join che esegue un'azione sui nodi nell'intervallo [from,
+     * to), dividendolo a metà finché è più grande della soglia.
+     */
+    private static class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IntConsumer action;
+
+        private final int from;
+
+        private final int to;
+
+        RangeTask(IntConsumer action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RangeTask(action, from, middle), new RangeTask(action, middle, to));
+                return;
+            }
+            for (int u = from; u < to; u++) action.accept(u);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe ParallelConnectedComponentsComputer.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class ParallelConnectedComponentsComputerTest {
+
+    // Grafo con una componente grande, alcune piccole e dei nodi isolati
+    private Graph<Integer> buildGraph(int n, long seed) {
+        Random random = new Random(seed);
+        Graph<Integer> g = new AdjacencyListUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++) g.addNode(new GraphNode<Integer>(i));
+        int giant = n / 2;
+        for (int k = 0; k < 2 * giant; k++) {
+            int u = random.nextInt(giant);
+            int v = random.nextInt(giant);
+            g.addEdge(new GraphEdge<Integer>(g.getNodeOf(u), g.getNodeOf(v), false));
+        }
+        for (int k = 0; k < n / 4; k++) {
+            int u = giant + random.nextInt(n - giant);
+            int v = Math.min(n - 1, u + random.nextInt(3));
+            g.addEdge(new GraphEdge<Integer>(g.getNodeOf(u), g.getNodeOf(v), false));
+        }
+        return g;
+    }
+
+    @Test
+    final void testExceptionsAndEmptyGraph() {
+        ParallelConnectedComponentsComputer<String> cc = new ParallelConnectedComponentsComputer<String>();
+        assertThrows(NullPointerException.class, () -> cc.computeConnectedComponents(null));
+        assertThrows(NullPointerException.class, () -> cc.computeComponentLabels(null));
+        assertThrows(NullPointerException.class, () -> new ParallelConnectedComponentsComputer<String>(null));
+        assertTrue(cc.computeConnectedComponents(new AdjacencyMatrixUndirectedGraph<String>()).isEmpty());
+    }
+
+    @Test
+    final void testSameComponentsAsSequentialComputer() {
+        UndirectedGraphConnectedComponentsComputer<Integer> sequential = new UndirectedGraphConnectedComponentsComputer<Integer>();
+        ParallelConnectedComponentsComputer<Integer> parallel = new ParallelConnectedComponentsComputer<Integer>(
+                new ForkJoinPool(4));
+        for (long seed = 0; seed < 5; seed++) {
+            Graph<Integer> g = buildGraph(5000, seed);
+            Set<Set<GraphNode<Integer>>> expected = sequential.computeConnectedComponents(g);
+            assertEquals(expected, parallel.computeConnectedComponents(g));
+        }
+        // Anche sul grafo a matrice, che viene congelato
+        AdjacencyMatrixUndirectedGraph<Integer> m = new AdjacencyMatrixUndirectedGraph<Integer>();
+        Graph<Integer> small = buildGraph(300, 9);
+        for (GraphNode<Integer> node : small.getNodes()) m.addNode(node);
+        m.addEdges(small.getEdges());
+        assertEquals(sequential.computeConnectedComponents(m), parallel.computeConnectedComponents(m));
+    }
+
+    @Test
+    final void testLabelsAreMinimumIndexes() throws IOException {
+        Graph<Integer> g = buildGraph(4000, 42);
+        Path file = Files.createTempFile("graph", ".csr");
+        try {
+            MemoryMappedUndirectedGraph<Integer> mapped = MemoryMappedUndirectedGraph.store(g, file);
+            int[] labels = new ParallelConnectedComponentsComputer<Integer>().computeComponentLabels(mapped);
+            // L'etichetta è un nodo della componente con indice non maggiore
+            // di quello di tutti gli altri nodi della componente
+            for (int u = 0; u < labels.length; u++) {
+                assertTrue(labels[u] <= u);
+                assertEquals(labels[u], labels[labels[u]]);
+                for (long p = mapped.getRowStart(u); p < mapped.getRowEnd(u); p++)
+                    assertEquals(labels[u], labels[mapped.getNeighborAt(p)]);
+            }
+            Set<Set<GraphNode<Integer>>> expected = new UndirectedGraphConnectedComponentsComputer<Integer>()
+                    .computeConnectedComponents(mapped);
+            int distinct = 0;
+            for (int u = 0; u < labels.length; u++) if (labels[u] == u) distinct++;
+            assertEquals(expected.size(), distinct);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
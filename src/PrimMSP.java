@@ -0,0 +1,240 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che implementa l'algoritmo di Prim per trovare una foresta di
+ * copertura minima di un grafo non orientato, pesato e con pesi non negativi.
+ * Se il grafo è connesso il risultato è un albero di copertura minimo,
+ * altrimenti l'algoritmo riparte da un nodo non ancora raggiunto per ogni
+ * componente connessa, come fa {@code KruskalMSP<L>}.
+ *
+ * Vengono usate due varianti a seconda della rappresentazione del grafo:
+ * <ul>
+ * <li>per un {@code AdjacencyMatrixUndirectedGraph<L>} la variante con array
+ * in tempo O(n^2): a ogni passo il nodo più vicino all'albero viene cercato
+ * scorrendo l'array delle distanze e la sua riga della matrice viene scorsa
+ * direttamente per aggiornarle. Su un grafo denso è ottimale, perché la sola
+ * lettura degli archi richiede già tempo O(n^2);</li>
+ * <li>per gli altri grafi la variante con una coda con priorità
+ * {@code IndexedDaryHeap} sugli indici dei nodi, in tempo O(m log n): gli
+ * archi vengono estratti una volta in array di tipi primitivi e raggruppati
+ * per nodo, e la distanza di un nodo già in coda viene aggiornata con
+ * decreaseKey. Un grafo CSR, come {@code CompressedSparseRowUndirectedGraph<L>}
+ * o {@code MemoryMappedUndirectedGraph<L>}, ha già gli archi raggruppati per
+ * nodo: la coda lavora direttamente sulle sue righe, senza copiarne gli
+ * archi.</li>
+ * </ul>
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class PrimMSP<L> {
+
+    /*
+     * Numero di figli per nodo dello heap.
+     */
+    private final int arity;
+
+    /**
+     * Costruisce un calcolatore di una foresta di copertura minima che usa
+     * l'algoritmo di Prim con uno heap di {@code IndexedDaryHeap.DEFAULT_ARITY}
+     * figli per nodo.
+     */
+    public PrimMSP() {
+        this(IndexedDaryHeap.DEFAULT_ARITY);
+    }
+
+    /**
+     * Costruisce un calcolatore di una foresta di copertura minima che usa
+     * l'algoritmo di Prim con uno heap con un certo numero di figli per nodo.
+     *
+     * @param arity
+     *                  il numero di figli per nodo dello heap
+     * @throws IllegalArgumentException
+     *                                      se arity è minore di 2
+     */
+    public PrimMSP(int arity) {
+        if (arity < 2) throw new IllegalArgumentException("Il numero di figli deve essere almeno 2");
+        this.arity = arity;
+    }
+
+    /**
+     * Utilizza l'algoritmo di Prim per trovare una foresta di copertura minima
+     * in un grafo non orientato e pesato, con pesi degli archi non negativi.
+     * La foresta restituita non è radicata, quindi è rappresentata
+     * semplicemente con un sottoinsieme degli archi del grafo.
+     *
+     * @param g
+     *              un grafo non orientato, pesato, con pesi non negativi
+     * @return l'insieme degli archi del grafo g che costituiscono la foresta
+     *         di copertura minima trovata
+     * @throws NullPointerException
+     *                                      se il grafo g è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo g è orientato, non
+     *                                      pesato o con pesi negativi
+     */
+    public Set<GraphEdge<L>> computeMSP(Graph<L> g) {
+        if (g == null) throw new NullPointerException("Il grafo passato è null");
+        if (g.isDirected()) throw new IllegalArgumentException("Il grafo passato è orientato");
+        if (g instanceof AdjacencyMatrixUndirectedGraph)
+            return computeMSP((AdjacencyMatrixUndirectedGraph<L>) g);
+        if (g instanceof AbstractCompressedSparseRowUndirectedGraph)
+            return computeMSP((AbstractCompressedSparseRowUndirectedGraph<L>) g);
+        return computeMSP(IndexedEdgeList.of(g));
+    }
+
+    /*
+     * Variante in tempo O(n^2) che scorre le righe della matrice di
+     * adiacenza. Ogni arco viene controllato quando si scorre la riga del suo
+     * primo estremo che entra nell'albero; i cappi quando si scorre la riga
+     * del loro nodo.
+     */
+    private Set<GraphEdge<L>> computeMSP(AdjacencyMatrixUndirectedGraph<L> g) {
+        ArrayList<ArrayList<GraphEdge<L>>> matrix = g.matrix;
+        int n = g.nodeCount();
+        // Peso dell'arco più leggero che collega ogni nodo all'albero e
+        // l'arco stesso (null se non ce n'è)
+        double[] distance = new double[n];
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        GraphEdge<L>[] lightest = new GraphEdge[n];
+        boolean[] inTree = new boolean[n];
+        for (int v = 0; v < n; v++) distance[v] = Double.POSITIVE_INFINITY;
+
+        Set<GraphEdge<L>> result = new HashSet<>();
+        for (int step = 0; step < n; step++) {
+            // Nodo più vicino all'albero; se nessuno è collegato all'albero
+            // il primo nodo non raggiunto inizia un nuovo albero
+            int u = -1;
+            for (int v = 0; v < n; v++) {
+                if (!inTree[v] && (u < 0 || distance[v] < distance[u])) u = v;
+            }
+            inTree[u] = true;
+            if (lightest[u] != null) result.add(lightest[u]);
+            ArrayList<GraphEdge<L>> row = matrix.get(u);
+            for (int v = 0; v < n; v++) {
+                GraphEdge<L> edge = row.get(v);
+                if (edge == null || (inTree[v] && v != u)) continue;
+                double w = edge.getWeight();
+                if (!edge.hasWeight() || w < 0)
+                    throw new IllegalArgumentException("Il grafo contiene archi con peso non valido");
+                if (v != u && w < distance[v]) {
+                    distance[v] = w;
+                    lightest[v] = edge;
+                }
+            }
+        }
+        return result;
+    }
+
+    /*
+     * Variante con la coda con priorità che scorre le righe di un grafo CSR,
+     * come UndirectedGraphConnectedComponentsComputer. L'arco più leggero che
+     * collega un nodo all'albero è ricordato con la sua posizione nella riga
+     * dell'estremo già nell'albero. Ogni posizione viene letta una volta,
+     * quando il nodo della riga entra nell'albero, e in quel momento viene
+     * controllato il peso dell'arco.
+     */
+    private Set<GraphEdge<L>> computeMSP(AbstractCompressedSparseRowUndirectedGraph<L> g) {
+        int n = g.nodeCount();
+        // Posizione dell'arco più leggero che collega ogni nodo all'albero e
+        // nodo della riga che la contiene, -1 se non c'è
+        long[] lightestPosition = new long[n];
+        int[] lightestFrom = new int[n];
+        boolean[] inTree = new boolean[n];
+        IndexedDaryHeap queue = new IndexedDaryHeap(n, arity);
+        Set<GraphEdge<L>> result = new HashSet<>();
+        for (int root = 0; root < n; root++) {
+            if (inTree[root]) continue;
+            // Nuovo albero a partire dal primo nodo non ancora raggiunto
+            lightestFrom[root] = -1;
+            queue.insert(root, 0);
+            while (!queue.isEmpty()) {
+                int u = queue.extractMin();
+                inTree[u] = true;
+                if (lightestFrom[u] >= 0) {
+                    long p = lightestPosition[u];
+                    result.add(new GraphEdge<L>(g.getNodeAtIndex(lightestFrom[u]), g.getNodeAtIndex(u), false,
+                            g.getWeightAt(p)));
+                }
+                for (long p = g.getRowStart(u); p < g.getRowEnd(u); p++) {
+                    double w = g.getWeightAt(p);
+                    if (Double.isNaN(w) || w < 0)
+                        throw new IllegalArgumentException("Il grafo contiene archi con peso non valido");
+                    int v = g.getNeighborAt(p);
+                    if (inTree[v]) continue;
+                    if (!queue.contains(v)) {
+                        lightestPosition[v] = p;
+                        lightestFrom[v] = u;
+                        queue.insert(v, w);
+                    } else if (w < queue.getKey(v)) {
+                        lightestPosition[v] = p;
+                        lightestFrom[v] = u;
+                        queue.decreaseKey(v, w);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /*
+     * Variante con la coda con priorità sugli indici dei nodi.
+     */
+    private Set<GraphEdge<L>> computeMSP(IndexedEdgeList<L> edges) {
+        int n = edges.nodeCount;
+        int[] sources = edges.sources;
+        int[] targets = edges.targets;
+        double[] weights = edges.weights;
+        // Archi incidenti a ogni nodo, raggruppati per nodo: quelli del nodo u
+        // sono nelle posizioni da offsets[u] a offsets[u + 1] - 1 di incident
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < edges.edgeCount; e++) {
+            offsets[sources[e] + 1]++;
+            if (targets[e] != sources[e]) offsets[targets[e] + 1]++;
+        }
+        for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+        int[] incident = new int[offsets[n]];
+        int[] next = new int[n];
+        System.arraycopy(offsets, 0, next, 0, n);
+        for (int e = 0; e < edges.edgeCount; e++) {
+            incident[next[sources[e]]++] = e;
+            if (targets[e] != sources[e]) incident[next[targets[e]]++] = e;
+        }
+
+        // Arco più leggero che collega ogni nodo all'albero, -1 se non ce n'è
+        int[] lightest = new int[n];
+        boolean[] inTree = new boolean[n];
+        IndexedDaryHeap queue = new IndexedDaryHeap(n, arity);
+        Set<GraphEdge<L>> result = new HashSet<>();
+        for (int root = 0; root < n; root++) {
+            if (inTree[root]) continue;
+            // Nuovo albero a partire dal primo nodo non ancora raggiunto
+            lightest[root] = -1;
+            queue.insert(root, 0);
+            while (!queue.isEmpty()) {
+                int u = queue.extractMin();
+                inTree[u] = true;
+                if (lightest[u] >= 0) result.add(edges.edgeAt(lightest[u]));
+                for (int p = offsets[u]; p < offsets[u + 1]; p++) {
+                    int e = incident[p];
+                    int v = sources[e] == u ? targets[e] : sources[e];
+                    if (inTree[v]) continue;
+                    if (!queue.contains(v)) {
+                        lightest[v] = e;
+                        queue.insert(v, weights[e]);
+                    } else if (weights[e] < queue.getKey(v)) {
+                        lightest[v] = e;
+                        queue.decreaseKey(v, weights[e]);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
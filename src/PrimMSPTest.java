@@ -0,0 +1,162 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe PrimMSP.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class PrimMSPTest {
+
+    @Test
+    final void testComputeMSP() {
+        // Stesso grafo sulla matrice (variante O(n^2)) e sulle liste (heap)
+        Graph<String> matrix = new AdjacencyMatrixUndirectedGraph<String>();
+        Graph<String> list = new AdjacencyListUndirectedGraph<String>();
+        Set<GraphEdge<String>> result = new HashSet<GraphEdge<String>>();
+        for (Graph<String> gr : Arrays.asList(matrix, list)) {
+            GraphNode<String> a = new GraphNode<String>("a");
+            gr.addNode(a);
+            GraphNode<String> b = new GraphNode<String>("b");
+            gr.addNode(b);
+            GraphNode<String> c = new GraphNode<String>("c");
+            gr.addNode(c);
+            GraphNode<String> d = new GraphNode<String>("d");
+            gr.addNode(d);
+            GraphNode<String> e = new GraphNode<String>("e");
+            gr.addNode(e);
+            GraphNode<String> f = new GraphNode<String>("f");
+            gr.addNode(f);
+            GraphNode<String> g = new GraphNode<String>("g");
+            gr.addNode(g);
+            GraphNode<String> h = new GraphNode<String>("h");
+            gr.addNode(h);
+            GraphNode<String> i = new GraphNode<String>("i");
+            gr.addNode(i);
+            gr.addEdge(new GraphEdge<String>(a, b, false, 4));
+            gr.addEdge(new GraphEdge<String>(a, h, false, 8.5));
+            gr.addEdge(new GraphEdge<String>(b, h, false, 11));
+            gr.addEdge(new GraphEdge<String>(b, c, false, 8));
+            gr.addEdge(new GraphEdge<String>(c, i, false, 2));
+            gr.addEdge(new GraphEdge<String>(c, d, false, 7));
+            gr.addEdge(new GraphEdge<String>(c, f, false, 4));
+            gr.addEdge(new GraphEdge<String>(d, f, false, 14));
+            gr.addEdge(new GraphEdge<String>(d, e, false, 9));
+            gr.addEdge(new GraphEdge<String>(e, f, false, 10));
+            gr.addEdge(new GraphEdge<String>(f, g, false, 2));
+            gr.addEdge(new GraphEdge<String>(g, i, false, 6));
+            gr.addEdge(new GraphEdge<String>(g, h, false, 1));
+            gr.addEdge(new GraphEdge<String>(h, i, false, 7));
+            gr.addEdge(new GraphEdge<String>(e, e, false, 0));
+            if (result.isEmpty()) {
+                result.add(new GraphEdge<String>(a, b, false, 4));
+                result.add(new GraphEdge<String>(b, c, false, 8));
+                result.add(new GraphEdge<String>(c, i, false, 2));
+                result.add(new GraphEdge<String>(c, d, false, 7));
+                result.add(new GraphEdge<String>(c, f, false, 4));
+                result.add(new GraphEdge<String>(d, e, false, 9));
+                result.add(new GraphEdge<String>(f, g, false, 2));
+                result.add(new GraphEdge<String>(g, h, false, 1));
+            }
+        }
+        PrimMSP<String> alg = new PrimMSP<String>();
+        assertEquals(result, alg.computeMSP(matrix));
+        assertEquals(result, alg.computeMSP(list));
+        assertEquals(result, new PrimMSP<String>(2).computeMSP(new CompressedSparseRowUndirectedGraph<String>(list)));
+    }
+
+    @Test
+    final void testDisconnectedGraph() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        GraphNode<String> a = new GraphNode<String>("a");
+        gr.addNode(a);
+        GraphNode<String> b = new GraphNode<String>("b");
+        gr.addNode(b);
+        GraphNode<String> c = new GraphNode<String>("c");
+        gr.addNode(c);
+        GraphNode<String> d = new GraphNode<String>("d");
+        gr.addNode(d);
+        GraphNode<String> e = new GraphNode<String>("e");
+        gr.addNode(e);
+        gr.addEdge(new GraphEdge<String>(c, d, false, 1));
+        gr.addEdge(new GraphEdge<String>(a, b, false, 3));
+        Set<GraphEdge<String>> result = new HashSet<GraphEdge<String>>();
+        result.add(new GraphEdge<String>(a, b, false, 3));
+        result.add(new GraphEdge<String>(c, d, false, 1));
+        PrimMSP<String> alg = new PrimMSP<String>();
+        assertEquals(result, alg.computeMSP(gr));
+        assertEquals(result, alg.computeMSP(new CompressedSparseRowUndirectedGraph<String>(gr)));
+        assertTrue(alg.computeMSP(new AdjacencyMatrixUndirectedGraph<String>()).isEmpty());
+        assertTrue(alg.computeMSP(new AdjacencyListUndirectedGraph<String>()).isEmpty());
+    }
+
+    @Test
+    final void testSameWeightAsKruskal() {
+        Random random = new Random(5);
+        for (int run = 0; run < 5; run++) {
+            int n = 50 + random.nextInt(150);
+            Graph<Integer> matrix = new AdjacencyMatrixUndirectedGraph<Integer>();
+            Graph<Integer> list = new AdjacencyListUndirectedGraph<Integer>();
+            for (int i = 0; i < n; i++) {
+                matrix.addNode(new GraphNode<Integer>(i));
+                list.addNode(new GraphNode<Integer>(i));
+            }
+            int m = n * (1 + random.nextInt(20));
+            for (int k = 0; k < m; k++) {
+                GraphNode<Integer> u = new GraphNode<Integer>(random.nextInt(n));
+                GraphNode<Integer> v = new GraphNode<Integer>(random.nextInt(n));
+                int w = random.nextInt(100);
+                if (!matrix.containsEdge(new GraphEdge<Integer>(u, v, false))) {
+                    matrix.addEdge(new GraphEdge<Integer>(u, v, false, w));
+                    list.addEdge(new GraphEdge<Integer>(u, v, false, w));
+                }
+            }
+            double expected = MSPTestUtils.totalWeight(new KruskalMSP<Integer>().computeMSP(list));
+            int expectedSize = new KruskalMSP<Integer>().computeMSP(list).size();
+            PrimMSP<Integer> alg = new PrimMSP<Integer>();
+            Set<GraphEdge<Integer>> fromMatrix = alg.computeMSP(matrix);
+            Set<GraphEdge<Integer>> fromList = alg.computeMSP(list);
+            assertEquals(expected, MSPTestUtils.totalWeight(fromMatrix));
+            assertEquals(expected, MSPTestUtils.totalWeight(fromList));
+            assertEquals(expectedSize, fromMatrix.size());
+            assertEquals(expectedSize, fromList.size());
+            assertTrue(matrix.getEdges().containsAll(fromMatrix));
+            // Sulle righe del grafo CSR gli archi restituiti hanno i pesi del
+            // grafo
+            Set<GraphEdge<Integer>> fromCsr = alg.computeMSP(new CompressedSparseRowUndirectedGraph<Integer>(list));
+            assertEquals(expected, MSPTestUtils.totalWeight(fromCsr));
+            assertEquals(expectedSize, fromCsr.size());
+            assertTrue(list.getEdges().containsAll(fromCsr));
+        }
+    }
+
+    @Test
+    final void exceptionsTest() {
+        assertThrows(IllegalArgumentException.class, () -> new PrimMSP<String>(1));
+        PrimMSP<String> alg = new PrimMSP<String>();
+        assertThrows(NullPointerException.class, () -> alg.computeMSP(null));
+        Graph<String> matrix = new AdjacencyMatrixUndirectedGraph<>();
+        GraphNode<String> a = new GraphNode<>("a");
+        matrix.addNode(a);
+        GraphNode<String> b = new GraphNode<>("b");
+        matrix.addNode(b);
+        matrix.addEdge(new GraphEdge<>(a, b, false, 1));
+        matrix.addEdge(new GraphEdge<>(b, b, false, -1));
+        // Anche un cappio con peso negativo rende il grafo non valido
+        assertThrows(IllegalArgumentException.class, () -> alg.computeMSP(matrix));
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeMSP(new CompressedSparseRowUndirectedGraph<String>(matrix)));
+        Graph<String> list = new AdjacencyListUndirectedGraph<>();
+        list.addNode(a);
+        list.addNode(b);
+        list.addEdge(new GraphEdge<>(a, b, false));
+        assertThrows(IllegalArgumentException.class, () -> alg.computeMSP(list));
+    }
+}
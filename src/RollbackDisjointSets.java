@@ -0,0 +1,214 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Implementazione dell'interfaccia <code>DisjointSets<E></code> con una
+ * foresta di alberi in cui le operazioni possono essere annullate, utile per
+ * provare delle unioni e poi tornare indietro senza copiare la foresta.
+ *
+ * La compressione del cammino di {@code ForestDisjointSets<E>} cambia i padri
+ * di molti nodi a ogni findSet, quindi qui non viene usata: findSet non
+ * modifica la foresta e ogni union cambia il padre di una sola radice. Con
+ * l'unione per dimensione l'altezza di un albero resta al più il logaritmo in
+ * base 2 del numero dei suoi elementi, quindi findSet richiede tempo
+ * O(log n). Ogni makeSet e ogni union che unisce due insiemi diversi viene
+ * registrata in una pila: checkpoint restituisce l'altezza della pila e
+ * rollback annulla, in tempo O(1) ciascuna, le operazioni registrate dopo.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <E>
+ *                il tipo degli elementi degli insiemi disgiunti
+ */
+public class RollbackDisjointSets<E> implements DisjointSets<E> {
+
+    /*
+     * Mappa che associa ad ogni elemento inserito il corrispondente nodo di un
+     * albero della foresta. La variabile è protected unicamente per permettere
+     * i test JUnit.
+     */
+    protected Map<E, Node<E>> currentElements;
+
+    /*
+     * Classe interna statica che rappresenta i nodi degli alberi della foresta.
+     * Gli specificatori sono tutti protected unicamente per permettere i test
+     * JUnit.
+     */
+    protected static class Node<E> {
+        /*
+         * L'elemento associato a questo nodo
+         */
+        protected E item;
+
+        /*
+         * Il parent di questo nodo nell'albero corrispondente. Nel caso in cui
+         * il nodo sia la radice allora questo puntatore punta al nodo stesso.
+         */
+        protected Node<E> parent;
+
+        /*
+         * Il numero di elementi del (sotto)albero di cui questo nodo è radice.
+         */
+        protected int size;
+
+        /**
+         * Costruisce un nodo radice con parent che punta a se stesso e
+         * dimensione uno.
+         *
+         * @param item
+         *                 l'elemento conservato in questo nodo
+         */
+        public Node(E item) {
+            this.item = item;
+            this.parent = this;
+            this.size = 1;
+        }
+    }
+
+    /*
+     * Pila delle operazioni registrate: per una union la radice collegata
+     * sotto l'altra, per un makeSet il nodo creato. Quando un'operazione è in
+     * cima alla pila le si distingue perché il nodo creato da makeSet è una
+     * radice, mentre la radice collegata da union non lo è più.
+     */
+    private final ArrayList<Node<E>> history;
+
+    /**
+     * Costruisce una foresta vuota di insiemi disgiunti con una pila delle
+     * operazioni vuota.
+     */
+    public RollbackDisjointSets() {
+        this.currentElements = new HashMap<E, Node<E>>();
+        this.history = new ArrayList<Node<E>>();
+    }
+
+    @Override
+    public boolean isPresent(E e) {
+        if (e == null) throw new NullPointerException("La label passata non può essere null");
+        return currentElements.containsKey(e);
+    }
+
+    @Override
+    public void makeSet(E e) {
+        // Nota Bene: il metodo isPresent lancia eccezione se e è null
+        if (isPresent(e)) throw new IllegalArgumentException("Il parametro è già presente");
+        Node<E> node = new Node<>(e);
+        currentElements.put(e, node);
+        history.add(node);
+    }
+
+    /*
+     * Risale fino alla radice senza modificare i padri, in modo che ogni union
+     * sia annullabile cambiando un solo padre.
+     */
+    @Override
+    public E findSet(E e) {
+        // Nota Bene: il metodo isPresent lancia eccezione se e è null
+        if (!isPresent(e)) throw new IllegalArgumentException("Il parametro non è nella Foresta");
+        return findRoot(currentElements.get(e)).item;
+    }
+
+    private Node<E> findRoot(Node<E> node) {
+        while (node.parent != node) node = node.parent;
+        return node;
+    }
+
+    /*
+     * Unione per dimensione: il rappresentante è la radice dell'albero con più
+     * elementi; a parità di dimensione il rappresentante dell'unione sarà il
+     * rappresentante dell'insieme di cui fa parte e2, come in
+     * ForestDisjointSets.
+     */
+    @Override
+    public void union(E e1, E e2) {
+        // Nota Bene: il metodo isPresent lancia eccezione se e è null
+        if (!isPresent(e1) || !isPresent(e2)) throw new IllegalArgumentException("Almeno uno dei parametri non è nella Foresta");
+        Node<E> r1 = findRoot(currentElements.get(e1));
+        Node<E> r2 = findRoot(currentElements.get(e2));
+        // Se e1 ed e2 appartengono già allo stesso Insieme non faccio nulla
+        // e non registro nulla
+        if (r1 == r2) return;
+        if (r1.size > r2.size) {
+            Node<E> t = r1;
+            r1 = r2;
+            r2 = t;
+        }
+        r1.parent = r2;
+        r2.size += r1.size;
+        history.add(r1);
+    }
+
+    /**
+     * Restituisce un punto di ripristino dello stato attuale, da passare a
+     * rollback.
+     *
+     * @return il numero di operazioni registrate fino a ora
+     */
+    public int checkpoint() {
+        return history.size();
+    }
+
+    /**
+     * Annulla, dalla più recente, le operazioni makeSet e union eseguite dopo
+     * che è stato preso un punto di ripristino. Dopo la chiamata i punti di
+     * ripristino presi dopo quello passato non sono più validi.
+     *
+     * @param checkpoint
+     *                       il punto di ripristino restituito da checkpoint
+     * @throws IllegalArgumentException
+     *                                      se checkpoint è negativo o maggiore
+     *                                      del numero di operazioni registrate
+     */
+    public void rollback(int checkpoint) {
+        if (checkpoint < 0 || checkpoint > history.size())
+            throw new IllegalArgumentException("Punto di ripristino non valido: " + checkpoint);
+        while (history.size() > checkpoint) {
+            Node<E> node = history.remove(history.size() - 1);
+            if (node.parent == node) {
+                // Annullo un makeSet
+                currentElements.remove(node.item);
+            } else {
+                // Annullo una union
+                node.parent.size -= node.size;
+                node.parent = node;
+            }
+        }
+    }
+
+    @Override
+    public Set<E> getCurrentRepresentatives() {
+        Set<E> representatives = new HashSet<>();
+        // Le radici sono i nodi che hanno se stessi come padre
+        for (Node<E> node : currentElements.values()) {
+            if (node.parent == node) representatives.add(node.item);
+        }
+        return representatives;
+    }
+
+    @Override
+    public Set<E> getCurrentElementsOfSetContaining(E e) {
+        // Nota Bene: il metodo isPresent lancia eccezione se e è null
+        if (!isPresent(e)) throw new IllegalArgumentException("Il parametro non è nella Foresta");
+        Set<E> elementsInSet = new HashSet<>();
+        Node<E> root = findRoot(currentElements.get(e));
+        for (Node<E> node : currentElements.values()) {
+            if (findRoot(node) == root) elementsInSet.add(node.item);
+        }
+        return elementsInSet;
+    }
+
+    /*
+     * Cancella anche la pila delle operazioni: i punti di ripristino presi
+     * prima non sono più validi.
+     */
+    @Override
+    public void clear() {
+        currentElements.clear();
+        history.clear();
+    }
+}
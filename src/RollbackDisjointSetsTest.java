@@ -0,0 +1,119 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per i metodi della classe RollbackDisjointSets.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class RollbackDisjointSetsTest {
+
+    @Test
+    final void testUnionAndFindSet() {
+        RollbackDisjointSets<Integer> ds = new RollbackDisjointSets<>();
+        for (int i = 1; i <= 4; i++) ds.makeSet(i);
+        // A parità di dimensione il rappresentante è quello di e2
+        ds.union(1, 2);
+        assertEquals(2, ds.findSet(1));
+        // L'insieme più grande dà il rappresentante
+        ds.union(2, 3);
+        assertEquals(2, ds.findSet(3));
+        assertEquals(2, ds.getCurrentRepresentatives().size());
+        Set<Integer> expected = new HashSet<Integer>();
+        expected.add(1);
+        expected.add(2);
+        expected.add(3);
+        assertEquals(expected, ds.getCurrentElementsOfSetContaining(1));
+    }
+
+    @Test
+    final void testRollback() {
+        RollbackDisjointSets<Integer> ds = new RollbackDisjointSets<>();
+        for (int i = 1; i <= 4; i++) ds.makeSet(i);
+        ds.union(1, 2);
+        int outer = ds.checkpoint();
+        ds.union(3, 4);
+        ds.union(1, 3);
+        // Un'unione di elementi già insieme non viene registrata
+        ds.union(2, 4);
+        assertEquals(outer + 2, ds.checkpoint());
+        int inner = ds.checkpoint();
+        ds.makeSet(5);
+        ds.union(5, 1);
+        assertEquals(1, ds.getCurrentRepresentatives().size());
+        ds.rollback(inner);
+        assertFalse(ds.isPresent(5));
+        assertEquals(ds.findSet(1), ds.findSet(4));
+        ds.rollback(outer);
+        assertEquals(ds.findSet(1), ds.findSet(2));
+        assertNotEquals(ds.findSet(1), ds.findSet(3));
+        assertNotEquals(ds.findSet(3), ds.findSet(4));
+        assertEquals(3, ds.getCurrentRepresentatives().size());
+        ds.rollback(0);
+        assertTrue(ds.getCurrentRepresentatives().isEmpty());
+        // Dopo il rollback un elemento annullato può essere reinserito
+        ds.makeSet(1);
+        assertEquals(1, ds.findSet(1));
+    }
+
+    @Test
+    final void testRollbackRestoresSizes() {
+        Random random = new Random(5);
+        int n = 200;
+        RollbackDisjointSets<Integer> ds = new RollbackDisjointSets<>();
+        for (int i = 0; i < n; i++) ds.makeSet(i);
+        List<Integer> checkpoints = new ArrayList<Integer>();
+        List<int[]> snapshots = new ArrayList<int[]>();
+        for (int round = 0; round < 20; round++) {
+            checkpoints.add(ds.checkpoint());
+            snapshots.add(representatives(ds, n));
+            for (int k = 0; k < 15; k++) ds.union(random.nextInt(n), random.nextInt(n));
+        }
+        // Tornando indietro un punto alla volta si ritrovano le stesse
+        // partizioni
+        for (int round = 19; round >= 0; round--) {
+            ds.rollback(checkpoints.get(round));
+            assertArrayEquals(snapshots.get(round), representatives(ds, n));
+        }
+        // Le dimensioni ripristinate mantengono l'altezza logaritmica
+        for (int i = 0; i + 1 < n; i++) ds.union(i, i + 1);
+        for (int i = 0; i < n; i++) assertTrue(depth(ds, i) <= 8);
+    }
+
+    @Test
+    final void testExceptions() {
+        RollbackDisjointSets<Integer> ds = new RollbackDisjointSets<>();
+        ds.makeSet(1);
+        assertThrows(NullPointerException.class, () -> ds.makeSet(null));
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(1));
+        assertThrows(IllegalArgumentException.class, () -> ds.findSet(2));
+        assertThrows(IllegalArgumentException.class, () -> ds.union(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> ds.rollback(2));
+        assertThrows(IllegalArgumentException.class, () -> ds.rollback(-1));
+        ds.clear();
+        assertEquals(0, ds.checkpoint());
+        assertFalse(ds.isPresent(1));
+    }
+
+    // Rappresentante di ogni elemento
+    private static int[] representatives(RollbackDisjointSets<Integer> ds, int n) {
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) result[i] = ds.findSet(i);
+        return result;
+    }
+
+    private static int depth(RollbackDisjointSets<Integer> ds, int e) {
+        int d = 0;
+        for (RollbackDisjointSets.Node<Integer> node = ds.currentElements.get(e); node.parent != node; node = node.parent)
+            d++;
+        return d;
+    }
+}
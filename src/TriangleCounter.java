@@ -0,0 +1,187 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+//ATTENZIONE: è vietato includere import a pacchetti che non siano della Java SE
+
+/**
+ * Classe che conta i triangoli di un grafo non orientato e calcola i
+ * coefficienti di clustering locali dei suoi nodi usando una
+ * {@code BitsetAdjacencyView<L>}.
+ *
+ * Il numero di triangoli a cui partecipa un nodo u è la metà della somma, su
+ * tutti i vicini v di u, del numero di vicini comuni a u e v. Ogni termine
+ * della somma è un AND delle righe di u e v seguito da {@code Long.bitCount},
+ * quindi i nodi vengono confrontati 64 alla volta. Le righe sono indipendenti
+ * tra loro e vengono distribuite sui thread di un {@code ForkJoinPool}.
+ *
+ * I cappi vengono ignorati.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ * @param <L>
+ *                il tipo delle etichette dei nodi del grafo
+ */
+public class TriangleCounter<L> {
+
+    // Numero di righe sotto il quale un compito non viene più diviso
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    /*
+     * Pool di thread su cui vengono distribuite le righe.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Crea un contatore di triangoli che usa il pool comune di fork/join.
+     */
+    public TriangleCounter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea un contatore di triangoli che usa un certo pool di fork/join.
+     *
+     * @param pool
+     *                 il pool su cui distribuire il calcolo
+     * @throws NullPointerException
+     *                                  se il pool passato è null
+     */
+    public TriangleCounter(ForkJoinPool pool) {
+        if (pool == null) throw new NullPointerException("Il pool passato è null");
+        this.pool = pool;
+    }
+
+    /**
+     * Calcola, per ogni nodo della vista, il numero di triangoli di cui fa
+     * parte.
+     *
+     * @param view
+     *                 la vista a bit del grafo
+     * @return un array che in posizione i contiene il numero di triangoli del
+     *         nodo di indice i
+     * @throws NullPointerException
+     *                                  se la vista passata è null
+     */
+    public long[] countTrianglesPerNode(BitsetAdjacencyView<L> view) {
+        if (view == null) throw new NullPointerException("La vista passata è null");
+        long[] triangles = new long[view.nodeCount()];
+        pool.invoke(new RowsTask<L>(view, triangles, 0, view.nodeCount()));
+        return triangles;
+    }
+
+    /**
+     * Calcola, per ogni nodo di un grafo non orientato, il numero di triangoli
+     * di cui fa parte.
+     *
+     * @param g
+     *              un grafo non orientato
+     * @return una mappa che associa ad ogni nodo il numero dei suoi triangoli
+     * @throws NullPointerException
+     *                                      se il grafo passato è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo passato è orientato
+     */
+    public Map<GraphNode<L>, Long> computeTriangles(Graph<L> g) {
+        BitsetAdjacencyView<L> view = new BitsetAdjacencyView<L>(g);
+        long[] triangles = countTrianglesPerNode(view);
+        Map<GraphNode<L>, Long> result = new HashMap<GraphNode<L>, Long>();
+        for (int i = 0; i < triangles.length; i++) result.put(view.getNodeAtIndex(i), triangles[i]);
+        return result;
+    }
+
+    /**
+     * Conta i triangoli di un grafo non orientato.
+     *
+     * @param g
+     *              un grafo non orientato
+     * @return il numero di triangoli distinti del grafo
+     * @throws NullPointerException
+     *                                      se il grafo passato è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo passato è orientato
+     */
+    public long countTriangles(Graph<L> g) {
+        long sum = 0;
+        for (long t : countTrianglesPerNode(new BitsetAdjacencyView<L>(g))) sum += t;
+        // Ogni triangolo viene contato una volta per ciascuno dei suoi vertici
+        return sum / 3;
+    }
+
+    /**
+     * Calcola il coefficiente di clustering locale di ogni nodo di un grafo
+     * non orientato, cioè il rapporto tra il numero di archi presenti tra i
+     * vicini del nodo e il numero di archi possibili tra essi. Il coefficiente
+     * dei nodi con meno di due vicini è zero.
+     *
+     * @param g
+     *              un grafo non orientato
+     * @return una mappa che associa ad ogni nodo il proprio coefficiente di
+     *         clustering locale
+     * @throws NullPointerException
+     *                                      se il grafo passato è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo passato è orientato
+     */
+    public Map<GraphNode<L>, Double> computeLocalClusteringCoefficients(Graph<L> g) {
+        BitsetAdjacencyView<L> view = new BitsetAdjacencyView<L>(g);
+        long[] triangles = countTrianglesPerNode(view);
+        Map<GraphNode<L>, Double> result = new HashMap<GraphNode<L>, Double>();
+        for (int i = 0; i < triangles.length; i++) {
+            long d = view.degree(i);
+            double coefficient = d < 2 ? 0.0 : 2.0 * triangles[i] / (d * (d - 1));
+            result.put(view.getNodeAtIndex(i), coefficient);
+        }
+        return result;
+    }
+
+    /*
+     * Compito fork/join che calcola i triangoli delle righe nell'intervallo
+     * [from, to), dividendolo a metà finché è più grande della soglia.
+     */
+    private static class RowsTask<L> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final BitsetAdjacencyView<L> view;
+
+        private final long[] triangles;
+
+        private final int from;
+
+        private final int to;
+
+        RowsTask(BitsetAdjacencyView<L> view, long[] triangles, int from, int to) {
+            this.view = view;
+            this.triangles = triangles;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RowsTask<L>(view, triangles, from, middle),
+                        new RowsTask<L>(view, triangles, middle, to));
+                return;
+            }
+            int words = view.getWordsPerRow();
+            for (int u = from; u < to; u++) {
+                long sum = 0;
+                // Scorro i vicini di u leggendo i bit a 1 della sua riga
+                for (int w = 0; w < words; w++) {
+                    long word = view.getWord(u, w);
+                    while (word != 0) {
+                        int v = (w << 6) + Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                        sum += view.commonNeighbors(u, v);
+                    }
+                }
+                // Ogni triangolo di u è stato trovato da entrambi gli altri vertici
+                triangles[u] = sum / 2;
+            }
+        }
+    }
+}
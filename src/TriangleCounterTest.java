@@ -0,0 +1,101 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per le classi TriangleCounter e BitsetAdjacencyView.
+ *
+ * @author Luca Soricetti luca.soricetti@studenti.unicam.it
+ *
+ */
+class TriangleCounterTest {
+
+    private void addEdge(Graph<String> g, String l1, String l2) {
+        g.addEdge(new GraphEdge<String>(g.getNodeOf(l1), g.getNodeOf(l2), false));
+    }
+
+    @Test
+    final void testExceptions() {
+        TriangleCounter<String> counter = new TriangleCounter<String>();
+        assertThrows(NullPointerException.class, () -> counter.countTriangles(null));
+        assertThrows(NullPointerException.class, () -> new TriangleCounter<String>(null));
+        assertEquals(0, counter.countTriangles(new AdjacencyMatrixUndirectedGraph<String>()));
+    }
+
+    @Test
+    final void testViewTooLarge() {
+        // Con 370727 nodi la matrice di bit avrebbe più di Integer.MAX_VALUE
+        // parole: il prodotto calcolato in int diventerebbe negativo
+        Graph<Integer> g = new AdjacencyListUndirectedGraph<Integer>();
+        for (int i = 0; i < 370727; i++) g.addNode(new GraphNode<Integer>(i));
+        assertThrows(IllegalArgumentException.class, () -> new BitsetAdjacencyView<Integer>(g));
+    }
+
+    @Test
+    final void testSmallGraph() {
+        // Due triangoli (a, b, c) e (b, c, d) che condividono l'arco b-c, più
+        // un nodo pendente e un cappio che non devono essere contati
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        for (String label : new String[] { "a", "b", "c", "d", "e" }) g.addNode(new GraphNode<String>(label));
+        addEdge(g, "a", "b");
+        addEdge(g, "a", "c");
+        addEdge(g, "b", "c");
+        addEdge(g, "b", "d");
+        addEdge(g, "c", "d");
+        addEdge(g, "d", "e");
+        addEdge(g, "a", "a");
+        TriangleCounter<String> counter = new TriangleCounter<String>();
+        assertEquals(2, counter.countTriangles(g));
+        Map<GraphNode<String>, Long> triangles = counter.computeTriangles(g);
+        assertEquals(1L, triangles.get(new GraphNode<String>("a")).longValue());
+        assertEquals(2L, triangles.get(new GraphNode<String>("b")).longValue());
+        assertEquals(2L, triangles.get(new GraphNode<String>("c")).longValue());
+        assertEquals(1L, triangles.get(new GraphNode<String>("d")).longValue());
+        assertEquals(0L, triangles.get(new GraphNode<String>("e")).longValue());
+        Map<GraphNode<String>, Double> coefficients = counter.computeLocalClusteringCoefficients(g);
+        assertEquals(1.0, coefficients.get(new GraphNode<String>("a")), 1e-12);
+        assertEquals(2.0 / 3.0, coefficients.get(new GraphNode<String>("b")), 1e-12);
+        assertEquals(1.0 / 3.0, coefficients.get(new GraphNode<String>("d")), 1e-12);
+        assertEquals(0.0, coefficients.get(new GraphNode<String>("e")), 1e-12);
+    }
+
+    @Test
+    final void testCompleteGraphInParallel() {
+        // Grafo completo con più nodi della soglia sequenziale e di una parola
+        int n = 150;
+        Graph<Integer> g = new AdjacencyListUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++) g.addNode(new GraphNode<Integer>(i));
+        for (int i = 0; i < n; i++)
+            for (int j = i + 1; j < n; j++)
+                g.addEdge(new GraphEdge<Integer>(g.getNodeOf(i), g.getNodeOf(j), false));
+        TriangleCounter<Integer> counter = new TriangleCounter<Integer>(new ForkJoinPool(4));
+        assertEquals((long) n * (n - 1) * (n - 2) / 6, counter.countTriangles(g));
+        for (double c : counter.computeLocalClusteringCoefficients(g).values()) assertEquals(1.0, c, 1e-12);
+    }
+
+    @Test
+    final void testRandomGraphAgainstNaiveCount() {
+        Random random = new Random(7);
+        int n = 90;
+        AdjacencyMatrixUndirectedGraph<Integer> g = new AdjacencyMatrixUndirectedGraph<Integer>();
+        for (int i = 0; i < n; i++) g.addNode(new GraphNode<Integer>(i));
+        for (int i = 0; i < n; i++)
+            for (int j = i + 1; j < n; j++)
+                if (random.nextInt(4) == 0) g.addEdge(new GraphEdge<Integer>(g.getNodeOf(i), g.getNodeOf(j), false));
+        BitsetAdjacencyView<Integer> view = new BitsetAdjacencyView<Integer>(g);
+        long naive = 0;
+        for (int i = 0; i < n; i++)
+            for (int j = i + 1; j < n; j++)
+                for (int k = j + 1; k < n; k++)
+                    if (view.isAdjacent(i, j) && view.isAdjacent(j, k) && view.isAdjacent(i, k)) naive++;
+        assertEquals(naive, new TriangleCounter<Integer>().countTriangles(g));
+        // La vista su un grafo generico dà lo stesso risultato
+        assertEquals(naive, new TriangleCounter<Integer>().countTriangles(g.freeze()));
+        for (GraphNode<Integer> node : g.getNodes())
+            assertEquals(g.getDegreeOf(node), view.degree(view.getNodeIndexOf(node)));
+    }
+}
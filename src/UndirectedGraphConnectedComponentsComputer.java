@@ -48,6 +48,11 @@ public class UndirectedGraphConnectedComponentsComputer<L> {
         // Controllo se g è vuoto
         if (g.isEmpty()) return new HashSet<Set<GraphNode<L>>>();
 
+        // Un grafo CSR (fotografia nello heap o file mappato) viene elaborato
+        // sugli indici dei nodi
+        if (g instanceof AbstractCompressedSparseRowUndirectedGraph)
+            return computeConnectedComponents((AbstractCompressedSparseRowUndirectedGraph<L>) g);
+
         // Scorro tutti i nodi del Grafo g e per ognuno creo un Insieme Singoletto
         for (GraphNode<L> nodo : g.getNodes()) f.makeSet(nodo);
         // Scorro tutti gli archi del Grafo g e per ognuno controllo se i suoi due nodi appartengono allo
@@ -71,4 +76,38 @@ public class UndirectedGraphConnectedComponentsComputer<L> {
         f.clear();
         return connectedComponents;
     }
+
+    /*
+     * Versione del calcolo che lavora sulle righe di un grafo CSR: gli
+     * archi sono presi scorrendo le righe, una volta sola ciascuno, e gli
+     * insiemi disgiunti sono quelli di una IntForestDisjointSets sugli indici
+     * dei nodi. Le componenti vengono poi raccolte con un'unica scansione dei
+     * nodi, raggruppandoli per rappresentante.
+     */
+    private Set<Set<GraphNode<L>>> computeConnectedComponents(AbstractCompressedSparseRowUndirectedGraph<L> g) {
+        int n = g.nodeCount();
+        IntForestDisjointSets forest = new IntForestDisjointSets(n);
+        for (int u = 0; u < n; u++) {
+            for (long p = g.getRowStart(u); p < g.getRowEnd(u); p++) {
+                int v = g.getNeighborAt(p);
+                if (v > u) forest.union(u, v);
+            }
+        }
+        // Ogni rappresentante ha in posizione componentOf[rappresentante] la
+        // propria componente
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Set<GraphNode<L>>[] componentOf = new Set[n];
+        Set<Set<GraphNode<L>>> connectedComponents = new HashSet<Set<GraphNode<L>>>();
+        for (int u = 0; u < n; u++) {
+            int representative = forest.findSet(u);
+            if (componentOf[representative] == null) componentOf[representative] = new HashSet<GraphNode<L>>();
+            componentOf[representative].add(g.getNodeAtIndex(u));
+        }
+        // Aggiungo le componenti solo alla fine, quando sono complete, perché
+        // il codice hash di un Set dipende dal suo contenuto
+        for (Set<GraphNode<L>> component : componentOf) {
+            if (component != null) connectedComponents.add(component);
+        }
+        return connectedComponents;
+    }
 }